@@ -6,6 +6,7 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import io.werescuecats.backend.exception.CatNotAvailableException;
+import io.werescuecats.backend.exception.PasswordHashingBusyException;
 import io.werescuecats.backend.exception.ResourceNotFoundException;
 import io.werescuecats.backend.exception.UserNotFoundException;
 
@@ -19,7 +20,7 @@ public class GlobalExceptionHandler {
     }
 
     @ExceptionHandler(CatNotAvailableException.class)
-    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ResponseStatus(HttpStatus.CONFLICT)
     public String handleCatNotAvailable(CatNotAvailableException ex) {
         return ex.getMessage();
     }
@@ -29,4 +30,10 @@ public class GlobalExceptionHandler {
     public String handleUserNotFound(UserNotFoundException ex) {
         return ex.getMessage();
     }
+
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public String handlePasswordHashingBusy(PasswordHashingBusyException ex) {
+        return ex.getMessage();
+    }
 }
@@ -1,7 +1,10 @@
 package io.werescuecats.backend.config;
 
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.List;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -9,7 +12,6 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -17,7 +19,11 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.werescuecats.backend.security.BoundedPasswordEncoder;
 import io.werescuecats.backend.security.JwtAuthenticationFilter;
+import io.werescuecats.backend.security.RateLimitFilter;
+import io.werescuecats.backend.service.ApiTokenService;
 import lombok.RequiredArgsConstructor;
 
 @Configuration
@@ -28,7 +34,7 @@ public class SecurityConfig {
     private final JwtAuthenticationFilter jwtAuthFilter;
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, RateLimitFilter rateLimitFilter) throws Exception {
         http
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .csrf(csrf -> csrf.disable())
@@ -43,10 +49,13 @@ public class SecurityConfig {
                         .requestMatchers("/api/adoptions/**").hasRole("ADMIN")
                         .requestMatchers("/api/cats/admin/**").hasRole("ADMIN")
                         .requestMatchers("/api/users/**").hasRole("ADMIN")
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .anyRequest().authenticated())
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
@@ -60,6 +69,9 @@ public class SecurityConfig {
         ));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
+        configuration.setExposedHeaders(Arrays.asList("X-Next-Cursor", "ETag", "Last-Modified",
+                RateLimitFilter.LIMIT_HEADER, RateLimitFilter.REMAINING_HEADER, RateLimitFilter.RESET_HEADER,
+                "Retry-After"));
         configuration.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -73,7 +85,32 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${security.password.bcrypt-cost:10}") int cost,
+                                           @Value("${security.password.hashing-threads:2}") int threads,
+                                           @Value("${security.password.queue-capacity:32}") int queueCapacity,
+                                           @Value("${security.password.max-wait:5s}") Duration maxWait) {
+        return new BoundedPasswordEncoder(cost, threads, queueCapacity, maxWait, meterRegistry);
+    }
+
+    @Bean
+    public RateLimitFilter rateLimitFilter(ApiTokenService apiTokenService, MeterRegistry meterRegistry,
+                                           @Value("${rate-limit.enabled:true}") boolean enabled,
+                                           @Value("${rate-limit.max-buckets:100000}") int maxBuckets,
+                                           @Value("${rate-limit.auth.capacity:10}") int authCapacity,
+                                           @Value("${rate-limit.auth.per-minute:20}") int authPerMinute,
+                                           @Value("${rate-limit.public.capacity:100}") int publicCapacity,
+                                           @Value("${rate-limit.public.per-minute:1200}") int publicPerMinute,
+                                           @Value("${rate-limit.health-data.capacity:20}") int healthDataCapacity,
+                                           @Value("${rate-limit.health-data.per-minute:300}") int healthDataPerMinute) {
+        return new RateLimitFilter(enabled, maxBuckets, List.of(
+                RateLimitFilter.Policy.perMinute("auth", RateLimitFilter.Key.CLIENT_IP,
+                        authCapacity, authPerMinute, true, "/api/auth"),
+                // The health data endpoints report the daily quota of the token instead
+                RateLimitFilter.Policy.perMinute("health-data", RateLimitFilter.Key.API_TOKEN,
+                        healthDataCapacity, healthDataPerMinute, false, "/api/health-data"),
+                RateLimitFilter.Policy.perMinute("public", RateLimitFilter.Key.USER,
+                        publicCapacity, publicPerMinute, true, "/api/cats", "/api/breeds")
+        ), apiTokenService, meterRegistry);
     }
 }
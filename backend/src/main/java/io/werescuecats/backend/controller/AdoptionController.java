@@ -6,6 +6,9 @@ import io.werescuecats.backend.dto.AdoptionStatsDto;
 import io.werescuecats.backend.dto.AdoptionCatDto;
 import io.werescuecats.backend.dto.RejectAdoptionRequestDto;
 import io.werescuecats.backend.dto.AdoptionUserDto;
+import io.werescuecats.backend.dto.AdoptionTransitionResult;
+import io.werescuecats.backend.dto.AdoptionView;
+import io.werescuecats.backend.dto.BatchAdoptionRequestDto;
 import io.werescuecats.backend.entity.Adoption;
 import io.werescuecats.backend.entity.Cat;
 import io.werescuecats.backend.entity.User;
@@ -13,12 +16,15 @@ import io.werescuecats.backend.security.CustomUserDetails;
 import io.werescuecats.backend.service.AdoptionService;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -27,6 +33,8 @@ import java.util.stream.Collectors;
 @CrossOrigin(origins = "*")
 @Slf4j
 public class AdoptionController {
+
+    static final int MAX_STATS_USERS = 1000;
     
     private final AdoptionService adoptionService;
 
@@ -50,7 +58,7 @@ public class AdoptionController {
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<List<AdoptionDto>> getPendingAdoptions() {
         log.info("Fetching pending adoptions");
-        List<Adoption> adoptions = adoptionService.getPendingAdoptions();
+        List<AdoptionView> adoptions = adoptionService.getPendingAdoptionViews();
         List<AdoptionDto> dtos = adoptions.stream()
                                           .map(this::toAdoptionDto)
                                           .collect(Collectors.toList());
@@ -60,7 +68,7 @@ public class AdoptionController {
     @GetMapping("/user/{userId}")
     public ResponseEntity<List<AdoptionDto>> getAdoptionsByUser(@PathVariable Long userId) {
         log.info("Fetching adoptions for user: {}", userId);
-        List<Adoption> adoptions = adoptionService.getAdoptionsByUser(userId);
+        List<AdoptionView> adoptions = adoptionService.getAdoptionViewsByUser(userId);
         List<AdoptionDto> dtos = adoptions.stream()
                                           .map(this::toAdoptionDto)
                                           .collect(Collectors.toList());
@@ -71,7 +79,7 @@ public class AdoptionController {
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<List<AdoptionDto>> getAllAdoptions() {
         log.info("Fetching all adoptions");
-        List<Adoption> adoptions = adoptionService.getAllAdoptions();
+        List<AdoptionView> adoptions = adoptionService.getAllAdoptionViews();
         List<AdoptionDto> dtos = adoptions.stream()
                                           .map(this::toAdoptionDto)
                                           .collect(Collectors.toList());
@@ -138,22 +146,73 @@ public class AdoptionController {
         }
     }
     
+    /**
+     * Batch transitions for the admin queue
+     * PUT /api/adoptions/batch/approve|complete|reject with {"ids": [...], "reason": "..."}
+     * Every id gets a result; ids in the wrong state are skipped, the others are changed together.
+     */
+    @PutMapping("/batch/approve")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<AdoptionTransitionResult>> approveAdoptions(
+            @AuthenticationPrincipal CustomUserDetails customUserDetails,
+            @Valid @RequestBody BatchAdoptionRequestDto request) {
+        log.info("Approving {} adoptions by admin {}", request.getIds().size(), customUserDetails.getUser().getFullName());
+        try {
+            return ResponseEntity.ok(adoptionService.approveAdoptions(request.getIds(), customUserDetails.getUser()));
+        } catch (OptimisticLockingFailureException e) {
+            log.warn("Batch approval conflicted with a concurrent change", e);
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    @PutMapping("/batch/complete")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<AdoptionTransitionResult>> completeAdoptions(
+            @AuthenticationPrincipal CustomUserDetails customUserDetails,
+            @Valid @RequestBody BatchAdoptionRequestDto request) {
+        log.info("Completing {} adoptions by admin {}", request.getIds().size(), customUserDetails.getUser().getFullName());
+        try {
+            return ResponseEntity.ok(adoptionService.completeAdoptions(request.getIds(), customUserDetails.getUser()));
+        } catch (OptimisticLockingFailureException e) {
+            log.warn("Batch completion conflicted with a concurrent change", e);
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    @PutMapping("/batch/reject")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<AdoptionTransitionResult>> rejectAdoptions(
+            @AuthenticationPrincipal CustomUserDetails customUserDetails,
+            @Valid @RequestBody BatchAdoptionRequestDto request) {
+        log.info("Rejecting {} adoptions by admin {} with reason: {}",
+                request.getIds().size(), customUserDetails.getUser().getFullName(), request.getReason());
+        if (request.getReason() == null || request.getReason().isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(adoptionService.rejectAdoptions(
+                    request.getIds(), customUserDetails.getUser(), request.getReason()));
+        } catch (OptimisticLockingFailureException e) {
+            log.warn("Batch rejection conflicted with a concurrent change", e);
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
     @GetMapping("/user/{userId}/stats")
     public ResponseEntity<AdoptionStatsDto> getUserAdoptionStats(@PathVariable Long userId) {
         log.info("Fetching adoption stats for user: {}", userId);
-        
-        long completedAdoptions = adoptionService.getUserAdoptionCount(userId);
-        List<Adoption> userAdoptions = adoptionService.getAdoptionsByUser(userId);
-        
-        AdoptionStatsDto stats = new AdoptionStatsDto();
-        stats.setUserId(userId);
-        stats.setTotalApplications(userAdoptions.size());
-        stats.setCompletedAdoptions(completedAdoptions);
-        stats.setPendingApplications(userAdoptions.stream()
-                .mapToInt(a -> a.isPending() ? 1 : 0)
-                .sum());
-        
-        return ResponseEntity.ok(stats);
+        return ResponseEntity.ok(adoptionService.getUserAdoptionStats(userId));
+    }
+
+    // Stats for a page of the admin user list in one query
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<AdoptionStatsDto>> getAdoptionStatsForUsers(@RequestParam List<Long> userIds) {
+        log.info("Fetching adoption stats for {} users", userIds.size());
+        if (userIds.isEmpty() || userIds.size() > MAX_STATS_USERS || userIds.stream().anyMatch(Objects::isNull)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(adoptionService.getAdoptionStatsForUsers(userIds));
     }
 
     public AdoptionDto toAdoptionDto(Adoption adoption) {
@@ -190,4 +249,31 @@ public class AdoptionController {
 
         return dto;
     }
+
+    public AdoptionDto toAdoptionDto(AdoptionView view) {
+        AdoptionDto dto = new AdoptionDto();
+        dto.setId(view.id());
+        dto.setStatus(view.status().name());
+        dto.setAdoptionDate(view.adoptionDate().toString());
+        dto.setApprovedDate(view.approvedDate() != null ? view.approvedDate().toString() : null);
+        dto.setCompletedDate(view.completedDate() != null ? view.completedDate().toString() : null);
+        dto.setNotes(view.notes());
+        dto.setAdminNotes(view.adminNotes());
+        dto.setTenantId(view.tenantId());
+
+        AdoptionUserDto userDto = new AdoptionUserDto();
+        userDto.setId(view.userId());
+        userDto.setEmail(view.userEmail());
+        userDto.setFirstName(view.userFirstName());
+        userDto.setLastName(view.userLastName());
+        dto.setUser(userDto);
+
+        AdoptionCatDto catDto = new AdoptionCatDto();
+        catDto.setId(view.catId());
+        catDto.setName(view.catName());
+        catDto.setBreed(view.breedName());
+        dto.setCat(catDto);
+
+        return dto;
+    }
 }
@@ -2,12 +2,14 @@ package io.werescuecats.backend.controller;
 
 import io.werescuecats.backend.dto.*;
 import io.werescuecats.backend.entity.User;
+import io.werescuecats.backend.exception.PasswordHashingBusyException;
 import io.werescuecats.backend.security.CustomUserDetails;
 import io.werescuecats.backend.security.JwtUtils;
 import io.werescuecats.backend.service.UserService;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -26,6 +28,9 @@ import java.util.Map;
 @AllArgsConstructor
 public class AuthController {
 
+    // Seconds clients are asked to wait when password hashing is saturated
+    static final String RETRY_AFTER_SECONDS = "1";
+
     private final UserService userService;
     private final AuthenticationManager authenticationManager;
     private final JwtUtils jwtUtils;
@@ -68,6 +73,16 @@ public class AuthController {
             
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
             
+        } catch (PasswordHashingBusyException e) {
+            log.warn("Login rejected for user {}: {}", request.getEmail(), e.getMessage());
+            LoginResponseDto response = new LoginResponseDto();
+            response.setSuccess(false);
+            response.setMessage("Too many login attempts, please retry shortly");
+            
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .body(response);
+            
         } catch (Exception e) {
             log.error("Error during login for user: {}", request.getEmail(), e);
             LoginResponseDto response = new LoginResponseDto();
@@ -100,6 +115,16 @@ public class AuthController {
             
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
             
+        } catch (PasswordHashingBusyException e) {
+            log.warn("Registration rejected for email {}: {}", request.getEmail(), e.getMessage());
+            RegisterResponseDto response = new RegisterResponseDto();
+            response.setSuccess(false);
+            response.setMessage("Too many registrations, please retry shortly");
+            
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .body(response);
+            
         } catch (Exception e) {
             log.error("Error during registration for email: {}", request.getEmail(), e);
             RegisterResponseDto response = new RegisterResponseDto();
@@ -2,12 +2,17 @@ package io.werescuecats.backend.controller;
 
 import io.werescuecats.backend.dto.BreedDto;
 import io.werescuecats.backend.entity.Breed;
+import io.werescuecats.backend.service.BreedCatalogVersion;
 import io.werescuecats.backend.service.BreedService;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -17,6 +22,8 @@ import java.util.stream.Collectors;
 @CrossOrigin(origins = "*")
 @Slf4j
 public class BreedController {
+
+    private static final CacheControl BREED_CACHE_CONTROL = CacheControl.maxAge(Duration.ofDays(1)).cachePublic();
     
     private final BreedService breedService;
 
@@ -24,23 +31,36 @@ public class BreedController {
         this.breedService = breedService;
     }
     
+    /**
+     * Get all breeds
+     * GET /api/breeds
+     * Answers 304 from the in-memory catalog version when the client copy is current.
+     */
     @GetMapping
-    public ResponseEntity<List<BreedDto>> getAllBreeds() {
+    public ResponseEntity<List<BreedDto>> getAllBreeds(WebRequest request) {
+        BreedCatalogVersion.State version = breedService.getCatalogVersion();
+        if (request.checkNotModified(version.eTag(), version.lastModified().toEpochMilli())) {
+            return notModified(version);
+        }
         log.info("Fetching breeds");
         List<Breed> breedPage = breedService.getAllBreeds();
         List<BreedDto> dtoPage = breedPage.stream()
                                           .map(this::toDto)
                                           .collect(Collectors.toList());
-        return ResponseEntity.ok(dtoPage);
+        return cacheable(version).body(dtoPage);
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<BreedDto> getBreedById(@PathVariable String id) {
+    public ResponseEntity<BreedDto> getBreedById(@PathVariable String id, WebRequest request) {
+        BreedCatalogVersion.State version = breedService.getCatalogVersion();
+        if (request.checkNotModified(version.eTag(), version.lastModified().toEpochMilli())) {
+            return notModified(version);
+        }
         log.info("Fetching breed with ID: {}", id);
         Optional<Breed> breed = breedService.getBreedById(id);
         
         if (breed.isPresent()) {
-            return ResponseEntity.ok(toDto(breed.get()));
+            return cacheable(version).body(toDto(breed.get()));
         } else {
             return ResponseEntity.notFound().build();
         }
@@ -65,7 +85,23 @@ public class BreedController {
         List<BreedDto> dtos = breeds.stream()
                                     .map(this::toDto)
                                     .toList();
-        return ResponseEntity.ok(dtos);
+        return cacheable(breedService.getCatalogVersion()).body(dtos);
+    }
+
+    // Breeds only change when the catalog is re-synced, so clients may keep them for a day
+    private ResponseEntity.BodyBuilder cacheable(BreedCatalogVersion.State version) {
+        return ResponseEntity.ok()
+                .cacheControl(BREED_CACHE_CONTROL)
+                .eTag(version.eTag())
+                .lastModified(version.lastModified());
+    }
+
+    private <T> ResponseEntity<T> notModified(BreedCatalogVersion.State version) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .cacheControl(BREED_CACHE_CONTROL)
+                .eTag(version.eTag())
+                .lastModified(version.lastModified())
+                .build();
     }
 
     //Map Entity to DTO
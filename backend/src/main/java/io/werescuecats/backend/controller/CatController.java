@@ -1,17 +1,33 @@
 package io.werescuecats.backend.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.werescuecats.backend.dto.CatCursor;
 import io.werescuecats.backend.dto.CatDto;
+import io.werescuecats.backend.dto.CatImportResult;
 import io.werescuecats.backend.dto.StatusUpdateRequestDto;
 import io.werescuecats.backend.entity.Cat;
 import io.werescuecats.backend.entity.CatStatus;
+import io.werescuecats.backend.service.AvailableCatsSnapshot;
 import io.werescuecats.backend.service.BreedService;
+import io.werescuecats.backend.service.CatImportService;
 import io.werescuecats.backend.service.CatService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -23,67 +39,145 @@ import java.util.stream.Collectors;
 @AllArgsConstructor
 public class CatController {
     
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final CatService catService;
     private final BreedService breedService;
+    private final ObjectMapper objectMapper;
+    private final CatImportService catImportService;
         
+        /**
+         * Get available cats, optionally one keyset page at a time
+         * GET /api/cats/available?cursor={token}&limit={value}
+         * The next page's cursor is returned in the X-Next-Cursor header.
+         * The full list comes from the available cats snapshot, its version is the weak ETag
+         * and If-None-Match / If-Modified-Since are answered with 304.
+         */
         @GetMapping("/available")
-        public ResponseEntity<List<CatDto>> getAvailableCats() {
+        public ResponseEntity<List<CatDto>> getAvailableCats(
+                @RequestParam(required = false) String cursor,
+                @RequestParam(required = false) Integer limit,
+                WebRequest request) {
+            if (cursor != null || limit != null) {
+                return catPage(CatStatus.AVAILABLE, cursor, limit);
+            }
+            AvailableCatsSnapshot.View view = catService.getAvailableCatsView();
+            // Clients must revalidate every time, which is answered from the snapshot version
+            if (request.checkNotModified(view.eTag(), view.lastModified().toEpochMilli())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(CacheControl.noCache())
+                    .eTag(view.eTag())
+                    .lastModified(view.lastModified())
+                    .build();
+            }
             log.info("Fetching available cats");
-            List<Cat> cats = catService.getAvailableCats();
-            List<CatDto> catDtos = cats.stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
-            return ResponseEntity.ok(catDtos);
+            return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(view.eTag())
+                .lastModified(view.lastModified())
+                .body(view.cats());
+        }
+
+        /**
+         * Stream all available cats as a JSON array
+         * GET /api/cats/available?stream=true
+         */
+        @GetMapping(value = "/available", params = "stream=true")
+        public ResponseEntity<StreamingResponseBody> streamAvailableCats() {
+            log.info("Streaming available cats");
+            return catStream(CatStatus.AVAILABLE);
         }
         
         @GetMapping("/breed/{breedId}")
         public ResponseEntity<List<CatDto>> getCatsByBreed(@PathVariable String breedId) {
             log.info("Fetching cats for breed: {}", breedId);
-            List<Cat> cats = catService.getCatsByBreed(breedId);
-            List<CatDto> catDtos = cats.stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
-            return ResponseEntity.ok(catDtos);
+            return ResponseEntity.ok(catService.getCatDtosByBreed(breedId));
         }
         
         /**
-         * Get cats in geographical area
-         * GET /api/cats/area?lat={value}&lon={value}&radius={value}
+         * Get cats in geographical area, closest first
+         * GET /api/cats/area?lat={value}&lon={value}&radius={value}&page={value}&size={value}
          */
         @GetMapping("/area")
         public ResponseEntity<List<CatDto>> getCatsInArea(
                 @RequestParam Double lat,
                 @RequestParam Double lon,
-                @RequestParam(defaultValue = "10.0") Double radius) {
+                @RequestParam(defaultValue = "10.0") Double radius,
+                @RequestParam(required = false) Integer page,
+                @RequestParam(required = false) Integer size) {
             
-            log.info("Fetching cats in area: lat={}, lon={}, radius={}", lat, lon, radius);
-            List<Cat> cats = catService.getCatsInArea(lat, lon, radius);
+            log.info("Fetching cats in area: lat={}, lon={}, radius={}, page={}, size={}", lat, lon, radius, page, size);
+            if ((page != null && page < 0) || (size != null && (size < 1 || size > 500))) {
+                return ResponseEntity.badRequest().build();
+            }
+            List<Cat> cats = page == null && size == null
+                ? catService.getCatsInArea(lat, lon, radius)
+                : catService.getCatsInArea(lat, lon, radius, page != null ? page : 0, size != null ? size : 20);
             List<CatDto> catDtos = cats.stream()
                 .map(this::toDto)
                 .collect(Collectors.toList());
             return ResponseEntity.ok(catDtos);
         }
-    
-        @GetMapping("/admin/pending")
-        @PreAuthorize("hasRole('ADMIN')")
-        public ResponseEntity<List<CatDto>> getPendingCats() {
-            log.info("Fetching pending cats");
-            List<Cat> cats = catService.getPendingCats();
+
+        /**
+         * Get the cats closest to a location, closest first
+         * GET /api/cats/nearest?lat={value}&lon={value}&limit={value}
+         */
+        @GetMapping("/nearest")
+        public ResponseEntity<List<CatDto>> getNearestCats(
+                @RequestParam Double lat,
+                @RequestParam Double lon,
+                @RequestParam(defaultValue = "10") Integer limit) {
+
+            log.info("Fetching {} nearest cats to lat={}, lon={}", limit, lat, lon);
+            if (limit < 1 || limit > 100) {
+                return ResponseEntity.badRequest().build();
+            }
+            List<Cat> cats = catService.getNearestCats(lat, lon, limit);
             List<CatDto> catDtos = cats.stream()
                 .map(this::toDto)
                 .collect(Collectors.toList());
             return ResponseEntity.ok(catDtos);
         }
+
+        @GetMapping("/admin/pending")
+        @PreAuthorize("hasRole('ADMIN')")
+        public ResponseEntity<List<CatDto>> getPendingCats(
+                @RequestParam(required = false) String cursor,
+                @RequestParam(required = false) Integer limit) {
+            if (cursor != null || limit != null) {
+                return catPage(CatStatus.PENDING, cursor, limit);
+            }
+            log.info("Fetching pending cats");
+            return ResponseEntity.ok(catService.getCatDtos(CatStatus.PENDING));
+        }
+    
+        @GetMapping(value = "/admin/pending", params = "stream=true")
+        @PreAuthorize("hasRole('ADMIN')")
+        public ResponseEntity<StreamingResponseBody> streamPendingCats() {
+            log.info("Streaming pending cats");
+            return catStream(CatStatus.PENDING);
+        }
     
         @GetMapping("/admin/adopted")
         @PreAuthorize("hasRole('ADMIN')")
-        public ResponseEntity<List<CatDto>> getAdoptedCats() {
-            log.info("Fetching available cats");
-            List<Cat> cats = catService.getAdoptedCats();
-            List<CatDto> catDtos = cats.stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
-            return ResponseEntity.ok(catDtos);
+        public ResponseEntity<List<CatDto>> getAdoptedCats(
+                @RequestParam(required = false) String cursor,
+                @RequestParam(required = false) Integer limit) {
+            if (cursor != null || limit != null) {
+                return catPage(CatStatus.ADOPTED, cursor, limit);
+            }
+            log.info("Fetching adopted cats");
+            return ResponseEntity.ok(catService.getCatDtos(CatStatus.ADOPTED));
+        }
+
+        @GetMapping(value = "/admin/adopted", params = "stream=true")
+        @PreAuthorize("hasRole('ADMIN')")
+        public ResponseEntity<StreamingResponseBody> streamAdoptedCats() {
+            log.info("Streaming adopted cats");
+            return catStream(CatStatus.ADOPTED);
         }
         
         @GetMapping("/{id}")
@@ -98,13 +192,20 @@ public class CatController {
         }
     
         @GetMapping
-        public ResponseEntity<List<CatDto>> getAllCats() {
+        public ResponseEntity<List<CatDto>> getAllCats(
+                @RequestParam(required = false) String cursor,
+                @RequestParam(required = false) Integer limit) {
+            if (cursor != null || limit != null) {
+                return catPage(null, cursor, limit);
+            }
             log.info("Fetching all cats");
-            List<Cat> cats = catService.getAllCats();
-            List<CatDto> catDtos = cats.stream()
-                                       .map(this::toDto)
-                                       .collect(Collectors.toList());
-            return ResponseEntity.ok(catDtos);
+            return ResponseEntity.ok(catService.getCatDtos(null));
+        }
+
+        @GetMapping(params = "stream=true")
+        public ResponseEntity<StreamingResponseBody> streamAllCats() {
+            log.info("Streaming all cats");
+            return catStream(null);
         }
         
         @PostMapping("/admin/create")
@@ -125,6 +226,38 @@ public class CatController {
             }
         }
         
+        /**
+         * Bulk import of cats from a JSON array of cats or CSV with a header row
+         * POST /api/cats/admin/import
+         * Invalid rows are skipped and reported by row number, all other rows are imported.
+         */
+        @PostMapping(value = "/admin/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+        @PreAuthorize("hasRole('ADMIN')")
+        public ResponseEntity<CatImportResult> importCatsJson(HttpServletRequest request) {
+            try {
+                CatImportResult result = catImportService.importJson(request.getInputStream());
+                return ResponseEntity.ok(result);
+            } catch (IOException | IllegalArgumentException e) {
+                log.error("Error importing cats from JSON", e);
+                return ResponseEntity.badRequest().build();
+            }
+        }
+
+        @PostMapping(value = "/admin/import", consumes = "text/csv")
+        @PreAuthorize("hasRole('ADMIN')")
+        public ResponseEntity<CatImportResult> importCatsCsv(HttpServletRequest request) {
+            Charset charset = request.getCharacterEncoding() != null
+                ? Charset.forName(request.getCharacterEncoding())
+                : StandardCharsets.UTF_8;
+            try {
+                CatImportResult result = catImportService.importCsv(request.getInputStream(), charset);
+                return ResponseEntity.ok(result);
+            } catch (IOException | IllegalArgumentException e) {
+                log.error("Error importing cats from CSV", e);
+                return ResponseEntity.badRequest().build();
+            }
+        }
+
         @PutMapping("/admin/{id}/status")
         @PreAuthorize("hasRole('ADMIN')")
         public ResponseEntity<CatDto> updateCatStatus(@PathVariable Long id, 
@@ -140,6 +273,60 @@ public class CatController {
             }
         }
     
+        // One keyset page of cats with the given status (all statuses when null)
+        private ResponseEntity<List<CatDto>> catPage(CatStatus status, String cursor, Integer limit) {
+            int pageSize = limit != null ? limit : DEFAULT_PAGE_SIZE;
+            log.info("Fetching page of {} cats after cursor {} (status filter: {})", pageSize, cursor, status);
+            if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+                return ResponseEntity.badRequest().build();
+            }
+
+            CatCursor position;
+            try {
+                position = cursor != null
+                    ? CatCursor.decode(cursor)
+                    : CatCursor.start(status != null ? status : CatStatus.values()[0]);
+            } catch (IllegalArgumentException e) {
+                log.warn("Rejected cat cursor: {}", cursor);
+                return ResponseEntity.badRequest().build();
+            }
+            if (status != null && position.status() != status) {
+                return ResponseEntity.badRequest().build();
+            }
+
+            List<Cat> cats = catService.getCatsPage(status, position, pageSize);
+            List<CatDto> catDtos = cats.stream()
+                .map(this::toDto)
+                .collect(Collectors.toList());
+
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (cats.size() == pageSize) {
+                Cat last = cats.get(cats.size() - 1);
+                response.header(NEXT_CURSOR_HEADER, new CatCursor(last.getStatus(), last.getId()).encode());
+            }
+            return response.body(catDtos);
+        }
+
+        // Writes the JSON array element by element while the cats are read from the database
+        private ResponseEntity<StreamingResponseBody> catStream(CatStatus status) {
+            StreamingResponseBody body = outputStream -> {
+                try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+                    generator.writeStartArray();
+                    catService.streamCats(status, cat -> {
+                        try {
+                            generator.writeObject(toDto(cat));
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                    generator.writeEndArray();
+                }
+            };
+            return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+        }
+    
         //Map Entity to DTO
         public CatDto toDto(Cat cat) {
             if (cat == null) {
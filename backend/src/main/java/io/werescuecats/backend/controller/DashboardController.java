@@ -1,54 +1,68 @@
 package io.werescuecats.backend.controller;
 
+import io.werescuecats.backend.dto.AdoptionTimeSeriesPoint;
 import io.werescuecats.backend.dto.DashboardStatsDto;
-import io.werescuecats.backend.entity.AdoptionStatus;
-import io.werescuecats.backend.entity.CatStatus;
-import io.werescuecats.backend.service.AdoptionService;
-import io.werescuecats.backend.service.CatService;
-import io.werescuecats.backend.service.UserService;
+import io.werescuecats.backend.service.AdoptionTimeSeries;
+import io.werescuecats.backend.service.DashboardStatsService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/dashboard")
 @CrossOrigin(origins = "*")
 @Slf4j
 public class DashboardController {
+
+    // Points per time series response
+    static final int MAX_POINTS = 366;
     
     @Autowired
-    private CatService catService;
-    
-    @Autowired
-    private UserService userService;
-    
+    private DashboardStatsService dashboardStatsService;
+
     @Autowired
-    private AdoptionService adoptionService;
+    private AdoptionTimeSeries adoptionTimeSeries;
     
     @GetMapping("/stats")
     public ResponseEntity<DashboardStatsDto> getDashboardStats() {
         log.info("Fetching dashboard statistics");
-        
-        DashboardStatsDto stats = new DashboardStatsDto();
-        
-        stats.setTotalCats(catService.getAllCats().size());
-        stats.setAvailableCats(catService.getAvailableCats().size());
-        stats.setAdoptedCats((int) catService.getAllCats().stream()
-                .filter(cat -> cat.getStatus() == CatStatus.ADOPTED)
-                .count());
-        
-        stats.setTotalUsers(userService.getAllUsers().size());
-        stats.setAdminUsers(userService.getAdminUsers().size());
-        
-        stats.setTotalAdoptions(adoptionService.getAllAdoptions().size());
-        stats.setPendingAdoptions((int) adoptionService.getAllAdoptions().stream()
-                .filter(adoption -> adoption.getStatus() == AdoptionStatus.PENDING)
-                .count());
-        stats.setCompletedAdoptions((int) adoptionService.getAllAdoptions().stream()
-                .filter(adoption -> adoption.getStatus() == AdoptionStatus.COMPLETED)
-                .count());
-        
-        return ResponseEntity.ok(stats);
+        return ResponseEntity.ok(dashboardStatsService.getStats());
+    }
+
+    /**
+     * Applications, approvals, completions and time-to-approve/complete percentiles per day or week.
+     * Defaults to the last 30 days or 12 weeks up to today.
+     */
+    @GetMapping("/timeseries")
+    public ResponseEntity<List<AdoptionTimeSeriesPoint>> getTimeSeries(
+            @RequestParam(defaultValue = "day") String interval,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to) {
+        log.info("Fetching adoption time series per {} from {} to {}", interval, from, to);
+        AdoptionTimeSeries.Interval bucket;
+        LocalDate end;
+        LocalDate start;
+        try {
+            bucket = AdoptionTimeSeries.Interval.fromParameter(interval);
+            end = to != null ? LocalDate.parse(to) : LocalDate.now();
+            start = from != null ? LocalDate.parse(from)
+                : bucket == AdoptionTimeSeries.Interval.WEEK ? end.minusWeeks(11) : end.minusDays(29);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            log.warn("Invalid time series request: interval={}, from={}, to={}", interval, from, to);
+            return ResponseEntity.badRequest().build();
+        }
+        long points = bucket == AdoptionTimeSeries.Interval.WEEK
+            ? ChronoUnit.WEEKS.between(start, end) + 1
+            : ChronoUnit.DAYS.between(start, end) + 1;
+        if (start.isAfter(end) || points > MAX_POINTS) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(adoptionTimeSeries.query(bucket, start, end));
     }
 }
@@ -1,14 +1,42 @@
 package io.werescuecats.backend.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.werescuecats.backend.dto.AdoptionAggregateResult;
+import io.werescuecats.backend.dto.AdoptionFeedCursor;
 import io.werescuecats.backend.dto.AnonymousAdoptionData;
+import io.werescuecats.backend.dto.ApiTokenQuota;
+import io.werescuecats.backend.security.RateLimitFilter;
 import io.werescuecats.backend.service.AdoptionService;
+import io.werescuecats.backend.service.AdoptionStatsCube;
 import io.werescuecats.backend.service.ApiTokenService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/health-data")
@@ -16,22 +44,224 @@ import java.util.List;
 @RequiredArgsConstructor
 @Slf4j
 public class HealthDataController {
-    
+
+    static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final String CSV_HEADER = "adoptionDate,catBreed,catAge,locationRegion,status,tenantId";
+
     private final AdoptionService adoptionService;
     private final ApiTokenService apiTokenService;
-    
+    private final ObjectMapper objectMapper;
+    private final AdoptionStatsCube adoptionStatsCube;
+
+    // Completions younger than this are left to the next pull, so transactions still committing are not skipped
+    @Value("${health-data.feed.lag:1m}")
+    private Duration feedLag;
+
+    /**
+     * Completed adoptions without personal data, written while they are read from the database
+     * GET /api/health-data/anonymous-adoptions?format=json|ndjson|csv&region=...
+     * The body is gzip-compressed when the client sends Accept-Encoding: gzip.
+     * The X-Next-Cursor header holds the resume token; passed back as since, the next pull
+     * only returns adoptions completed after this one.
+     */
     @GetMapping("/anonymous-adoptions")
-    public ResponseEntity<List<AnonymousAdoptionData>> getAnonymousData(
-            @RequestHeader("X-API-Token") String apiToken) {
-        
-        if (!apiTokenService.isValidToken(apiToken)) {
+    public ResponseEntity<StreamingResponseBody> getAnonymousData(
+            @RequestHeader("X-API-Token") String apiToken,
+            @RequestParam(defaultValue = "json") String format,
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) String region,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+        MediaType contentType = switch (format.toLowerCase(Locale.ROOT)) {
+            case "json" -> MediaType.APPLICATION_JSON;
+            case "ndjson" -> APPLICATION_NDJSON;
+            case "csv" -> TEXT_CSV;
+            default -> null;
+        };
+        if (contentType == null) {
+            log.warn("Unsupported health data format requested: {}", format);
+            return ResponseEntity.badRequest().build();
+        }
+        AdoptionFeedCursor after;
+        try {
+            after = since != null ? AdoptionFeedCursor.decode(since) : null;
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid health data cursor: {}", since);
+            return ResponseEntity.badRequest().build();
+        }
+
+        // Charged only for requests that are served
+        ApiTokenQuota quota = apiTokenService.tryAcquire(apiToken);
+        if (!quota.allowed()) {
+            return rejected(apiToken, quota);
+        }
+
+        String regionFilter = region != null && !region.isBlank() ? region.trim() : null;
+        AdoptionFeedCursor head = adoptionService.anonymousFeedHead(LocalDateTime.now().minus(feedLag));
+        AdoptionFeedCursor upTo = after != null && !head.isAfter(after) ? after : head;
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+
+        log.info("Anonymous data accessed with token: {} as {}{}", apiToken, format, after != null ? " since " + after : "");
+        StreamingResponseBody body = outputStream -> {
+            // Sync flush so the rows flushed so far reach the client instead of waiting in the deflater
+            OutputStream target = gzip ? new GZIPOutputStream(outputStream, 8192, true) : outputStream;
+            if (contentType == TEXT_CSV) {
+                writeCsv(target, after, upTo, regionFilter);
+            } else {
+                writeJson(target, contentType == APPLICATION_NDJSON, after, upTo, regionFilter);
+            }
+            if (target instanceof GZIPOutputStream gzipStream) {
+                gzipStream.finish();
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .headers(quotaHeaders(quota))
+            .contentType(contentType)
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+            .header(NEXT_CURSOR_HEADER, upTo.encode());
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    /**
+     * Completed adoptions counted per group, answered from the in-memory statistics cube
+     * GET /api/health-data/stats?groupBy=breed,ageBand,region,month&breed=...&ageBand=...&region=...&month=2024-05
+     * Groups below the minimum cell size, and groups that would reveal them, are suppressed for k-anonymity.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<AdoptionAggregateResult> getAdoptionStats(
+            @RequestHeader("X-API-Token") String apiToken,
+            @RequestParam(defaultValue = "") List<String> groupBy,
+            @RequestParam(required = false) String breed,
+            @RequestParam(required = false) String ageBand,
+            @RequestParam(required = false) String region,
+            @RequestParam(required = false) String month) {
+
+        Set<AdoptionStatsCube.Dimension> dimensions = EnumSet.noneOf(AdoptionStatsCube.Dimension.class);
+        try {
+            for (String dimension : groupBy) {
+                if (!dimension.isBlank()) {
+                    dimensions.add(AdoptionStatsCube.Dimension.fromParameter(dimension.trim()));
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid adoption stats grouping requested: {}", groupBy);
+            return ResponseEntity.badRequest().build();
+        }
+        Map<AdoptionStatsCube.Dimension, String> filters = new EnumMap<>(AdoptionStatsCube.Dimension.class);
+        putFilter(filters, AdoptionStatsCube.Dimension.BREED, breed);
+        putFilter(filters, AdoptionStatsCube.Dimension.AGE_BAND, ageBand);
+        putFilter(filters, AdoptionStatsCube.Dimension.REGION, region);
+        putFilter(filters, AdoptionStatsCube.Dimension.MONTH, month);
+
+        ApiTokenQuota quota = apiTokenService.tryAcquire(apiToken);
+        if (!quota.allowed()) {
+            return rejected(apiToken, quota);
+        }
+
+        log.info("Adoption stats accessed with token: {} grouped by {}", apiToken, dimensions);
+        return ResponseEntity.ok()
+            .headers(quotaHeaders(quota))
+            .body(adoptionStatsCube.query(dimensions, filters));
+    }
+
+    // 401 for unknown, inactive or expired tokens, 429 once the daily limit is used up
+    private static <T> ResponseEntity<T> rejected(String apiToken, ApiTokenQuota quota) {
+        if (quota.status() == ApiTokenQuota.Status.INVALID) {
             log.warn("Invalid API token attempted: {}", apiToken);
-            return ResponseEntity.status(401).build();
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        log.warn("Daily request limit of {} reached for API token: {}", quota.limit(), apiToken);
+        HttpHeaders headers = quotaHeaders(quota);
+        headers.set(HttpHeaders.RETRY_AFTER, headers.getFirst(RateLimitFilter.RESET_HEADER));
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).headers(headers).build();
+    }
+
+    private static HttpHeaders quotaHeaders(ApiTokenQuota quota) {
+        long secondsToReset = Math.max(0, Duration.between(Instant.now(), quota.resetAt()).toSeconds() + 1);
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(RateLimitFilter.LIMIT_HEADER, String.valueOf(quota.limit()));
+        headers.set(RateLimitFilter.REMAINING_HEADER, String.valueOf(quota.remaining()));
+        headers.set(RateLimitFilter.RESET_HEADER, String.valueOf(secondsToReset));
+        return headers;
+    }
+
+    private static void putFilter(Map<AdoptionStatsCube.Dimension, String> filters,
+                                  AdoptionStatsCube.Dimension dimension, String value) {
+        if (value != null && !value.isBlank()) {
+            filters.put(dimension, value.trim());
+        }
+    }
+
+    // A JSON array, or one JSON object per line for NDJSON
+    private void writeJson(OutputStream outputStream, boolean ndjson,
+                           AdoptionFeedCursor after, AdoptionFeedCursor upTo, String region) throws IOException {
+        try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+            // The caller still has to finish a gzip stream after the generator is closed
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            if (ndjson) {
+                // Lines are ended explicitly instead of separating root values with a space
+                generator.setRootValueSeparator(null);
+            } else {
+                generator.writeStartArray();
+            }
+            adoptionService.streamAnonymousAdoptionData(after, upTo, region, data -> {
+                try {
+                    generator.writeObject(data);
+                    if (ndjson) {
+                        generator.writeRaw('\n');
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            if (!ndjson) {
+                generator.writeEndArray();
+            }
+        }
+    }
+
+    private void writeCsv(OutputStream outputStream,
+                          AdoptionFeedCursor after, AdoptionFeedCursor upTo, String region) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+        adoptionService.streamAnonymousAdoptionData(after, upTo, region, data -> {
+            try {
+                writer.write(csvRow(data));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+    }
+
+    static String csvRow(AnonymousAdoptionData data) {
+        return String.join(",",
+            csvField(data.getAdoptionDate()),
+            csvField(data.getCatBreed()),
+            csvField(data.getCatAge()),
+            csvField(data.getLocationRegion()),
+            csvField(data.getStatus()),
+            csvField(data.getTenantId())) + "\r\n";
+    }
+
+    // RFC 4180: quote fields containing separators, quotes or line breaks and double the quotes
+    private static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
         }
-        
-        log.info("Anonymous data accessed with token: {}", apiToken);
-        List<AnonymousAdoptionData> data = adoptionService.getAnonymousAdoptionData();
-        
-        return ResponseEntity.ok(data);
+        return '"' + text.replace("\"", "\"\"") + '"';
     }
-}
\ No newline at end of file
+}
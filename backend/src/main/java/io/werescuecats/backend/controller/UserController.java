@@ -4,6 +4,7 @@ import io.werescuecats.backend.dto.RegisterRequestDto;
 import io.werescuecats.backend.dto.UserDto;
 import io.werescuecats.backend.entity.User;
 import io.werescuecats.backend.entity.UserRole;
+import io.werescuecats.backend.exception.PasswordHashingBusyException;
 import io.werescuecats.backend.exception.UserAlreadyExistsException;
 import io.werescuecats.backend.exception.UserNotFoundException;
 import io.werescuecats.backend.service.UserService;
@@ -63,6 +64,10 @@ public class UserController {
             log.warn("Registration failed - user already exists: {}", request.getEmail());
             return ResponseEntity.status(HttpStatus.CONFLICT).build();
 
+        } catch (PasswordHashingBusyException e) {
+            log.warn("Registration rejected - password hashing busy: {}", request.getEmail());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+
         } catch (Exception e) {
             log.error("Error registering user: {}", request.getEmail(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
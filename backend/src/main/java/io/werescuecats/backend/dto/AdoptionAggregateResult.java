@@ -0,0 +1,14 @@
+package io.werescuecats.backend.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Completed adoptions counted per group of the requested dimensions.
+ * Groups with fewer than minCellSize adoptions, and groups that would let them be derived from
+ * totals, are left out and only counted in suppressedCells.
+ */
+public record AdoptionAggregateResult(List<String> groupBy, List<Cell> cells, int suppressedCells, int minCellSize) {
+
+    public record Cell(Map<String, String> group, long adoptions) {}
+}
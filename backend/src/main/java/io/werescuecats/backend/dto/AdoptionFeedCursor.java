@@ -0,0 +1,39 @@
+package io.werescuecats.backend.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Keyset position in the completed adoptions feed, ordered by (completedDate, id).
+ * Sent to health institutions as an opaque url-safe resume token.
+ */
+public record AdoptionFeedCursor(LocalDateTime completedDate, long afterId) {
+
+    // Before every completion date, so a feed starting here returns everything
+    public static final AdoptionFeedCursor START = new AdoptionFeedCursor(LocalDateTime.of(1970, 1, 1, 0, 0), 0L);
+
+    public boolean isAfter(AdoptionFeedCursor other) {
+        int byDate = completedDate.compareTo(other.completedDate);
+        return byDate > 0 || (byDate == 0 && afterId > other.afterId);
+    }
+
+    public String encode() {
+        String raw = completedDate + "|" + afterId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token was not produced by {@link #encode()}
+     */
+    public static AdoptionFeedCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new AdoptionFeedCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+}
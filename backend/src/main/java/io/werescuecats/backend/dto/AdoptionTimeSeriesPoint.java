@@ -0,0 +1,21 @@
+package io.werescuecats.backend.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Adoption activity of one day or week. The durations are measured from the application
+ * and summarised over the approvals and completions that happened in the bucket.
+ */
+public record AdoptionTimeSeriesPoint(LocalDate start,
+                                      long applications,
+                                      long approvals,
+                                      long completions,
+                                      DurationSummary timeToApprove,
+                                      DurationSummary timeToComplete) {
+
+    /**
+     * Percentiles in hours, null while nothing was measured.
+     * Each value is at most one histogram bucket (12.5%) above the exact percentile.
+     */
+    public record DurationSummary(long count, Double p50Hours, Double p90Hours, Double p99Hours) {}
+}
@@ -0,0 +1,13 @@
+package io.werescuecats.backend.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * When an adoption was applied for, approved and completed, as far as it got.
+ * Filled by the projection queries in AdoptionRepository.
+ */
+public record AdoptionTimeline(Long adoptionId,
+                               LocalDateTime adoptionDate,
+                               LocalDateTime approvedDate,
+                               LocalDateTime completedDate) {
+}
@@ -0,0 +1,17 @@
+package io.werescuecats.backend.dto;
+
+import io.werescuecats.backend.entity.AdoptionStatus;
+
+/**
+ * Outcome of one adoption in a batch transition: the new status when applied, otherwise why not.
+ */
+public record AdoptionTransitionResult(Long id, boolean applied, AdoptionStatus status, String error) {
+
+    public static AdoptionTransitionResult applied(Long id, AdoptionStatus status) {
+        return new AdoptionTransitionResult(id, true, status, null);
+    }
+
+    public static AdoptionTransitionResult rejected(Long id, AdoptionStatus status, String error) {
+        return new AdoptionTransitionResult(id, false, status, error);
+    }
+}
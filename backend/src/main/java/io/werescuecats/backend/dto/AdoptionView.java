@@ -0,0 +1,27 @@
+package io.werescuecats.backend.dto;
+
+import io.werescuecats.backend.entity.AdoptionStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat read-only row with the columns AdoptionDto needs, joined to user, cat and breed.
+ * Filled by the projection queries in AdoptionRepository.
+ */
+public record AdoptionView(
+        Long id,
+        AdoptionStatus status,
+        LocalDateTime adoptionDate,
+        LocalDateTime approvedDate,
+        LocalDateTime completedDate,
+        String notes,
+        String adminNotes,
+        String tenantId,
+        Long userId,
+        String userEmail,
+        String userFirstName,
+        String userLastName,
+        Long catId,
+        String catName,
+        String breedName) {
+}
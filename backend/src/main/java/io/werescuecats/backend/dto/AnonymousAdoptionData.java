@@ -14,4 +14,15 @@ public class AnonymousAdoptionData {
     private String locationRegion;
     private String status;
     private String tenantId;
-}
\ No newline at end of file
+
+    public static AnonymousAdoptionData of(AnonymousAdoptionRow row) {
+        return AnonymousAdoptionData.builder()
+            .adoptionDate(row.adoptionDate())
+            .catBreed(row.breedName() != null ? row.breedName() : "Unknown")
+            .catAge(row.catAge())
+            .locationRegion(row.region() != null ? row.region() : "Unknown")
+            .status(row.status().name())
+            .tenantId(row.tenantId())
+            .build();
+    }
+}
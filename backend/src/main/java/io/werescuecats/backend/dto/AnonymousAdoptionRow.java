@@ -0,0 +1,19 @@
+package io.werescuecats.backend.dto;
+
+import io.werescuecats.backend.entity.AdoptionStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * The columns the anonymous health-data export and statistics read, joined to cat and breed.
+ * Filled by the projection queries in AdoptionRepository; the id never leaves the server.
+ */
+public record AnonymousAdoptionRow(
+        Long adoptionId,
+        LocalDateTime adoptionDate,
+        String breedName,
+        Integer catAge,
+        String region,
+        AdoptionStatus status,
+        String tenantId) {
+}
@@ -0,0 +1,20 @@
+package io.werescuecats.backend.dto;
+
+import java.time.Instant;
+
+/**
+ * Outcome of charging one request to an API token: whether it may proceed, and the token's
+ * daily limit, requests left after this one and when the count starts over.
+ */
+public record ApiTokenQuota(Status status, int limit, int remaining, Instant resetAt) {
+
+    public enum Status { ALLOWED, EXHAUSTED, INVALID }
+
+    public static ApiTokenQuota invalid() {
+        return new ApiTokenQuota(Status.INVALID, 0, 0, null);
+    }
+
+    public boolean allowed() {
+        return status == Status.ALLOWED;
+    }
+}
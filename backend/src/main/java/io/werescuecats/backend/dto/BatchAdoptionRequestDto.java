@@ -0,0 +1,20 @@
+package io.werescuecats.backend.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class BatchAdoptionRequestDto {
+    @NotEmpty
+    @Size(max = 1000)
+    private List<@NotNull Long> ids;
+
+    // Required for batch rejections
+    private String reason;
+}
@@ -0,0 +1,36 @@
+package io.werescuecats.backend.dto;
+
+import io.werescuecats.backend.entity.CatStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset position in a cat listing ordered by (status, id).
+ * Sent to clients as an opaque url-safe token.
+ */
+public record CatCursor(CatStatus status, long afterId) {
+
+    public static CatCursor start(CatStatus status) {
+        return new CatCursor(status, 0L);
+    }
+
+    public String encode() {
+        String raw = status.name() + ":" + afterId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token was not produced by {@link #encode()}
+     */
+    public static CatCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            return new CatCursor(CatStatus.valueOf(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package io.werescuecats.backend.dto;
 
 import io.werescuecats.backend.entity.CatStatus;
+import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.Builder;
 
@@ -8,6 +9,7 @@ import java.time.LocalDateTime;
 
 @Data
 @Builder
+@AllArgsConstructor // used by the projection queries in CatRepository, keep the field order in sync
 public class CatDto {
     private Long id;
     private String name;
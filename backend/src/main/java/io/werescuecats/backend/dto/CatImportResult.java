@@ -0,0 +1,16 @@
+package io.werescuecats.backend.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk cat import. Rows are numbered from 1 in input order, not counting the CSV header.
+ * Only the first errors are listed; failed always counts every rejected row.
+ */
+public record CatImportResult(
+        int imported,
+        int failed,
+        List<RowError> errors,
+        boolean errorsTruncated) {
+
+    public record RowError(int row, String message) {}
+}
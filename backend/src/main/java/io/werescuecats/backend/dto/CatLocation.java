@@ -0,0 +1,7 @@
+package io.werescuecats.backend.dto;
+
+/**
+ * Id and coordinates of a cat, filled by the location projection query in CatRepository.
+ */
+public record CatLocation(Long id, Double latitude, Double longitude) {
+}
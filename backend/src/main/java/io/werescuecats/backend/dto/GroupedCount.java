@@ -0,0 +1,7 @@
+package io.werescuecats.backend.dto;
+
+/**
+ * Number of rows with one value of the grouping column, filled by the GROUP BY count queries of the repositories.
+ */
+public record GroupedCount<K>(K key, Long count) {
+}
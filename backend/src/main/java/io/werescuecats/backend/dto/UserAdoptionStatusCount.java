@@ -0,0 +1,9 @@
+package io.werescuecats.backend.dto;
+
+import io.werescuecats.backend.entity.AdoptionStatus;
+
+/**
+ * Number of a user's adoptions in one status, one row of the grouped count queries in AdoptionRepository.
+ */
+public record UserAdoptionStatusCount(Long userId, AdoptionStatus status, Long adoptions) {
+}
@@ -0,0 +1,9 @@
+package io.werescuecats.backend.dto;
+
+import io.werescuecats.backend.entity.UserRole;
+
+/**
+ * The part of a user that decides whether their token is still honoured, see UserStateCache.
+ */
+public record UserAuthState(Long id, String email, UserRole role, boolean enabled) {
+}
@@ -8,7 +8,11 @@ import lombok.Setter;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "adoptions")
+@Table(name = "adoptions", indexes = {
+    @Index(name = "idx_adoptions_status_completed_id", columnList = "status, completed_date, adoption_id"),
+    @Index(name = "idx_adoptions_status_region", columnList = "status, region"),
+    @Index(name = "idx_adoptions_user_status", columnList = "user_id, status")
+})
 public class Adoption {
     
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -62,6 +66,11 @@ public class Adoption {
     @Column(name = "tenant_id", length = 50)
     private String tenantId;
 
+    // The adopter's region when the adoption was requested, so exports never join users
+    @Getter @Setter
+    @Column(name = "region", length = User.REGION_LENGTH)
+    private String region;
+
     @Getter @Setter
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -96,6 +105,9 @@ public class Adoption {
         if (adoptionDate == null) {
             adoptionDate = LocalDateTime.now();
         }
+        if (region == null && user != null) {
+            region = User.regionOf(user.getStreetAddress());
+        }
     }
     
     @PreUpdate
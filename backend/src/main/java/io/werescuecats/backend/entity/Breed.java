@@ -4,11 +4,14 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import io.werescuecats.backend.event.BreedChangedEvent;
 import lombok.Getter;
 import lombok.Setter;
+import java.util.Collection;
 import java.util.List;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.springframework.data.domain.DomainEvents;
 
 @Entity
 @Table(name = "breeds")
@@ -124,6 +127,12 @@ public class Breed {
         this.name = name;
     }
     
+    // Published by Spring Data after every repository save of this breed
+    @DomainEvents
+    protected Collection<BreedChangedEvent> changedEvents() {
+        return List.of(new BreedChangedEvent(id));
+    }
+    
     public boolean isGoodWithKids() {
         return childFriendly != null && childFriendly >= 4;
     }
@@ -5,18 +5,25 @@ import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import io.werescuecats.backend.event.CatChangedEvent;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import org.springframework.data.domain.DomainEvents;
 
 @Entity
 @Getter
 @Setter
 @AllArgsConstructor
-@Table(name = "cats")
+@Table(name = "cats", indexes = {
+    @Index(name = "idx_cats_status_lat_lon", columnList = "status, latitude, longitude"),
+    @Index(name = "idx_cats_status_id", columnList = "status, cat_id")
+})
 public class Cat {
     
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -91,6 +98,12 @@ public class Cat {
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
     }
+
+    // Published by Spring Data after every repository save of this cat
+    @DomainEvents
+    protected Collection<CatChangedEvent> changedEvents() {
+        return List.of(CatChangedEvent.of(this));
+    }
     
     public boolean isAvailable() {
         return this.status == CatStatus.AVAILABLE;
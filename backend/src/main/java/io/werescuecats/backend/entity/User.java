@@ -15,6 +15,9 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 @Entity
 @Table(name = "users")
 public class User {
+
+    public static final int REGION_LENGTH = 100;
+    private static final String UNKNOWN_REGION = "Unknown";
     
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Getter @Setter
@@ -48,6 +51,11 @@ public class User {
     @Column(name = "street_address", length = 255)
     private String streetAddress;
     
+    // Derived from the street address on every save, the only location detail ever shared
+    @Getter
+    @Column(name = "region", length = REGION_LENGTH)
+    private String region;
+    
     @Getter @Setter
     @Column(name = "postal_code", length = 5)
     private String postalCode;
@@ -87,11 +95,29 @@ public class User {
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        region = regionOf(streetAddress);
     }
     
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        region = regionOf(streetAddress);
+    }
+
+    /**
+     * Region of a street address: its last comma-separated part with whitespace normalized,
+     * "Unknown" when there is none.
+     */
+    public static String regionOf(String streetAddress) {
+        if (streetAddress == null) {
+            return UNKNOWN_REGION;
+        }
+        String[] parts = streetAddress.split(",");
+        String lastPart = parts.length > 0 ? parts[parts.length - 1].trim().replaceAll("\\s+", " ") : "";
+        if (lastPart.isEmpty()) {
+            return UNKNOWN_REGION;
+        }
+        return lastPart.length() > REGION_LENGTH ? lastPart.substring(0, REGION_LENGTH) : lastPart;
     }
     
     public String getFullName() {
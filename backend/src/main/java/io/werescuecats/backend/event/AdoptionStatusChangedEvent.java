@@ -0,0 +1,12 @@
+package io.werescuecats.backend.event;
+
+import io.werescuecats.backend.entity.AdoptionStatus;
+
+import java.util.List;
+
+/**
+ * Published by AdoptionService when adoptions are created or move from one status to another,
+ * one event per single or batch transition, with from null for new adoptions.
+ * Listeners consume it after commit.
+ */
+public record AdoptionStatusChangedEvent(List<Long> adoptionIds, AdoptionStatus from, AdoptionStatus to) {}
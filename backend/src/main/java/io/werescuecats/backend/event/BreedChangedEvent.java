@@ -0,0 +1,7 @@
+package io.werescuecats.backend.event;
+
+/**
+ * Published by Spring Data whenever a breed is saved through BreedRepository.
+ */
+public record BreedChangedEvent(String breedId) {
+}
@@ -0,0 +1,15 @@
+package io.werescuecats.backend.event;
+
+import io.werescuecats.backend.entity.Cat;
+import io.werescuecats.backend.entity.CatStatus;
+
+/**
+ * Published by Spring Data whenever a cat is saved through CatRepository.
+ * Listeners that keep in-memory views of cats consume it after commit.
+ */
+public record CatChangedEvent(Long catId, CatStatus status, Double latitude, Double longitude) {
+
+    public static CatChangedEvent of(Cat cat) {
+        return new CatChangedEvent(cat.getId(), cat.getStatus(), cat.getLatitude(), cat.getLongitude());
+    }
+}
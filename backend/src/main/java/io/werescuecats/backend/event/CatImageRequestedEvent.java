@@ -0,0 +1,8 @@
+package io.werescuecats.backend.event;
+
+/**
+ * A newly saved cat needs an image URL from TheCatAPI.
+ * Consumed after commit by the image enrichment queue.
+ */
+public record CatImageRequestedEvent(Long catId, String breedId) {
+}
@@ -0,0 +1,9 @@
+package io.werescuecats.backend.event;
+
+import io.werescuecats.backend.entity.CatStatus;
+
+/**
+ * Published by CatService when a cat is created or moves from one status to another,
+ * with from null for new cats. Listeners consume it after commit.
+ */
+public record CatStatusChangedEvent(Long catId, CatStatus from, CatStatus to) {}
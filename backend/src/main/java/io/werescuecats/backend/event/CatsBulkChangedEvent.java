@@ -0,0 +1,13 @@
+package io.werescuecats.backend.event;
+
+import io.werescuecats.backend.dto.GroupedCount;
+import io.werescuecats.backend.entity.CatStatus;
+
+import java.util.List;
+
+/**
+ * Published for set-based status updates of many cats, which bypass the per-cat CatChangedEvent,
+ * with the number of the cats that had each previous status.
+ * Listeners that keep in-memory views of cats reload them after commit.
+ */
+public record CatsBulkChangedEvent(List<Long> catIds, CatStatus status, List<GroupedCount<CatStatus>> previousStatuses) {}
@@ -0,0 +1,10 @@
+package io.werescuecats.backend.event;
+
+import io.werescuecats.backend.entity.UserRole;
+
+/**
+ * Published by UserService when a user is created, updated, deleted or changes their password,
+ * with previousRole null for new users and role null for deleted ones. Listeners consume it
+ * after commit.
+ */
+public record UserChangedEvent(Long userId, UserRole previousRole, UserRole role) {}
@@ -1,24 +1,63 @@
 package io.werescuecats.backend.repository;
 
+import io.werescuecats.backend.dto.AdoptionTimeline;
+import io.werescuecats.backend.dto.AdoptionView;
+import io.werescuecats.backend.dto.AnonymousAdoptionRow;
+import io.werescuecats.backend.dto.GroupedCount;
+import io.werescuecats.backend.dto.UserAdoptionStatusCount;
 import io.werescuecats.backend.entity.Adoption;
 import io.werescuecats.backend.entity.AdoptionStatus;
+import io.werescuecats.backend.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface AdoptionRepository extends JpaRepository<Adoption, Long> {
+
+    String ADOPTION_VIEW_SELECT =
+            "SELECT new io.werescuecats.backend.dto.AdoptionView(a.id, a.status, a.adoptionDate, " +
+            "a.approvedDate, a.completedDate, a.notes, a.adminNotes, a.tenantId, " +
+            "u.id, u.email, u.firstName, u.lastName, c.id, c.name, b.name) " +
+            "FROM Adoption a JOIN a.user u JOIN a.cat c JOIN c.breed b ";
+
+    String ANONYMOUS_ROW_SELECT =
+            "SELECT new io.werescuecats.backend.dto.AnonymousAdoptionRow(a.id, a.adoptionDate, b.name, c.age, " +
+            "a.region, a.status, a.tenantId) " +
+            "FROM Adoption a JOIN a.cat c LEFT JOIN c.breed b ";
+
+    String TIMELINE_SELECT =
+            "SELECT new io.werescuecats.backend.dto.AdoptionTimeline(a.id, a.adoptionDate, a.approvedDate, " +
+            "a.completedDate) FROM Adoption a ";
+
+    // List queries fetch user, cat and breed in the same statement because the DTO mapping reads all three
+
+    @Override
+    @EntityGraph(attributePaths = {"user", "cat", "cat.breed"})
+    List<Adoption> findAll();
     
+    @EntityGraph(attributePaths = {"user", "cat", "cat.breed"})
     List<Adoption> findByStatus(AdoptionStatus status);
     
+    @EntityGraph(attributePaths = {"user", "cat", "cat.breed"})
     List<Adoption> findByUserId(Long userId);
     
+    @EntityGraph(attributePaths = {"user", "cat", "cat.breed"})
     List<Adoption> findByCatId(Long catId);
     
+    @EntityGraph(attributePaths = {"user", "cat", "cat.breed"})
     @Query("SELECT a FROM Adoption a WHERE a.status = :status AND " +
            "a.adoptionDate BETWEEN :startDate AND :endDate")
     List<Adoption> findAdoptionsByStatusAndDateRange(@Param("status") AdoptionStatus status,
@@ -28,5 +67,96 @@ public interface AdoptionRepository extends JpaRepository<Adoption, Long> {
     @Query("SELECT COUNT(a) FROM Adoption a WHERE a.user.id = :userId AND a.status = 'COMPLETED'")
     long countCompletedAdoptionsByUser(@Param("userId") Long userId);
     
+    @Query("SELECT new io.werescuecats.backend.dto.GroupedCount(a.status, COUNT(a)) FROM Adoption a GROUP BY a.status")
+    List<GroupedCount<AdoptionStatus>> countGroupedByStatus();
+
+    // Per-user statistics: one row per user and status, counted from idx_adoptions_user_status alone
+
+    @Query("SELECT new io.werescuecats.backend.dto.UserAdoptionStatusCount(a.user.id, a.status, COUNT(a)) " +
+           "FROM Adoption a WHERE a.user.id = :userId GROUP BY a.user.id, a.status")
+    List<UserAdoptionStatusCount> countByUserGroupedByStatus(@Param("userId") Long userId);
+
+    @Query("SELECT new io.werescuecats.backend.dto.UserAdoptionStatusCount(a.user.id, a.status, COUNT(a)) " +
+           "FROM Adoption a WHERE a.user.id IN :userIds GROUP BY a.user.id, a.status")
+    List<UserAdoptionStatusCount> countByUsersGroupedByStatus(@Param("userIds") Collection<Long> userIds);
+
+    @EntityGraph(attributePaths = {"user", "cat", "cat.breed"})
     List<Adoption> findByStatusOrderByAdoptionDateDesc(AdoptionStatus status);
+
+    // Projections into AdoptionView: no entities, no persistence context entries
+
+    @Query(ADOPTION_VIEW_SELECT + "ORDER BY a.id")
+    List<AdoptionView> findAllViews();
+
+    @Query(ADOPTION_VIEW_SELECT + "WHERE a.status = :status ORDER BY a.id")
+    List<AdoptionView> findViewsByStatus(@Param("status") AdoptionStatus status);
+
+    @Query(ADOPTION_VIEW_SELECT + "WHERE u.id = :userId ORDER BY a.id")
+    List<AdoptionView> findViewsByUserId(@Param("userId") Long userId);
+
+    @Query(ADOPTION_VIEW_SELECT + "WHERE a.id IN :ids")
+    List<AdoptionView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Anonymous health-data export: filtered in the database and read through a cursor, never as one list
+
+    // Full export up to a feed position; completed rows without a date only ever show up here
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(ANONYMOUS_ROW_SELECT + "WHERE a.status = :status AND (:region IS NULL OR a.region = :region) " +
+           "AND (a.completedDate IS NULL " +
+           "OR a.completedDate < :upToDate OR (a.completedDate = :upToDate AND a.id <= :upToId)) " +
+           "ORDER BY a.id")
+    Stream<AnonymousAdoptionRow> streamAnonymousRowsUpTo(@Param("status") AdoptionStatus status,
+                                                         @Param("region") String region,
+                                                         @Param("upToDate") LocalDateTime upToDate,
+                                                         @Param("upToId") long upToId);
+
+    // Feed delta between two positions, a range scan of idx_adoptions_status_completed_id
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(ANONYMOUS_ROW_SELECT + "WHERE a.status = :status AND (:region IS NULL OR a.region = :region) " +
+           "AND (a.completedDate > :afterDate OR (a.completedDate = :afterDate AND a.id > :afterId)) " +
+           "AND (a.completedDate < :upToDate OR (a.completedDate = :upToDate AND a.id <= :upToId)) " +
+           "ORDER BY a.completedDate, a.id")
+    Stream<AnonymousAdoptionRow> streamAnonymousRowsBetween(@Param("status") AdoptionStatus status,
+                                                            @Param("region") String region,
+                                                            @Param("afterDate") LocalDateTime afterDate,
+                                                            @Param("afterId") long afterId,
+                                                            @Param("upToDate") LocalDateTime upToDate,
+                                                            @Param("upToId") long upToId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(ANONYMOUS_ROW_SELECT + "WHERE a.status = :status")
+    Stream<AnonymousAdoptionRow> streamAnonymousRowsByStatus(@Param("status") AdoptionStatus status);
+
+    @Query(ANONYMOUS_ROW_SELECT + "WHERE a.id IN :ids AND a.status = :status")
+    List<AnonymousAdoptionRow> findAnonymousRowsByIdIn(@Param("ids") Collection<Long> ids,
+                                                       @Param("status") AdoptionStatus status);
+
+    // Time series of applications, approvals and completions
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(TIMELINE_SELECT)
+    Stream<AdoptionTimeline> streamTimelines();
+
+    @Query(TIMELINE_SELECT + "WHERE a.id IN :ids")
+    List<AdoptionTimeline> findTimelinesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Newest feed position at or before the bound
+    Optional<Adoption> findFirstByStatusAndCompletedDateLessThanEqualOrderByCompletedDateDescIdDesc(
+            AdoptionStatus status, LocalDateTime upTo);
+
+    // One state transition for many adoptions; the status guard skips rows changed since they were read
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Adoption a SET a.status = :newStatus, a.processedByAdmin = :admin, a.updatedAt = :now, " +
+           "a.approvedDate = COALESCE(:approvedDate, a.approvedDate), " +
+           "a.completedDate = COALESCE(:completedDate, a.completedDate), " +
+           "a.adminNotes = COALESCE(:adminNotes, a.adminNotes) " +
+           "WHERE a.id IN :ids AND a.status = :expectedStatus")
+    int transitionStatus(@Param("ids") Collection<Long> ids,
+                         @Param("expectedStatus") AdoptionStatus expectedStatus,
+                         @Param("newStatus") AdoptionStatus newStatus,
+                         @Param("admin") User admin,
+                         @Param("now") LocalDateTime now,
+                         @Param("approvedDate") LocalDateTime approvedDate,
+                         @Param("completedDate") LocalDateTime completedDate,
+                         @Param("adminNotes") String adminNotes);
 }
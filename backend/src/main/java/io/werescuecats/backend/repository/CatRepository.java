@@ -1,26 +1,80 @@
 package io.werescuecats.backend.repository;
 
+import io.werescuecats.backend.dto.CatDto;
+import io.werescuecats.backend.dto.CatLocation;
+import io.werescuecats.backend.dto.GroupedCount;
 import io.werescuecats.backend.entity.Cat;
 import io.werescuecats.backend.entity.CatStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface CatRepository extends JpaRepository<Cat, Long> {
+
+    String CAT_DTO_SELECT =
+            "SELECT new io.werescuecats.backend.dto.CatDto(c.id, c.name, c.age, c.gender, c.description, " +
+            "b.id, b.name, c.imageUrl, c.latitude, c.longitude, c.address, c.status, c.createdAt, c.updatedAt) " +
+            "FROM Cat c JOIN c.breed b ";
+
+    // List queries fetch the breed in the same statement because every DTO mapping reads its name
+
+    @Override
+    @EntityGraph(attributePaths = "breed")
+    List<Cat> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = "breed")
+    List<Cat> findAllById(Iterable<Long> ids);
     
+    @EntityGraph(attributePaths = "breed")
     List<Cat> findByStatus(CatStatus status);
+
+    @Query("SELECT new io.werescuecats.backend.dto.CatLocation(c.id, c.latitude, c.longitude) FROM Cat c " +
+           "WHERE c.status = :status AND c.latitude IS NOT NULL AND c.longitude IS NOT NULL")
+    List<CatLocation> findLocationsByStatus(@Param("status") CatStatus status);
+
+    @EntityGraph(attributePaths = "breed")
+    @Query("SELECT c FROM Cat c WHERE c.status = :status AND c.id > :afterId ORDER BY c.id")
+    List<Cat> findPageByStatus(@Param("status") CatStatus status,
+                               @Param("afterId") Long afterId,
+                               Pageable pageable);
+
+    @EntityGraph(attributePaths = "breed")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT c FROM Cat c WHERE c.status = :status ORDER BY c.id")
+    Stream<Cat> streamByStatus(@Param("status") CatStatus status);
     
+    @EntityGraph(attributePaths = "breed")
     List<Cat> findByBreedId(String breedId);
+
+    @Query("SELECT new io.werescuecats.backend.dto.GroupedCount(c.status, COUNT(c)) FROM Cat c GROUP BY c.status")
+    List<GroupedCount<CatStatus>> countGroupedByStatus();
+
+    @Query("SELECT new io.werescuecats.backend.dto.GroupedCount(c.status, COUNT(c)) FROM Cat c " +
+           "WHERE c.id IN :ids GROUP BY c.status")
+    List<GroupedCount<CatStatus>> countGroupedByStatusIn(@Param("ids") Collection<Long> ids);
     
+    @EntityGraph(attributePaths = "breed")
     @Query("SELECT c FROM Cat c WHERE c.status = :status AND " +
            "(:breedId IS NULL OR c.breed.id = :breedId)")
     List<Cat> findAvailableCatsWithBreed(@Param("status") CatStatus status, 
                                          @Param("breedId") String breedId);
     
+    @EntityGraph(attributePaths = "breed")
     @Query("SELECT c FROM Cat c WHERE " +
            "c.latitude BETWEEN :minLat AND :maxLat AND " +
            "c.longitude BETWEEN :minLon AND :maxLon AND " +
@@ -30,4 +84,33 @@ public interface CatRepository extends JpaRepository<Cat, Long> {
                              @Param("minLon") Double minLon, 
                              @Param("maxLon") Double maxLon,
                              @Param("status") CatStatus status);
+
+    // Projections straight into CatDto: no entities, no persistence context entries
+
+    @Query(CAT_DTO_SELECT + "ORDER BY c.id")
+    List<CatDto> findAllDtos();
+
+    @Query(CAT_DTO_SELECT + "WHERE c.status = :status ORDER BY c.id")
+    List<CatDto> findDtosByStatus(@Param("status") CatStatus status);
+
+    @Query(CAT_DTO_SELECT + "WHERE c.id = :id")
+    Optional<CatDto> findDtoById(@Param("id") Long id);
+
+    @Query(CAT_DTO_SELECT + "WHERE b.id = :breedId ORDER BY c.id")
+    List<CatDto> findDtosByBreedId(@Param("breedId") String breedId);
+
+    // Compare-and-set of the status in one statement: of concurrent callers only one sees 1 updated row.
+    // Clears the persistence context so no stale copy of the cat is read or written back afterwards.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Cat c SET c.status = :newStatus, c.updatedAt = :now WHERE c.id = :id AND c.status = :expectedStatus")
+    int updateStatusIf(@Param("id") Long id,
+                       @Param("expectedStatus") CatStatus expectedStatus,
+                       @Param("newStatus") CatStatus newStatus,
+                       @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Cat c SET c.status = :status, c.updatedAt = :now WHERE c.id IN :ids")
+    int updateStatusIn(@Param("ids") Collection<Long> ids,
+                       @Param("status") CatStatus status,
+                       @Param("now") LocalDateTime now);
 }
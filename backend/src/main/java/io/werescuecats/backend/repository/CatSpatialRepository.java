@@ -0,0 +1,210 @@
+package io.werescuecats.backend.repository;
+
+import io.werescuecats.backend.service.CatLocationIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Distance queries over cat locations.
+ * On MySQL the cats table gets a stored POINT column generated from
+ * longitude/latitude with a SPATIAL index; the index narrows candidates
+ * by bounding box and ST_Distance_Sphere applies the exact check.
+ * Other databases (H2 in tests) use a plain bounding box query and the
+ * haversine check in Java.
+ * Boxes crossing the antimeridian are split in two, and cats without
+ * coordinates are never returned.
+ */
+@Repository
+@Slf4j
+public class CatSpatialRepository {
+
+    // The location column holds POINT(0 0) for cats without coordinates, see ensureSpatialIndex
+    private static final String MYSQL_BOX_SELECT =
+            "SELECT c.cat_id, ST_Distance_Sphere(c.location, POINT(?, ?)) AS distance_m " +
+            "FROM cats c " +
+            "WHERE MBRContains(ST_GeomFromText(?), c.location) AND c.status = 'AVAILABLE' " +
+            "AND c.latitude IS NOT NULL AND c.longitude IS NOT NULL";
+
+    private static final String MYSQL_NEAR_QUERY =
+            MYSQL_BOX_SELECT + " " +
+            "HAVING distance_m <= ? " +
+            "ORDER BY distance_m, c.cat_id " +
+            "LIMIT ? OFFSET ?";
+
+    // Boxes split at the antimeridian: one index range scan per box, as the SPATIAL index cannot serve an OR
+    private static final String MYSQL_SPLIT_NEAR_QUERY =
+            "SELECT near.cat_id, near.distance_m " +
+            "FROM (" + MYSQL_BOX_SELECT + " UNION ALL " + MYSQL_BOX_SELECT + ") near " +
+            "WHERE near.distance_m <= ? " +
+            "ORDER BY near.distance_m, near.cat_id " +
+            "LIMIT ? OFFSET ?";
+
+    private static final String BOX_QUERY =
+            "SELECT c.cat_id, c.latitude, c.longitude FROM cats c " +
+            "WHERE c.status = 'AVAILABLE' AND c.latitude BETWEEN ? AND ? AND c.longitude BETWEEN ? AND ?";
+
+    // Nearest-cat queries start at this radius and widen it fourfold until they have enough cats
+    private static final double NEAREST_START_RADIUS_KM = 10.0;
+    private static final double HALF_CIRCUMFERENCE_KM = Math.PI * CatLocationIndex.EARTH_RADIUS_KM;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile boolean spatialIndexAvailable = false;
+
+    public CatSpatialRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public boolean isSpatialIndexAvailable() {
+        return spatialIndexAvailable;
+    }
+
+    /**
+     * Adds the generated location column and its SPATIAL index on MySQL if they are missing.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureSpatialIndex() {
+        try {
+            String product = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            if (product == null || !product.toLowerCase().contains("mysql")) {
+                log.info("Database {} has no spatial support configured, using bounding box fallback", product);
+                return;
+            }
+
+            Integer columns = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM information_schema.COLUMNS " +
+                    "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'cats' AND COLUMN_NAME = 'location'",
+                    Integer.class);
+            if (columns == null || columns == 0) {
+                // A SPATIAL index needs a NOT NULL column, so cats without coordinates get a placeholder
+                // point; queries exclude them by their latitude and longitude columns
+                log.info("Adding spatial location column to cats");
+                jdbcTemplate.execute(
+                        "ALTER TABLE cats ADD COLUMN location POINT " +
+                        "AS (POINT(COALESCE(longitude, 0), COALESCE(latitude, 0))) STORED SRID 0 NOT NULL");
+            }
+
+            Integer indexes = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM information_schema.STATISTICS " +
+                    "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'cats' AND INDEX_NAME = 'idx_cats_location'",
+                    Integer.class);
+            if (indexes == null || indexes == 0) {
+                log.info("Creating spatial index on cats.location");
+                jdbcTemplate.execute("CREATE SPATIAL INDEX idx_cats_location ON cats (location)");
+            }
+
+            spatialIndexAvailable = true;
+        } catch (Exception e) {
+            log.warn("Spatial index unavailable, using bounding box fallback", e);
+            spatialIndexAvailable = false;
+        }
+    }
+
+    /**
+     * One page of AVAILABLE cats within radiusKm of the given point, closest first.
+     */
+    public List<CatLocationIndex.Hit> findAvailableWithinRadius(double latitude, double longitude,
+                                                                double radiusKm, int page, int size) {
+        if (radiusKm < 0) {
+            return new ArrayList<>();
+        }
+        double latDelta = Math.toDegrees(radiusKm / CatLocationIndex.EARTH_RADIUS_KM);
+        double minLat = Math.max(-90.0, latitude - latDelta);
+        double maxLat = Math.min(90.0, latitude + latDelta);
+        double[][] lonRanges = longitudeRanges(longitude, latDelta, minLat, maxLat);
+        long offset = (long) page * size;
+
+        if (spatialIndexAvailable) {
+            RowMapper<CatLocationIndex.Hit> hitMapper = (rs, rowNum) ->
+                    new CatLocationIndex.Hit(rs.getLong("cat_id"), rs.getDouble("distance_m") / 1000.0);
+            if (lonRanges.length == 1) {
+                return jdbcTemplate.query(MYSQL_NEAR_QUERY, hitMapper,
+                        longitude, latitude, envelope(lonRanges[0], minLat, maxLat),
+                        radiusKm * 1000.0, size, offset);
+            }
+            return jdbcTemplate.query(MYSQL_SPLIT_NEAR_QUERY, hitMapper,
+                    longitude, latitude, envelope(lonRanges[0], minLat, maxLat),
+                    longitude, latitude, envelope(lonRanges[1], minLat, maxLat),
+                    radiusKm * 1000.0, size, offset);
+        }
+
+        List<CatLocationIndex.Hit> hits = new ArrayList<>();
+        for (double[] lonRange : lonRanges) {
+            jdbcTemplate.query(BOX_QUERY, rs -> {
+                double distance = CatLocationIndex.haversineKm(latitude, longitude,
+                        rs.getDouble("latitude"), rs.getDouble("longitude"));
+                if (distance <= radiusKm) {
+                    hits.add(new CatLocationIndex.Hit(rs.getLong("cat_id"), distance));
+                }
+            }, minLat, maxLat, lonRange[0], lonRange[1]);
+        }
+
+        hits.sort(Comparator.comparingDouble(CatLocationIndex.Hit::distanceKm)
+                .thenComparingLong(CatLocationIndex.Hit::catId));
+        if (offset >= hits.size()) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(hits.subList((int) offset, (int) Math.min(hits.size(), offset + size)));
+    }
+
+    /**
+     * The limit AVAILABLE cats closest to the given point, closest first.
+     * Widens the search radius until it holds limit cats or covers the globe; cats outside
+     * the radius are farther away than any cat inside it, so the first limit found are the closest.
+     */
+    public List<CatLocationIndex.Hit> findAvailableNearest(double latitude, double longitude, int limit) {
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+        double radiusKm = NEAREST_START_RADIUS_KM;
+        while (true) {
+            List<CatLocationIndex.Hit> hits = findAvailableWithinRadius(latitude, longitude, radiusKm, 0, limit);
+            if (hits.size() >= limit || radiusKm >= HALF_CIRCUMFERENCE_KM) {
+                return hits;
+            }
+            radiusKm = Math.min(HALF_CIRCUMFERENCE_KM, radiusKm * 4);
+        }
+    }
+
+    /**
+     * The longitudes within latDelta of the query point as [min, max] ranges within
+     * [-180, 180]: two for a box crossing the antimeridian, split at it, otherwise one.
+     * Boxes reaching a pole cover every longitude.
+     */
+    static double[][] longitudeRanges(double longitude, double latDelta, double minLat, double maxLat) {
+        double widestLat = Math.max(Math.abs(minLat), Math.abs(maxLat));
+        if (widestLat >= 89.9) {
+            return new double[][] {{-180.0, 180.0}};
+        }
+        double lonDelta = latDelta / Math.cos(Math.toRadians(widestLat));
+        if (lonDelta >= 180.0) {
+            return new double[][] {{-180.0, 180.0}};
+        }
+        double minLon = longitude - lonDelta;
+        double maxLon = longitude + lonDelta;
+        if (minLon < -180.0) {
+            return new double[][] {{minLon + 360.0, 180.0}, {-180.0, maxLon}};
+        }
+        if (maxLon > 180.0) {
+            return new double[][] {{minLon, 180.0}, {-180.0, maxLon - 360.0}};
+        }
+        return new double[][] {{minLon, maxLon}};
+    }
+
+    private static String envelope(double[] lonRange, double minLat, double maxLat) {
+        return String.format(Locale.ROOT,
+                "POLYGON((%1$f %3$f, %2$f %3$f, %2$f %4$f, %1$f %4$f, %1$f %3$f))",
+                lonRange[0], lonRange[1], minLat, maxLat);
+    }
+}
@@ -1,8 +1,13 @@
 package io.werescuecats.backend.repository;
 
+import io.werescuecats.backend.dto.GroupedCount;
+import io.werescuecats.backend.dto.UserAuthState;
 import io.werescuecats.backend.entity.User;
 import io.werescuecats.backend.entity.UserRole;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -16,6 +21,21 @@ public interface UserRepository extends JpaRepository<User, Long> {
     List<User> findByRole(UserRole role);
     
     boolean existsByEmail(String email);
+
+    @Query("SELECT u.role FROM User u WHERE u.id = :id")
+    Optional<UserRole> findRoleById(@Param("id") Long id);
+
+    @Query("SELECT new io.werescuecats.backend.dto.UserAuthState(u.id, u.email, u.role, u.enabled) " +
+           "FROM User u WHERE u.id = :id")
+    Optional<UserAuthState> findAuthStateById(@Param("id") Long id);
     
     List<User> findByEnabledTrue();
+
+    // Only the hash, so a rehash on login cannot overwrite a concurrent profile change
+    @Modifying
+    @Query("UPDATE User u SET u.passwordHash = :passwordHash WHERE u.id = :id")
+    int updatePasswordHash(@Param("id") Long id, @Param("passwordHash") String passwordHash);
+
+    @Query("SELECT new io.werescuecats.backend.dto.GroupedCount(u.role, COUNT(u)) FROM User u GROUP BY u.role")
+    List<GroupedCount<UserRole>> countGroupedByRole();
 }
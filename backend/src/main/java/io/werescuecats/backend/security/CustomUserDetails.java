@@ -1,5 +1,6 @@
 package io.werescuecats.backend.security;
 
+import io.werescuecats.backend.dto.UserAuthState;
 import io.werescuecats.backend.entity.User;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -14,6 +15,22 @@ public class CustomUserDetails implements UserDetails {
         this.user = user;
     }
 
+    /**
+     * Principal of a verified token, built without loading the user. The user holds only the id,
+     * email, role and enabled flag from the state and the names from the claims; it is enough
+     * to reference the user from other entities but must not be saved.
+     */
+    public static CustomUserDetails fromClaims(JwtClaims claims, UserAuthState state) {
+        User user = new User();
+        user.setId(state.id());
+        user.setEmail(state.email());
+        user.setRole(state.role());
+        user.setEnabled(state.enabled());
+        user.setFirstName(claims.firstName());
+        user.setLastName(claims.lastName());
+        return new CustomUserDetails(user);
+    }
+
     public User getUser() {
         return user;
     }
@@ -3,13 +3,16 @@ package io.werescuecats.backend.security;
 import io.werescuecats.backend.entity.User;
 import io.werescuecats.backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.*;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+@Slf4j
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
@@ -20,4 +23,18 @@ public class CustomUserDetailsService implements UserDetailsService {
 
         return new CustomUserDetails(user);
     }
+
+    /**
+     * Stores the hash the authentication provider computed after a successful login,
+     * when the stored hash was made with another BCrypt cost.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = ((CustomUserDetails) userDetails).getUser();
+        userRepository.updatePasswordHash(user.getId(), newPassword);
+        user.setPasswordHash(newPassword);
+        log.info("Rehashed password of user ID {} with the configured cost", user.getId());
+        return userDetails;
+    }
 }
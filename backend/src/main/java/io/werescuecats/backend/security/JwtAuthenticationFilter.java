@@ -1,5 +1,6 @@
 package io.werescuecats.backend.security;
 
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -22,6 +23,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
     private final JwtUtils jwtUtils;
     private final CustomUserDetailsService userDetailsService;
+    private final UserStateCache userStateCache;
     
     @Override
     protected void doFilterInternal(HttpServletRequest request, 
@@ -30,22 +32,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         final String authorizationHeader = request.getHeader("Authorization");
         
-        String username = null;
-        String jwt = null;
+        JwtClaims claims = null;
         
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
+            String jwt = authorizationHeader.substring(7);
             try {
-                username = jwtUtils.extractUsername(jwt);
-            } catch (Exception e) {
-                log.error("Cannot extract username from JWT", e);
+                // Signature and expiration are verified in this single parse
+                claims = jwtUtils.verify(jwt);
+            } catch (JwtException | IllegalArgumentException e) {
+                log.warn("Rejected JWT: {}", e.getMessage());
             }
         }
         
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+        if (claims != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UserDetails userDetails = principalOf(claims);
             
-            if (jwtUtils.validateToken(jwt, userDetails)) {
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authToken = 
                     new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities());
@@ -57,4 +59,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    // Tokens issued with a userId claim are resolved from the cached user state; the role comes
+    // from the state so role changes apply to tokens already issued. Null when the user was deleted,
+    // disabled or changed their email since the token was issued.
+    private UserDetails principalOf(JwtClaims claims) {
+        if (claims.userId() == null) {
+            return userDetailsService.loadUserByUsername(claims.username());
+        }
+        return userStateCache.get(claims.userId())
+            .filter(state -> state.enabled() && state.email().equals(claims.username()))
+            .map(state -> CustomUserDetails.fromClaims(claims, state))
+            .orElseGet(() -> {
+                log.warn("Rejected JWT of user {}: no longer active", claims.userId());
+                return null;
+            });
+    }
+}
@@ -0,0 +1,10 @@
+package io.werescuecats.backend.security;
+
+import java.time.Instant;
+
+/**
+ * Claims of a token whose signature and expiration were verified.
+ * The other claims are null for tokens issued without them.
+ */
+public record JwtClaims(String username, Long userId, String role, String firstName, String lastName,
+                        Instant expiresAt) {}
@@ -1,6 +1,8 @@
 package io.werescuecats.backend.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
@@ -25,16 +27,39 @@ public class JwtUtils {
     @Value("${jwt.expiration}")
     private Long expiration;
 
+    // Derived once from the secret; the parser is immutable and shared by all requests
+    private SecretKey signingKey;
+    private JwtParser parser;
+
     @PostConstruct
+    void init() {
+        validateSecret();
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+    }
+
     private void validateSecret() {
         if (secret.length() < 32) {
             throw new IllegalStateException("JWT secret must be at least 256 bits (32 characters)");
         }
     }
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    /**
+     * Verifies the signature and expiration of the token, parsing it once.
+     * @throws JwtException when the token is malformed, forged or expired
+     * @throws IllegalArgumentException when the token is blank
+     */
+    public JwtClaims verify(String token) {
+        Claims claims = extractAllClaims(token);
+        return new JwtClaims(
+                claims.getSubject(),
+                claims.get("userId", Long.class),
+                claims.get("role", String.class),
+                claims.get("firstName", String.class),
+                claims.get("lastName", String.class),
+                claims.getExpiration().toInstant());
     }
 
     public String extractUsername(String token) {
@@ -51,17 +76,11 @@ public class JwtUtils {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
+        return parser
                 .parseSignedClaims(token)
                 .getPayload();
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
     public String generateToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
         return createToken(claims, userDetails.getUsername());
@@ -78,12 +97,12 @@ public class JwtUtils {
                 .subject(subject)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
+    // Expired tokens fail parsing with an ExpiredJwtException
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return verify(token).username().equals(userDetails.getUsername());
     }
 }
\ No newline at end of file
@@ -0,0 +1,279 @@
+package io.werescuecats.backend.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.werescuecats.backend.service.ApiTokenService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets per route policy and client, so a single scraper or credential-stuffing client
+ * cannot saturate the instance. Clients are told apart by user id, API token or remote address,
+ * depending on the policy, and get 429 with Retry-After once their bucket is empty. API tokens
+ * are only looked up for requests their address' bucket admitted.
+ * At most max-buckets buckets are kept: full buckets are dropped first, as they behave like
+ * new ones, and arbitrary ones only when every bucket is in use.
+ * Behind a reverse proxy, server.forward-headers-strategy must be set so the remote address
+ * is the client's.
+ */
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public static final String LIMIT_HEADER = "RateLimit-Limit";
+    public static final String REMAINING_HEADER = "RateLimit-Remaining";
+    public static final String RESET_HEADER = "RateLimit-Reset";
+
+    private static final String API_TOKEN_HEADER = "X-API-Token";
+
+    public enum Key {
+        CLIENT_IP,
+        // Remote address, then valid API tokens as well
+        API_TOKEN,
+        // Authenticated users, other requests by remote address
+        USER
+    }
+
+    /**
+     * Buckets of capacity requests, refilled by one request every refill interval.
+     * @param reportsHeaders whether allowed requests get the RateLimit headers, off for routes
+     *                       that report a quota of their own
+     * @param paths path prefixes the policy applies to, whole segments only
+     */
+    public record Policy(String name, Key key, int capacity, Duration refillInterval, boolean reportsHeaders,
+                         List<String> paths) {
+
+        public Policy {
+            if (capacity < 1 || refillInterval.toMillis() < 1) {
+                throw new IllegalArgumentException("Rate limit policy " + name
+                    + " needs a capacity and a refill interval of at least one millisecond");
+            }
+            paths = List.copyOf(paths);
+        }
+
+        public static Policy perMinute(String name, Key key, int capacity, int requestsPerMinute,
+                                       boolean reportsHeaders, String... paths) {
+            if (requestsPerMinute < 1) {
+                throw new IllegalArgumentException("Rate limit policy " + name + " needs at least one request per minute");
+            }
+            return new Policy(name, key, capacity, Duration.ofMinutes(1).dividedBy(requestsPerMinute),
+                reportsHeaders, List.of(paths));
+        }
+
+        boolean matches(String path) {
+            for (String prefix : paths) {
+                if (path.startsWith(prefix)
+                        && (path.length() == prefix.length() || path.charAt(prefix.length()) == '/')) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private final boolean enabled;
+    private final int maxBuckets;
+    private final List<Policy> policies;
+    private final ApiTokenService apiTokenService;
+    private final Clock clock;
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    private final Map<String, Counter> rejectedCounters = new HashMap<>();
+    private final Counter evictedCounter;
+
+    public RateLimitFilter(boolean enabled, int maxBuckets, List<Policy> policies,
+                           ApiTokenService apiTokenService, MeterRegistry meterRegistry) {
+        this(enabled, maxBuckets, policies, apiTokenService, meterRegistry, Clock.systemUTC());
+    }
+
+    RateLimitFilter(boolean enabled, int maxBuckets, List<Policy> policies,
+                    ApiTokenService apiTokenService, MeterRegistry meterRegistry, Clock clock) {
+        if (maxBuckets < 1) {
+            throw new IllegalArgumentException("Rate limiting needs room for at least one bucket");
+        }
+        this.enabled = enabled;
+        this.maxBuckets = maxBuckets;
+        this.policies = List.copyOf(policies);
+        this.apiTokenService = apiTokenService;
+        this.clock = clock;
+
+        for (Policy policy : this.policies) {
+            rejectedCounters.put(policy.name(), meterRegistry.counter("ratelimit.rejected", "policy", policy.name()));
+        }
+        Gauge.builder("ratelimit.buckets", buckets, Map::size)
+            .description("Clients with a rate limit bucket")
+            .register(meterRegistry);
+        this.evictedCounter = meterRegistry.counter("ratelimit.buckets.evicted");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Policy policy = policyOf(request.getRequestURI().substring(request.getContextPath().length()));
+        if (policy == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long now = clock.millis();
+        String key = policy.name() + ':' + clientOf(policy, request);
+        TokenBucket.Decision decision = take(policy, key, now);
+        if (decision.allowed() && policy.key() == Key.API_TOKEN) {
+            // Looked up only once the address is admitted, so made-up tokens reach the database no faster
+            // than the address' limit. Valid tokens are limited on their own across addresses as well.
+            String token = request.getHeader(API_TOKEN_HEADER);
+            if (token != null && apiTokenService.isValidToken(token)) {
+                key = policy.name() + ":token:" + token;
+                decision = take(policy, key, now);
+            }
+        }
+
+        if (!decision.allowed()) {
+            rejectedCounters.get(policy.name()).increment();
+            log.debug("Rate limited {} on {}", key, request.getRequestURI());
+            setHeaders(response, policy, decision);
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(seconds(decision.retryAfterMillis())));
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            return;
+        }
+        if (policy.reportsHeaders()) {
+            setHeaders(response, policy, decision);
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    int bucketCount() {
+        return buckets.size();
+    }
+
+    private Policy policyOf(String path) {
+        for (Policy policy : policies) {
+            if (policy.matches(path)) {
+                return policy;
+            }
+        }
+        return null;
+    }
+
+    // Runs after the JWT filter, so authenticated users are known
+    private String clientOf(Policy policy, HttpServletRequest request) {
+        if (policy.key() == Key.USER) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.getPrincipal() instanceof CustomUserDetails details) {
+                return "user:" + details.getUser().getId();
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private TokenBucket.Decision take(Policy policy, String key, long now) {
+        return bucketOf(key, now).tryTake(now, policy.capacity(), policy.refillInterval().toMillis());
+    }
+
+    private TokenBucket bucketOf(String key, long now) {
+        TokenBucket bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxBuckets) {
+            evict(now);
+        }
+        return buckets.computeIfAbsent(key, k -> new TokenBucket(now));
+    }
+
+    // One thread evicts at a time, requests racing it may briefly add a few buckets beyond the bound.
+    // A request that took its bucket just before it was dropped is not charged to the next one.
+    private void evict(long now) {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            buckets.values().removeIf(bucket -> bucket.isFull(now));
+            if (buckets.size() >= maxBuckets) {
+                // Leave a tenth of the room free so the next eviction does not follow right away
+                int excess = buckets.size() - (maxBuckets - maxBuckets / 10 - 1);
+                Iterator<TokenBucket> iterator = buckets.values().iterator();
+                for (int i = 0; i < excess && iterator.hasNext(); i++) {
+                    iterator.next();
+                    iterator.remove();
+                }
+                evictedCounter.increment(excess);
+                log.warn("All {} rate limit buckets in use, dropped {} of them", maxBuckets, excess);
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private static void setHeaders(HttpServletResponse response, Policy policy, TokenBucket.Decision decision) {
+        response.setHeader(LIMIT_HEADER, String.valueOf(policy.capacity()));
+        response.setHeader(REMAINING_HEADER, String.valueOf(decision.remaining()));
+        response.setHeader(RESET_HEADER, String.valueOf(seconds(decision.resetMillis())));
+    }
+
+    private static long seconds(long millis) {
+        return Math.max(1, (millis + 999) / 1000);
+    }
+
+    /**
+     * Bucket kept as the single time at which it is full again, so taking a request is one
+     * compare-and-set: every request moves that time one refill interval further, up to
+     * capacity intervals ahead of now.
+     */
+    static final class TokenBucket {
+
+        record Decision(boolean allowed, int remaining, long resetMillis, long retryAfterMillis) {}
+
+        private final AtomicLong fullAt;
+
+        TokenBucket(long now) {
+            this.fullAt = new AtomicLong(now);
+        }
+
+        Decision tryTake(long now, int capacity, long refillMillis) {
+            long window = capacity * refillMillis;
+            while (true) {
+                long full = fullAt.get();
+                long next = Math.max(full, now) + refillMillis;
+                long untilFull = next - now;
+                if (untilFull > window) {
+                    return new Decision(false, 0, full - now, untilFull - window);
+                }
+                if (fullAt.compareAndSet(full, next)) {
+                    return new Decision(true, (int) ((window - untilFull) / refillMillis), untilFull, 0);
+                }
+            }
+        }
+
+        boolean isFull(long now) {
+            return fullAt.get() <= now;
+        }
+    }
+}
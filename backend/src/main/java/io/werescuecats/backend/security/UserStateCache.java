@@ -0,0 +1,115 @@
+package io.werescuecats.backend.security;
+
+import io.werescuecats.backend.dto.UserAuthState;
+import io.werescuecats.backend.event.UserChangedEvent;
+import io.werescuecats.backend.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Email, role and enabled flag per user id, so authenticated requests are not a user query each.
+ * Entries are dropped when UserService changes or deletes the user and expire after the TTL,
+ * which bounds how long changes made around UserService, or on another instance, go unnoticed.
+ * At most max-users entries are kept, least recently used ones are dropped first.
+ */
+@Component
+@Slf4j
+public class UserStateCache {
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate readTransaction;
+    private final Clock clock;
+    private final int maxUsers;
+    private final Duration ttl;
+
+    // Guarded by itself, in access order for LRU eviction
+    private final Map<Long, Entry> entries;
+    // Guarded by entries, bumped by every invalidation so a load that raced one is not cached
+    private long invalidations;
+
+    // state is null for users that do not exist
+    private record Entry(UserAuthState state, Instant expiresAt) {}
+
+    @Autowired
+    public UserStateCache(UserRepository userRepository,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${security.user-state.cache.max-users:10000}") int maxUsers,
+                          @Value("${security.user-state.cache.ttl:5m}") Duration ttl) {
+        this(userRepository, transactionManager, Clock.systemUTC(), maxUsers, ttl);
+    }
+
+    UserStateCache(UserRepository userRepository,
+                   PlatformTransactionManager transactionManager,
+                   Clock clock,
+                   int maxUsers,
+                   Duration ttl) {
+        if (maxUsers < 1) {
+            throw new IllegalArgumentException("User state cache needs room for at least one user");
+        }
+        this.userRepository = userRepository;
+        // Own transaction so only committed changes are cached
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+        this.clock = clock;
+        this.maxUsers = maxUsers;
+        this.ttl = ttl;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > UserStateCache.this.maxUsers;
+            }
+        };
+    }
+
+    /**
+     * State of the user, loaded on a miss. Empty when the user does not exist.
+     */
+    public Optional<UserAuthState> get(Long userId) {
+        Instant now = clock.instant();
+        long invalidationsBefore;
+        synchronized (entries) {
+            Entry entry = entries.get(userId);
+            if (entry != null && now.isBefore(entry.expiresAt())) {
+                return Optional.ofNullable(entry.state());
+            }
+            invalidationsBefore = invalidations;
+        }
+        UserAuthState state = readTransaction.execute(status -> userRepository.findAuthStateById(userId))
+            .orElse(null);
+        synchronized (entries) {
+            if (invalidations == invalidationsBefore) {
+                entries.put(userId, new Entry(state, now.plus(ttl)));
+            }
+        }
+        return Optional.ofNullable(state);
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        synchronized (entries) {
+            invalidations++;
+            entries.remove(event.userId());
+        }
+        log.debug("Dropped cached state of user {}", event.userId());
+    }
+}
@@ -1,25 +1,45 @@
 package io.werescuecats.backend.service;
 
+import io.werescuecats.backend.dto.AdoptionFeedCursor;
+import io.werescuecats.backend.dto.AdoptionStatsDto;
+import io.werescuecats.backend.dto.AdoptionTransitionResult;
+import io.werescuecats.backend.dto.AdoptionView;
 import io.werescuecats.backend.dto.AnonymousAdoptionData;
+import io.werescuecats.backend.dto.AnonymousAdoptionRow;
+import io.werescuecats.backend.dto.UserAdoptionStatusCount;
 import io.werescuecats.backend.entity.Adoption;
 import io.werescuecats.backend.entity.AdoptionStatus;
 import io.werescuecats.backend.entity.Cat;
 import io.werescuecats.backend.entity.CatStatus;
 import io.werescuecats.backend.entity.User;
+import io.werescuecats.backend.event.AdoptionStatusChangedEvent;
 import io.werescuecats.backend.exception.CatNotAvailableException;
 import io.werescuecats.backend.exception.ResourceNotFoundException;
 import io.werescuecats.backend.repository.AdoptionRepository;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Slf4j
@@ -29,38 +49,43 @@ public class AdoptionService {
     private final AdoptionRepository adoptionRepository;
     private final CatService catService;
     private final UserService userService;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public AdoptionService(AdoptionRepository adoptionRepository, CatService catService, UserService userService){
+    public AdoptionService(AdoptionRepository adoptionRepository, CatService catService, UserService userService,
+                           ApplicationEventPublisher eventPublisher){
         this.adoptionRepository = adoptionRepository;
         this.catService = catService;
         this.userService = userService;
+        this.eventPublisher = eventPublisher;
     }
     
+    /**
+     * Reserves the cat with one conditional update before anything else touches it,
+     * so of concurrent requests for the same cat exactly one gets the adoption.
+     */
     @Transactional
     public Adoption createAdoption(@NotNull Long userId, @NotNull Long catId, String notes) {
         Optional<User> userOpt = userService.getUserById(userId);
-        Optional<Cat> catOpt = catService.getCatById(catId);
-        
         if (userOpt.isEmpty()) {
             throw new ResourceNotFoundException("User not found with id: " + userId);
         }
-        if (catOpt.isEmpty()) {
-            throw new ResourceNotFoundException("Cat not found with id: " + catId);
-        }
-        
-        Cat cat = catOpt.get();
-        if (!cat.isAvailable()) {
+
+        if (!catService.reserveCat(catId)) {
+            Cat cat = catService.getCatById(catId)
+                .orElseThrow(() -> new ResourceNotFoundException("Cat not found with id: " + catId));
             throw new CatNotAvailableException("Cat is not available for adoption: " + cat.getName());
         }
-        
+        Cat cat = catService.getCatById(catId)
+            .orElseThrow(() -> new ResourceNotFoundException("Cat not found with id: " + catId));
+
         Adoption adoption = new Adoption(userOpt.get(), cat, notes);
 
-        catService.updateCatStatus(catId, CatStatus.PENDING);
-        
         log.info("Creating adoption request for user {} and cat {}", 
                 userOpt.get().getEmail(), cat.getName());
         
-        return adoptionRepository.save(adoption);
+        Adoption saved = adoptionRepository.save(adoption);
+        eventPublisher.publishEvent(new AdoptionStatusChangedEvent(List.of(saved.getId()), null, saved.getStatus()));
+        return saved;
     }
     
     @PreAuthorize("hasRole('ADMIN')")
@@ -105,6 +130,51 @@ public class AdoptionService {
         );
     }
     
+    // Batch transitions: one read, one adoption UPDATE and one cat UPDATE per batch, with a result per id
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @Transactional
+    public List<AdoptionTransitionResult> approveAdoptions(@NotEmpty List<Long> adoptionIds, @NotNull User admin) {
+        return batchTransitionAdoptionStatus(
+            adoptionIds,
+            AdoptionStatus.PENDING,
+            AdoptionStatus.APPROVED,
+            admin,
+            null,
+            CatStatus.PENDING,
+            false
+        );
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @Transactional
+    public List<AdoptionTransitionResult> completeAdoptions(@NotEmpty List<Long> adoptionIds, @NotNull User admin) {
+        return batchTransitionAdoptionStatus(
+            adoptionIds,
+            AdoptionStatus.APPROVED,
+            AdoptionStatus.COMPLETED,
+            admin,
+            null,
+            CatStatus.ADOPTED,
+            true
+        );
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @Transactional
+    public List<AdoptionTransitionResult> rejectAdoptions(@NotEmpty List<Long> adoptionIds, @NotNull User admin,
+                                                          @NotBlank String reason) {
+        return batchTransitionAdoptionStatus(
+            adoptionIds,
+            AdoptionStatus.PENDING,
+            AdoptionStatus.REJECTED,
+            admin,
+            reason,
+            CatStatus.AVAILABLE,
+            false
+        );
+    }
+
     @Transactional(readOnly = true)
     @PreAuthorize("hasRole('ADMIN')")
     public List<Adoption> getPendingAdoptions() {
@@ -122,6 +192,25 @@ public class AdoptionService {
         return adoptionRepository.findAll();
     }
     
+    // Read-only listings mapped straight from the query, for endpoints that only render the adoptions
+
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasRole('ADMIN')")
+    public List<AdoptionView> getPendingAdoptionViews() {
+        return adoptionRepository.findViewsByStatus(AdoptionStatus.PENDING);
+    }
+
+    @Transactional(readOnly = true)
+    public List<AdoptionView> getAdoptionViewsByUser(@NotNull Long userId) {
+        return adoptionRepository.findViewsByUserId(userId);
+    }
+
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasRole('ADMIN')")
+    public List<AdoptionView> getAllAdoptionViews() {
+        return adoptionRepository.findAllViews();
+    }
+    
     @Transactional(readOnly = true)
     @PreAuthorize("hasRole('ADMIN')")
     public Optional<Adoption> getAdoptionById(@NotNull Long id) {
@@ -133,33 +222,140 @@ public class AdoptionService {
         return adoptionRepository.countCompletedAdoptionsByUser(userId);
     }
 
-    public List<AnonymousAdoptionData> getAnonymousAdoptionData() {
-        List<Adoption> completedAdoptions = adoptionRepository.findAll().stream()
-            .filter(adoption -> adoption.getStatus() == AdoptionStatus.COMPLETED)
-            .collect(Collectors.toList());
-        
-        return completedAdoptions.stream()
-            .map(adoption -> {
-                return AnonymousAdoptionData.builder()
-                    .adoptionDate(adoption.getAdoptionDate())
-                    .catBreed(adoption.getCat().getBreed() != null ? 
-                             adoption.getCat().getBreed().getName() : "Unknown")
-                    .catAge(adoption.getCat().getAge())
-                    .locationRegion(extractRegion(adoption.getUser().getStreetAddress()))
-                    .status(adoption.getStatus().name())
-                    .tenantId(adoption.getTenantId())
-                    .build();
-            })
-            .collect(Collectors.toList());
-    }
-
-private String extractRegion(String address) {
-    if (address == null || address.trim().isEmpty()) {
-        return "Unknown";
-    }
-    String[] parts = address.split(",");
-    return parts.length > 0 ? parts[parts.length - 1].trim() : "Unknown";
-}
+    /**
+     * Application counts of one user from a single grouped count, whatever the size of their history.
+     */
+    @Transactional(readOnly = true)
+    public AdoptionStatsDto getUserAdoptionStats(@NotNull Long userId) {
+        AdoptionStatsDto stats = emptyStats(userId);
+        adoptionRepository.countByUserGroupedByStatus(userId).forEach(count -> addCount(stats, count));
+        return stats;
+    }
+
+    /**
+     * Application counts of many users with one grouped count, in the order of the ids.
+     * Users without adoptions get zero counts.
+     */
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasRole('ADMIN')")
+    public List<AdoptionStatsDto> getAdoptionStatsForUsers(@NotEmpty Collection<Long> userIds) {
+        Map<Long, AdoptionStatsDto> statsByUser = new LinkedHashMap<>();
+        for (Long userId : userIds) {
+            statsByUser.computeIfAbsent(userId, this::emptyStats);
+        }
+        for (UserAdoptionStatusCount count : adoptionRepository.countByUsersGroupedByStatus(statsByUser.keySet())) {
+            addCount(statsByUser.get(count.userId()), count);
+        }
+        return List.copyOf(statsByUser.values());
+    }
+
+    private AdoptionStatsDto emptyStats(Long userId) {
+        AdoptionStatsDto stats = new AdoptionStatsDto();
+        stats.setUserId(userId);
+        return stats;
+    }
+
+    private void addCount(AdoptionStatsDto stats, UserAdoptionStatusCount count) {
+        int adoptions = count.adoptions().intValue();
+        stats.setTotalApplications(stats.getTotalApplications() + adoptions);
+        if (count.status() == AdoptionStatus.COMPLETED) {
+            stats.setCompletedAdoptions(adoptions);
+        } else if (count.status() == AdoptionStatus.PENDING) {
+            stats.setPendingApplications(adoptions);
+        }
+    }
+
+    /**
+     * Newest position of the completed adoptions feed at or before the given time,
+     * START while no adoption with a completion date is that old.
+     */
+    @Transactional(readOnly = true)
+    public AdoptionFeedCursor anonymousFeedHead(@NotNull LocalDateTime upTo) {
+        return adoptionRepository
+            .findFirstByStatusAndCompletedDateLessThanEqualOrderByCompletedDateDescIdDesc(AdoptionStatus.COMPLETED, upTo)
+            .map(adoption -> new AdoptionFeedCursor(adoption.getCompletedDate(), adoption.getId()))
+            .orElse(AdoptionFeedCursor.START);
+    }
+
+    /**
+     * Hands completed adoptions, stripped of personal data, to the consumer while the rows
+     * are read from the database, so exports run in constant memory whatever the table size.
+     * Without a since position every completed adoption up to upTo is exported, otherwise
+     * only the ones completed after since, in feed order. A region narrows either to that region.
+     */
+    @Transactional(readOnly = true)
+    public void streamAnonymousAdoptionData(AdoptionFeedCursor since, @NotNull AdoptionFeedCursor upTo, String region,
+                                            Consumer<AnonymousAdoptionData> consumer) {
+        try (Stream<AnonymousAdoptionRow> rows = since == null
+                 ? adoptionRepository.streamAnonymousRowsUpTo(
+                     AdoptionStatus.COMPLETED, region, upTo.completedDate(), upTo.afterId())
+                 : adoptionRepository.streamAnonymousRowsBetween(AdoptionStatus.COMPLETED, region,
+                     since.completedDate(), since.afterId(), upTo.completedDate(), upTo.afterId())) {
+            rows.map(AnonymousAdoptionData::of).forEach(consumer);
+        }
+    }
+
+    private List<AdoptionTransitionResult> batchTransitionAdoptionStatus(
+        List<Long> adoptionIds,
+        AdoptionStatus expectedCurrentStatus,
+        AdoptionStatus newStatus,
+        User admin,
+        String adminNotes,
+        CatStatus newCatStatus,
+        boolean setCompletedDate) {
+        Set<Long> requestedIds = new LinkedHashSet<>(adoptionIds);
+        Map<Long, AdoptionView> adoptionsById = adoptionRepository.findViewsByIdIn(requestedIds).stream()
+            .collect(Collectors.toMap(AdoptionView::id, Function.identity()));
+
+        // Validate every transition in memory before touching any row
+        List<AdoptionTransitionResult> results = new ArrayList<>(requestedIds.size());
+        List<Long> validIds = new ArrayList<>();
+        Set<Long> catIds = new LinkedHashSet<>();
+        for (Long adoptionId : requestedIds) {
+            AdoptionView adoption = adoptionsById.get(adoptionId);
+            if (adoption == null) {
+                results.add(AdoptionTransitionResult.rejected(adoptionId, null,
+                    "Adoption not found with id: " + adoptionId));
+            } else if (adoption.status() != expectedCurrentStatus) {
+                results.add(AdoptionTransitionResult.rejected(adoptionId, adoption.status(),
+                    "Adoption must be " + expectedCurrentStatus + " to be transitioned to " + newStatus));
+            } else {
+                results.add(AdoptionTransitionResult.applied(adoptionId, newStatus));
+                validIds.add(adoptionId);
+                catIds.add(adoption.catId());
+            }
+        }
+        if (validIds.isEmpty()) {
+            return results;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        int updated = adoptionRepository.transitionStatus(
+            validIds,
+            expectedCurrentStatus,
+            newStatus,
+            admin,
+            now,
+            newStatus == AdoptionStatus.APPROVED ? now : null,
+            setCompletedDate ? now : null,
+            adminNotes
+        );
+        if (updated != validIds.size()) {
+            // Another request moved some of these adoptions after they were read, roll the whole batch back
+            throw new OptimisticLockingFailureException(
+                "Adoptions changed while the batch was processed, " + updated + " of " + validIds.size() + " still matched");
+        }
+
+        if (newCatStatus != null) {
+            catService.updateCatStatuses(catIds, newCatStatus);
+        }
+        eventPublisher.publishEvent(new AdoptionStatusChangedEvent(List.copyOf(validIds), expectedCurrentStatus, newStatus));
+
+        log.info("Changed {} adoptions to status {} by admin {}, {} skipped",
+            updated, newStatus, admin.getEmail(), requestedIds.size() - updated);
+        return results;
+    }
+
     private Adoption transitionAdoptionStatus(
         Long adoptionId,
         AdoptionStatus expectedCurrentStatus,
@@ -195,6 +391,8 @@ private String extractRegion(String address) {
         }
 
         log.info("Changed adoption {} to status {} by admin {}", adoptionId, newStatus, admin.getEmail());
-        return adoptionRepository.save(adoption);
+        Adoption saved = adoptionRepository.save(adoption);
+        eventPublisher.publishEvent(new AdoptionStatusChangedEvent(List.of(adoptionId), expectedCurrentStatus, newStatus));
+        return saved;
     }
 }
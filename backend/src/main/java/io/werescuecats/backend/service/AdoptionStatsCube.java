@@ -0,0 +1,363 @@
+package io.werescuecats.backend.service;
+
+import io.werescuecats.backend.dto.AdoptionAggregateResult;
+import io.werescuecats.backend.dto.AnonymousAdoptionData;
+import io.werescuecats.backend.dto.AnonymousAdoptionRow;
+import io.werescuecats.backend.entity.AdoptionStatus;
+import io.werescuecats.backend.event.AdoptionStatusChangedEvent;
+import io.werescuecats.backend.repository.AdoptionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * In-memory OLAP cube of completed adoptions over the anonymous export dimensions.
+ * Every subset of the dimensions has its own precomputed cuboid, so a query only scans
+ * the distinct value combinations of the dimensions it groups or filters by, never rows.
+ * Loaded on the first query and kept current from committed completions.
+ * <p>
+ * Cells below the minimum cell size are suppressed, and so are complementary cells, until no
+ * sum in the cube (a cell and its cells along one more dimension) has exactly one suppressed
+ * term. Otherwise a suppressed count would follow by subtracting the visible cells from their
+ * total, or from a filtered marginal. The suppression is computed once per change of the counts
+ * and applies to every query, so separate queries cannot be combined to undo it.
+ */
+@Component
+@Slf4j
+public class AdoptionStatsCube {
+
+    public enum Dimension {
+        BREED("breed"),
+        AGE_BAND("ageBand"),
+        REGION("region"),
+        MONTH("month");
+
+        private final String parameter;
+
+        Dimension(String parameter) {
+            this.parameter = parameter;
+        }
+
+        public String parameter() {
+            return parameter;
+        }
+
+        /**
+         * @throws IllegalArgumentException for unknown dimension names
+         */
+        public static Dimension fromParameter(String parameter) {
+            for (Dimension dimension : values()) {
+                if (dimension.parameter.equalsIgnoreCase(parameter)) {
+                    return dimension;
+                }
+            }
+            throw new IllegalArgumentException("Unknown dimension: " + parameter);
+        }
+    }
+
+    private static final Dimension[] DIMENSIONS = Dimension.values();
+    private static final String UNKNOWN = "Unknown";
+
+    private final AdoptionRepository adoptionRepository;
+    private final TransactionTemplate readTransaction;
+    private final int minCellSize;
+
+    private final Object writeLock = new Object();
+    // Guarded by writeLock, so a completion seen by the load and by its event is counted once
+    private final Set<Long> countedIds = new HashSet<>();
+    // Indexed by the bit mask of the dimension ordinals; null until the first query
+    private volatile List<Map<List<String>, LongAdder>> cuboids;
+    // Counts and suppressed cells served to queries; null until the next query after a change
+    private volatile Release release;
+
+    private record Release(List<Map<List<String>, Long>> counts, List<Set<List<String>>> suppressed) {}
+
+    public AdoptionStatsCube(AdoptionRepository adoptionRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${health-data.stats.min-cell-size:5}") int minCellSize) {
+        this.adoptionRepository = adoptionRepository;
+        // Own transaction so the cube only ever counts committed completions
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+        this.minCellSize = minCellSize;
+    }
+
+    /**
+     * Counts completed adoptions per combination of the groupBy dimensions, restricted to the
+     * filter values. Groups smaller than the configured minimum cell size are suppressed, along
+     * with the groups that would let them be derived.
+     */
+    public AdoptionAggregateResult query(Set<Dimension> groupBy, Map<Dimension, String> filters) {
+        Set<Dimension> groupSet = EnumSet.noneOf(Dimension.class);
+        groupSet.addAll(groupBy);
+        List<Dimension> grouped = List.copyOf(groupSet);
+        Set<Dimension> scanned = EnumSet.copyOf(groupSet);
+        scanned.addAll(filters.keySet());
+        List<Dimension> scannedOrder = List.copyOf(scanned);
+
+        // Sorted by group values for a stable response order
+        Release current = release();
+        Set<List<String>> suppressedCells = current.suppressed().get(mask(scanned));
+        Map<List<String>, Long> totals = new TreeMap<>(AdoptionStatsCube::compareKeys);
+        Set<List<String>> suppressedGroups = new HashSet<>();
+        for (Map.Entry<List<String>, Long> cell : current.counts().get(mask(scanned)).entrySet()) {
+            List<String> key = cell.getKey();
+            if (matches(key, scannedOrder, filters)) {
+                List<String> group = new ArrayList<>(grouped.size());
+                for (Dimension dimension : grouped) {
+                    group.add(key.get(scannedOrder.indexOf(dimension)));
+                }
+                totals.merge(group, cell.getValue(), Long::sum);
+                if (suppressedCells.contains(key)) {
+                    suppressedGroups.add(group);
+                }
+            }
+        }
+
+        List<AdoptionAggregateResult.Cell> cells = new ArrayList<>();
+        int suppressed = 0;
+        for (Map.Entry<List<String>, Long> total : totals.entrySet()) {
+            if (suppressedGroups.contains(total.getKey())) {
+                suppressed++;
+                continue;
+            }
+            Map<String, String> group = new LinkedHashMap<>();
+            for (int i = 0; i < grouped.size(); i++) {
+                group.put(grouped.get(i).parameter(), total.getKey().get(i));
+            }
+            cells.add(new AdoptionAggregateResult.Cell(group, total.getValue()));
+        }
+        return new AdoptionAggregateResult(
+            grouped.stream().map(Dimension::parameter).toList(), cells, suppressed, minCellSize);
+    }
+
+    /**
+     * Drops the cube so the next query reloads it, for changes that bypass AdoptionService.
+     */
+    public void invalidate() {
+        synchronized (writeLock) {
+            cuboids = null;
+            release = null;
+            countedIds.clear();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAdoptionStatusChanged(AdoptionStatusChangedEvent event) {
+        if (event.to() != AdoptionStatus.COMPLETED || event.adoptionIds().isEmpty()) {
+            return;
+        }
+        synchronized (writeLock) {
+            List<Map<List<String>, LongAdder>> current = cuboids;
+            if (current == null) {
+                // Not loaded yet, the first query counts the committed completions
+                return;
+            }
+            List<AnonymousAdoptionRow> rows = readTransaction.execute(status ->
+                adoptionRepository.findAnonymousRowsByIdIn(event.adoptionIds(), AdoptionStatus.COMPLETED));
+            for (AnonymousAdoptionRow row : rows) {
+                count(current, row);
+            }
+        }
+    }
+
+    static String ageBand(Integer age) {
+        if (age == null) {
+            return UNKNOWN;
+        }
+        if (age < 2) {
+            return "0-1";
+        }
+        if (age < 5) {
+            return "2-4";
+        }
+        return age < 10 ? "5-9" : "10+";
+    }
+
+    private Release release() {
+        Release current = release;
+        if (current != null) {
+            return current;
+        }
+        synchronized (writeLock) {
+            if (release == null) {
+                release = protect(cuboids());
+            }
+            return release;
+        }
+    }
+
+    // Caller holds writeLock, so the counts do not change while they are copied
+    private Release protect(List<Map<List<String>, LongAdder>> cube) {
+        List<Map<List<String>, Long>> counts = new ArrayList<>(cube.size());
+        List<Set<List<String>>> suppressed = new ArrayList<>(cube.size());
+        for (Map<List<String>, LongAdder> cuboid : cube) {
+            Map<List<String>, Long> frozen = new HashMap<>();
+            Set<List<String>> small = new HashSet<>();
+            cuboid.forEach((key, adder) -> {
+                long count = adder.sum();
+                frozen.put(key, count);
+                if (count < minCellSize) {
+                    small.add(key);
+                }
+            });
+            counts.add(frozen);
+            suppressed.add(small);
+        }
+
+        // Every cell suppressed here may leave another sum with a single suppressed term
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int mask = 0; mask < cube.size(); mask++) {
+                for (Dimension dimension : DIMENSIONS) {
+                    if ((mask & 1 << dimension.ordinal()) == 0) {
+                        changed |= protectSums(counts, suppressed, mask, dimension);
+                    }
+                }
+            }
+        }
+        return new Release(counts, suppressed);
+    }
+
+    // Adds a second suppressed term to every total of the mask's cuboid that has exactly one among
+    // itself and its parts along the dimension: the smallest visible part, or the total itself
+    private static boolean protectSums(List<Map<List<String>, Long>> counts, List<Set<List<String>>> suppressed,
+                                       int mask, Dimension dimension) {
+        int partMask = mask | 1 << dimension.ordinal();
+        int position = Integer.bitCount(mask & ((1 << dimension.ordinal()) - 1));
+        Map<List<String>, Long> partCounts = counts.get(partMask);
+        Map<List<String>, List<List<String>>> partsByTotal = new HashMap<>();
+        for (List<String> part : partCounts.keySet()) {
+            List<String> total = new ArrayList<>(part);
+            total.remove(position);
+            partsByTotal.computeIfAbsent(total, key -> new ArrayList<>()).add(part);
+        }
+
+        Set<List<String>> suppressedTotals = suppressed.get(mask);
+        Set<List<String>> suppressedParts = suppressed.get(partMask);
+        boolean changed = false;
+        for (Map.Entry<List<String>, List<List<String>>> sum : partsByTotal.entrySet()) {
+            int suppressedTerms = suppressedTotals.contains(sum.getKey()) ? 1 : 0;
+            List<String> smallestVisible = null;
+            for (List<String> part : sum.getValue()) {
+                if (suppressedParts.contains(part)) {
+                    suppressedTerms++;
+                } else if (smallestVisible == null || isSmaller(partCounts, part, smallestVisible)) {
+                    smallestVisible = part;
+                }
+            }
+            if (suppressedTerms == 1) {
+                if (smallestVisible != null) {
+                    suppressedParts.add(smallestVisible);
+                } else {
+                    suppressedTotals.add(sum.getKey());
+                }
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    private static boolean isSmaller(Map<List<String>, Long> counts, List<String> left, List<String> right) {
+        int byCount = Long.compare(counts.get(left), counts.get(right));
+        return byCount != 0 ? byCount < 0 : compareKeys(left, right) < 0;
+    }
+
+    private List<Map<List<String>, LongAdder>> cuboids() {
+        List<Map<List<String>, LongAdder>> current = cuboids;
+        return current != null ? current : load();
+    }
+
+    private List<Map<List<String>, LongAdder>> load() {
+        synchronized (writeLock) {
+            if (cuboids == null) {
+                List<Map<List<String>, LongAdder>> fresh = new ArrayList<>(1 << DIMENSIONS.length);
+                for (int mask = 0; mask < 1 << DIMENSIONS.length; mask++) {
+                    fresh.add(new ConcurrentHashMap<>());
+                }
+                countedIds.clear();
+                readTransaction.executeWithoutResult(status -> {
+                    try (Stream<AnonymousAdoptionRow> rows =
+                             adoptionRepository.streamAnonymousRowsByStatus(AdoptionStatus.COMPLETED)) {
+                        rows.forEach(row -> count(fresh, row));
+                    }
+                });
+                cuboids = fresh;
+                log.info("Adoption statistics cube loaded with {} completed adoptions in {} cells",
+                    countedIds.size(), fresh.get(mask(EnumSet.allOf(Dimension.class))).size());
+            }
+            return cuboids;
+        }
+    }
+
+    // Caller holds writeLock
+    private void count(List<Map<List<String>, LongAdder>> target, AnonymousAdoptionRow row) {
+        if (!countedIds.add(row.adoptionId())) {
+            return;
+        }
+        release = null;
+        String[] values = values(AnonymousAdoptionData.of(row));
+        for (int mask = 0; mask < target.size(); mask++) {
+            List<String> key = new ArrayList<>(Integer.bitCount(mask));
+            for (Dimension dimension : DIMENSIONS) {
+                if ((mask & 1 << dimension.ordinal()) != 0) {
+                    key.add(values[dimension.ordinal()]);
+                }
+            }
+            target.get(mask).computeIfAbsent(List.copyOf(key), k -> new LongAdder()).increment();
+        }
+    }
+
+    private static String[] values(AnonymousAdoptionData data) {
+        String[] values = new String[DIMENSIONS.length];
+        values[Dimension.BREED.ordinal()] = data.getCatBreed();
+        values[Dimension.AGE_BAND.ordinal()] = ageBand(data.getCatAge());
+        values[Dimension.REGION.ordinal()] = data.getLocationRegion();
+        values[Dimension.MONTH.ordinal()] = data.getAdoptionDate() != null
+            ? YearMonth.from(data.getAdoptionDate()).toString() : UNKNOWN;
+        return values;
+    }
+
+    private static int mask(Collection<Dimension> dimensions) {
+        int mask = 0;
+        for (Dimension dimension : dimensions) {
+            mask |= 1 << dimension.ordinal();
+        }
+        return mask;
+    }
+
+    private static boolean matches(List<String> key, List<Dimension> order, Map<Dimension, String> filters) {
+        for (Map.Entry<Dimension, String> filter : filters.entrySet()) {
+            if (!key.get(order.indexOf(filter.getKey())).equalsIgnoreCase(filter.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int compareKeys(List<String> left, List<String> right) {
+        return Arrays.compare(left.toArray(new String[0]), right.toArray(new String[0]));
+    }
+}
@@ -0,0 +1,241 @@
+package io.werescuecats.backend.service;
+
+import io.werescuecats.backend.dto.AdoptionTimeSeriesPoint;
+import io.werescuecats.backend.dto.AdoptionTimeline;
+import io.werescuecats.backend.event.AdoptionStatusChangedEvent;
+import io.werescuecats.backend.repository.AdoptionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Daily rollup of adoption applications, approvals and completions, with histograms of the
+ * time from application to approval and to completion. Weeks are merged from their days on
+ * read. Backfilled from the whole adoption history once, after startup or on the first query,
+ * and kept current from committed transitions.
+ */
+@Component
+@Slf4j
+public class AdoptionTimeSeries {
+
+    public enum Interval {
+        DAY(ChronoUnit.DAYS),
+        WEEK(ChronoUnit.WEEKS);
+
+        private final ChronoUnit unit;
+
+        Interval(ChronoUnit unit) {
+            this.unit = unit;
+        }
+
+        /**
+         * @throws IllegalArgumentException for unknown intervals
+         */
+        public static Interval fromParameter(String parameter) {
+            for (Interval interval : values()) {
+                if (interval.name().equalsIgnoreCase(parameter)) {
+                    return interval;
+                }
+            }
+            throw new IllegalArgumentException("Unknown interval: " + parameter);
+        }
+
+        // Weeks start on Monday
+        LocalDate startOf(LocalDate date) {
+            return this == WEEK ? date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)) : date;
+        }
+    }
+
+    private static final double[] PERCENTILES = {50, 90, 99};
+    private static final double MINUTES_PER_HOUR = 60.0;
+
+    private final AdoptionRepository adoptionRepository;
+    private final TransactionTemplate readTransaction;
+    private final boolean backfillOnStartup;
+
+    private final Object writeLock = new Object();
+    // Guarded by writeLock: adoption ids whose application, approval and completion are counted,
+    // so a change seen by the backfill and by its event is counted once
+    private final BitSet countedApplications = new BitSet();
+    private final BitSet countedApprovals = new BitSet();
+    private final BitSet countedCompletions = new BitSet();
+    private final ConcurrentSkipListMap<LocalDate, Day> days = new ConcurrentSkipListMap<>();
+    private volatile boolean loaded;
+
+    private static final class Day {
+        final LongAdder applications = new LongAdder();
+        final LongAdder approvals = new LongAdder();
+        final LongAdder completions = new LongAdder();
+        final DurationHistogram timeToApprove = new DurationHistogram();
+        final DurationHistogram timeToComplete = new DurationHistogram();
+    }
+
+    public AdoptionTimeSeries(AdoptionRepository adoptionRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${dashboard.timeseries.backfill-on-startup:true}") boolean backfillOnStartup) {
+        this.adoptionRepository = adoptionRepository;
+        // Own transaction so only committed transitions are counted
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+        this.backfillOnStartup = backfillOnStartup;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!backfillOnStartup) {
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                backfill();
+            } catch (RuntimeException e) {
+                log.error("Adoption time series backfill failed, the first query retries it", e);
+            }
+        }, "timeseries-backfill");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * One point per day or week from the bucket holding from to the one holding to,
+     * including buckets without activity.
+     */
+    public List<AdoptionTimeSeriesPoint> query(Interval interval, LocalDate from, LocalDate to) {
+        if (!loaded) {
+            backfill();
+        }
+        List<AdoptionTimeSeriesPoint> points = new ArrayList<>();
+        for (LocalDate start = interval.startOf(from); !start.isAfter(to); start = start.plus(1, interval.unit)) {
+            LocalDate end = start.plus(1, interval.unit);
+            long applications = 0;
+            long approvals = 0;
+            long completions = 0;
+            DurationHistogram timeToApprove = new DurationHistogram();
+            DurationHistogram timeToComplete = new DurationHistogram();
+            for (Day day : days.subMap(start, end).values()) {
+                applications += day.applications.sum();
+                approvals += day.approvals.sum();
+                completions += day.completions.sum();
+                timeToApprove.merge(day.timeToApprove);
+                timeToComplete.merge(day.timeToComplete);
+            }
+            points.add(new AdoptionTimeSeriesPoint(start, applications, approvals, completions,
+                summarize(timeToApprove), summarize(timeToComplete)));
+        }
+        return points;
+    }
+
+    /**
+     * Counts the whole adoption history, unless that already happened.
+     */
+    public void backfill() {
+        synchronized (writeLock) {
+            if (loaded) {
+                return;
+            }
+            long started = System.nanoTime();
+            LongAdder adoptions = new LongAdder();
+            readTransaction.executeWithoutResult(status -> {
+                try (Stream<AdoptionTimeline> timelines = adoptionRepository.streamTimelines()) {
+                    timelines.forEach(timeline -> {
+                        count(timeline);
+                        adoptions.increment();
+                    });
+                }
+            });
+            loaded = true;
+            log.info("Adoption time series backfilled from {} adoptions in {} ms",
+                adoptions.sum(), (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+
+    /**
+     * Drops all buckets so the next query backfills again, for changes that bypass AdoptionService.
+     */
+    public void invalidate() {
+        synchronized (writeLock) {
+            loaded = false;
+            days.clear();
+            countedApplications.clear();
+            countedApprovals.clear();
+            countedCompletions.clear();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAdoptionStatusChanged(AdoptionStatusChangedEvent event) {
+        if (event.adoptionIds().isEmpty()) {
+            return;
+        }
+        synchronized (writeLock) {
+            if (!loaded) {
+                // The backfill counts the committed change
+                return;
+            }
+            List<AdoptionTimeline> timelines = readTransaction.execute(status ->
+                adoptionRepository.findTimelinesByIdIn(event.adoptionIds()));
+            timelines.forEach(this::count);
+        }
+    }
+
+    // Caller holds writeLock
+    private void count(AdoptionTimeline timeline) {
+        int id = Math.toIntExact(timeline.adoptionId());
+        LocalDateTime applied = timeline.adoptionDate();
+        if (applied == null) {
+            return;
+        }
+        if (!countedApplications.get(id)) {
+            countedApplications.set(id);
+            day(applied).applications.increment();
+        }
+        if (timeline.approvedDate() != null && !countedApprovals.get(id)) {
+            countedApprovals.set(id);
+            Day day = day(timeline.approvedDate());
+            day.approvals.increment();
+            day.timeToApprove.record(Duration.between(applied, timeline.approvedDate()));
+        }
+        if (timeline.completedDate() != null && !countedCompletions.get(id)) {
+            countedCompletions.set(id);
+            Day day = day(timeline.completedDate());
+            day.completions.increment();
+            day.timeToComplete.record(Duration.between(applied, timeline.completedDate()));
+        }
+    }
+
+    private Day day(LocalDateTime time) {
+        return days.computeIfAbsent(time.toLocalDate(), date -> new Day());
+    }
+
+    private static AdoptionTimeSeriesPoint.DurationSummary summarize(DurationHistogram histogram) {
+        long count = histogram.count();
+        if (count == 0) {
+            return new AdoptionTimeSeriesPoint.DurationSummary(0, null, null, null);
+        }
+        Double[] hours = new Double[PERCENTILES.length];
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            hours[i] = histogram.percentileMinutes(PERCENTILES[i]) / MINUTES_PER_HOUR;
+        }
+        return new AdoptionTimeSeriesPoint.DurationSummary(count, hours[0], hours[1], hours[2]);
+    }
+}
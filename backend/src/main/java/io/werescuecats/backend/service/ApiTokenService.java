@@ -1,35 +1,152 @@
 package io.werescuecats.backend.service;
 
+import io.werescuecats.backend.dto.ApiTokenQuota;
 import io.werescuecats.backend.entity.ApiToken;
 import io.werescuecats.backend.repository.ApiTokenRepository;
 import jakarta.annotation.PostConstruct;
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Validates health data API tokens and enforces their daily request limit in memory.
+ * Tokens are cached for the cache TTL, so deactivating one takes effect within that time, and
+ * unknown or inactive tokens for the shorter unknown TTL, so made-up tokens are not a query each.
+ * Requests are counted per token and UTC day without locks; the counts are written to
+ * request_count and last_used_at in one JDBC batch every flush interval and on shutdown, and the
+ * stored counts of all tokens are reset after midnight UTC. A restart resumes from the stored
+ * counts. After a crash the requests since the last flush are lost, so a token may exceed its
+ * limit by up to one flush interval of requests that day.
+ * last_used_at is local time, like everywhere else in the schema.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class ApiTokenService {
 
     private final ApiTokenRepository apiTokenRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final Clock clock;
+    private final Duration cacheTtl;
+    private final Duration unknownTokenTtl;
+    private final int maxUnknownTokens;
+    private final Duration flushInterval;
 
-    public boolean isValidToken(String token) {
-        if (token == null || token.trim().isEmpty()) {
-            return false;
+    private final Map<String, CachedToken> tokens = new ConcurrentHashMap<>();
+    // Tokens that do not exist or are inactive, until when they are not looked up again.
+    // Clients choose these, so at most max-unknown of them are kept.
+    private final Map<String, Instant> unknownTokens = new ConcurrentHashMap<>();
+    private final Map<String, Usage> usage = new ConcurrentHashMap<>();
+    // Guarded by this: the day the stored counts belong to
+    private LocalDate storedDay;
+
+    private ScheduledExecutorService flusher;
+
+    private record CachedToken(ApiToken token, Instant cachedUntil) {}
+
+    // Requests of one token on one day; the day changes under the usage's lock, once a day
+    private static final class Usage {
+        volatile LocalDate day;
+        final AtomicInteger count = new AtomicInteger();
+        final AtomicBoolean dirty = new AtomicBoolean();
+        volatile Instant lastUsedAt;
+
+        Usage(LocalDate day, int count, Instant lastUsedAt) {
+            this.day = day;
+            this.count.set(count);
+            this.lastUsedAt = lastUsedAt;
         }
+    }
+
+    @Autowired
+    public ApiTokenService(ApiTokenRepository apiTokenRepository,
+                           JdbcTemplate jdbcTemplate,
+                           @Value("${health-data.tokens.cache-ttl:30s}") Duration cacheTtl,
+                           @Value("${health-data.tokens.unknown-ttl:5s}") Duration unknownTokenTtl,
+                           @Value("${health-data.tokens.max-unknown:10000}") int maxUnknownTokens,
+                           @Value("${health-data.tokens.flush-interval:10s}") Duration flushInterval) {
+        this(apiTokenRepository, jdbcTemplate, Clock.systemDefaultZone(), cacheTtl, unknownTokenTtl, maxUnknownTokens,
+            flushInterval);
+    }
 
-        Optional<ApiToken> apiToken = apiTokenRepository.findByTokenAndActiveTrue(token);
-        return apiToken.isPresent() && apiToken.get().isValid();
+    ApiTokenService(ApiTokenRepository apiTokenRepository,
+                    JdbcTemplate jdbcTemplate,
+                    Clock clock,
+                    Duration cacheTtl,
+                    Duration unknownTokenTtl,
+                    int maxUnknownTokens,
+                    Duration flushInterval) {
+        this.apiTokenRepository = apiTokenRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.clock = clock;
+        this.cacheTtl = cacheTtl;
+        this.unknownTokenTtl = unknownTokenTtl;
+        this.maxUnknownTokens = maxUnknownTokens;
+        this.flushInterval = flushInterval;
+        this.storedDay = today();
+    }
+
+    public boolean isValidToken(String token) {
+        return lookup(token).isPresent();
+    }
+
+    /**
+     * Charges one request to the token, unless its daily limit is used up.
+     */
+    public ApiTokenQuota tryAcquire(String token) {
+        Optional<ApiToken> apiToken = lookup(token);
+        if (apiToken.isEmpty()) {
+            return ApiTokenQuota.invalid();
+        }
+        int limit = apiToken.get().getDailyRequestLimit();
+        LocalDate today = today();
+        Instant resetAt = today.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+        Usage tokenUsage = usage.computeIfAbsent(token, key -> storedUsage(apiToken.get(), today));
+        if (!today.equals(tokenUsage.day)) {
+            synchronized (tokenUsage) {
+                if (!today.equals(tokenUsage.day)) {
+                    tokenUsage.count.set(0);
+                    tokenUsage.day = today;
+                }
+            }
+        }
+        int before = tokenUsage.count.getAndUpdate(count -> count < limit ? count + 1 : count);
+        if (before >= limit) {
+            return new ApiTokenQuota(ApiTokenQuota.Status.EXHAUSTED, limit, 0, resetAt);
+        }
+        tokenUsage.lastUsedAt = clock.instant();
+        tokenUsage.dirty.set(true);
+        return new ApiTokenQuota(ApiTokenQuota.Status.ALLOWED, limit, limit - before - 1, resetAt);
     }
 
     public ApiToken generateToken(String organizationName) {
         String token = "health_" + UUID.randomUUID().toString().replace("-", "");
         ApiToken apiToken = new ApiToken(token, organizationName);
+        unknownTokens.remove(token);
         return apiTokenRepository.save(apiToken);
     }
 
@@ -41,4 +158,115 @@ public class ApiTokenService {
             generateToken("Test Health Institution");
         }
     }
-}
\ No newline at end of file
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (flushInterval.isZero() || flushInterval.isNegative()) {
+            return;
+        }
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "api-token-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = flushInterval.toMillis();
+        flusher.scheduleWithFixedDelay(() -> {
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                log.warn("Flushing API token usage failed, retrying next interval", e);
+            }
+        }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (flusher != null) {
+            flusher.shutdownNow();
+        }
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Flushing API token usage on shutdown failed, requests since the last flush are not counted", e);
+        }
+    }
+
+    /**
+     * Resets the stored counts once a new day has started, then writes the counts of all tokens
+     * used since the last flush in one batch.
+     * @return the number of tokens written
+     */
+    synchronized int flush() {
+        LocalDate today = today();
+        if (!today.equals(storedDay)) {
+            int reset = jdbcTemplate.update("UPDATE api_tokens SET request_count = 0");
+            log.info("Reset the daily request counts of {} API tokens", reset);
+            storedDay = today;
+        }
+        List<Object[]> rows = new ArrayList<>();
+        usage.forEach((token, tokenUsage) -> {
+            if (tokenUsage.dirty.getAndSet(false)) {
+                // A count of a previous day is already covered by the reset
+                int count = today.equals(tokenUsage.day) ? tokenUsage.count.get() : 0;
+                rows.add(new Object[] {
+                    count, Timestamp.valueOf(LocalDateTime.ofInstant(tokenUsage.lastUsedAt, clock.getZone())), token });
+            }
+        });
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE api_tokens SET request_count = ?, last_used_at = ? WHERE token = ?", rows);
+            log.debug("Flushed the usage of {} API tokens", rows.size());
+        }
+        return rows.size();
+    }
+
+    private Optional<ApiToken> lookup(String token) {
+        if (token == null || token.trim().isEmpty()) {
+            return Optional.empty();
+        }
+        Instant now = clock.instant();
+        CachedToken cached = tokens.get(token);
+        if (cached == null || !now.isBefore(cached.cachedUntil())) {
+            Instant unknownUntil = unknownTokens.get(token);
+            if (unknownUntil != null && now.isBefore(unknownUntil)) {
+                return Optional.empty();
+            }
+            Optional<ApiToken> stored = apiTokenRepository.findByTokenAndActiveTrue(token);
+            if (stored.isEmpty()) {
+                tokens.remove(token);
+                rememberUnknown(token, now);
+                return Optional.empty();
+            }
+            unknownTokens.remove(token);
+            cached = new CachedToken(stored.get(), now.plus(cacheTtl));
+            tokens.put(token, cached);
+        }
+        return cached.token().isValid() ? Optional.of(cached.token()) : Optional.empty();
+    }
+
+    // Expired entries are dropped once the map is full; if all are current, the token is not remembered
+    private void rememberUnknown(String token, Instant now) {
+        if (unknownTokenTtl.isZero() || unknownTokenTtl.isNegative()) {
+            return;
+        }
+        if (unknownTokens.size() >= maxUnknownTokens) {
+            unknownTokens.values().removeIf(until -> !now.isBefore(until));
+            if (unknownTokens.size() >= maxUnknownTokens) {
+                return;
+            }
+        }
+        unknownTokens.put(token, now.plus(unknownTokenTtl));
+    }
+
+    // Resumes from the stored count when it was last written today, in UTC
+    private Usage storedUsage(ApiToken apiToken, LocalDate today) {
+        Instant lastUsedAt = apiToken.getLastUsedAt() != null
+            ? apiToken.getLastUsedAt().atZone(clock.getZone()).toInstant()
+            : null;
+        boolean usedToday = lastUsedAt != null && LocalDate.ofInstant(lastUsedAt, ZoneOffset.UTC).equals(today);
+        return new Usage(today, usedToday ? apiToken.getRequestCount() : 0, lastUsedAt);
+    }
+
+    private LocalDate today() {
+        return LocalDate.ofInstant(clock.instant(), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,122 @@
+package io.werescuecats.backend.service;
+
+import io.werescuecats.backend.dto.CatDto;
+import io.werescuecats.backend.entity.CatStatus;
+import io.werescuecats.backend.event.CatChangedEvent;
+import io.werescuecats.backend.event.CatsBulkChangedEvent;
+import io.werescuecats.backend.repository.CatRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Copy-on-write snapshot of all AVAILABLE cats, ordered by id.
+ * Readers get an immutable view without taking a lock. Committed cat changes
+ * are applied one cat at a time and each publishes a new view with a higher version.
+ * The DTOs in a view are shared between readers and must not be modified.
+ */
+@Component
+@Slf4j
+public class AvailableCatsSnapshot {
+
+    /**
+     * One published state of the snapshot.
+     * Versions start at the load time in millis, so a restarted instance does not reuse them,
+     * and only ever increase within one instance.
+     */
+    public record View(long version, List<CatDto> cats, Instant lastModified) {
+
+        public String eTag() {
+            return "W/\"" + version + "\"";
+        }
+    }
+
+    private final CatRepository catRepository;
+    private final TransactionTemplate readTransaction;
+
+    private final Object writeLock = new Object();
+    // Guarded by writeLock, never handed out
+    private final TreeMap<Long, CatDto> catsById = new TreeMap<>();
+    private long lastVersion = 0;
+    // Null until the first read
+    private volatile View view;
+
+    public AvailableCatsSnapshot(CatRepository catRepository, PlatformTransactionManager transactionManager) {
+        this.catRepository = catRepository;
+        // Own transaction so the snapshot only ever sees committed rows
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    public View current() {
+        View current = view;
+        return current != null ? current : load();
+    }
+
+    /**
+     * Drops the snapshot so the next read reloads it, for changes that bypass CatRepository.save.
+     */
+    public void invalidate() {
+        synchronized (writeLock) {
+            view = null;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatChanged(CatChangedEvent event) {
+        if (event.catId() == null) {
+            return;
+        }
+        synchronized (writeLock) {
+            if (view == null) {
+                // Not loaded yet, the first read picks up the committed change
+                return;
+            }
+            Optional<CatDto> cat = readTransaction.execute(status -> catRepository.findDtoById(event.catId()))
+                .filter(dto -> dto.getStatus() == CatStatus.AVAILABLE);
+            CatDto previous = cat.isPresent()
+                ? catsById.put(event.catId(), cat.get())
+                : catsById.remove(event.catId());
+            if (cat.isEmpty() && previous == null) {
+                return;
+            }
+            publish(lastVersion + 1);
+        }
+    }
+
+    // Reloading once is cheaper than re-reading every cat of a large set-based update
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatsBulkChanged(CatsBulkChangedEvent event) {
+        invalidate();
+    }
+
+    private View load() {
+        synchronized (writeLock) {
+            if (view == null) {
+                List<CatDto> cats = readTransaction.execute(status ->
+                    catRepository.findDtosByStatus(CatStatus.AVAILABLE));
+                catsById.clear();
+                for (CatDto cat : cats) {
+                    catsById.put(cat.getId(), cat);
+                }
+                publish(Math.max(System.currentTimeMillis(), lastVersion + 1));
+                log.info("Available cats snapshot loaded with {} cats", catsById.size());
+            }
+            return view;
+        }
+    }
+
+    private void publish(long version) {
+        lastVersion = version;
+        view = new View(version, List.copyOf(catsById.values()), Instant.now());
+    }
+}
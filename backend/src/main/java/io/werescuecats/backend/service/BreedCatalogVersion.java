@@ -0,0 +1,36 @@
+package io.werescuecats.backend.service;
+
+import io.werescuecats.backend.event.BreedChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+
+/**
+ * In-memory version of the breed catalog, bumped after every committed breed change.
+ * Lets the breed endpoints answer conditional requests without querying the database.
+ */
+@Component
+public class BreedCatalogVersion {
+
+    /**
+     * Versions start at the startup time in millis, so a restarted instance does not reuse them.
+     */
+    public record State(long version, Instant lastModified) {
+
+        public String eTag() {
+            return "W/\"" + version + "\"";
+        }
+    }
+
+    private volatile State state = new State(System.currentTimeMillis(), Instant.now());
+
+    public State current() {
+        return state;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onBreedChanged(BreedChangedEvent event) {
+        state = new State(state.version() + 1, Instant.now());
+    }
+}
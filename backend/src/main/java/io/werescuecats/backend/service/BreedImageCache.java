@@ -0,0 +1,221 @@
+package io.werescuecats.backend.service;
+
+import io.werescuecats.backend.entity.Breed;
+import io.werescuecats.backend.event.BreedChangedEvent;
+import io.werescuecats.backend.repository.BreedRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool of candidate image URLs per breed, so new cats get an image without a TheCatAPI call.
+ * Pools are seeded with the image stored on each breed and topped up in the background,
+ * a few breeds per tick. Pools expire after the TTL and are refreshed ahead of that.
+ * At most max-breeds pools are kept, least recently used ones are dropped first.
+ */
+@Component
+@Slf4j
+public class BreedImageCache {
+
+    private final CatImageClient catImageClient;
+    private final BreedRepository breedRepository;
+    private final TransactionTemplate readTransaction;
+    private final Clock clock;
+    private final int maxBreeds;
+    private final int poolSize;
+    private final Duration ttl;
+    private final Duration refreshInterval;
+    private final int refreshBatch;
+
+    // Guarded by itself, in access order for LRU eviction
+    private final Map<String, Pool> pools;
+
+    private ScheduledExecutorService refresher;
+
+    // fetched is false while the pool only holds the image stored on the breed
+    private record Pool(List<String> imageUrls, Instant expiresAt, boolean fetched, AtomicInteger next) {}
+
+    @Autowired
+    public BreedImageCache(CatImageClient catImageClient,
+                           BreedRepository breedRepository,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${cats.images.cache.max-breeds:200}") int maxBreeds,
+                           @Value("${cats.images.cache.pool-size:5}") int poolSize,
+                           @Value("${cats.images.cache.ttl:6h}") Duration ttl,
+                           @Value("${cats.images.cache.refresh-interval:1m}") Duration refreshInterval,
+                           @Value("${cats.images.cache.refresh-batch:5}") int refreshBatch) {
+        this(catImageClient, breedRepository, transactionManager, Clock.systemUTC(),
+            maxBreeds, poolSize, ttl, refreshInterval, refreshBatch);
+    }
+
+    BreedImageCache(CatImageClient catImageClient,
+                    BreedRepository breedRepository,
+                    PlatformTransactionManager transactionManager,
+                    Clock clock,
+                    int maxBreeds,
+                    int poolSize,
+                    Duration ttl,
+                    Duration refreshInterval,
+                    int refreshBatch) {
+        if (maxBreeds < 1 || poolSize < 1 || poolSize > CatImageEnrichmentService.MAX_IMAGES_PER_LOOKUP) {
+            throw new IllegalArgumentException("Breed image cache needs at least one breed and 1 to "
+                + CatImageEnrichmentService.MAX_IMAGES_PER_LOOKUP + " images per breed");
+        }
+        this.catImageClient = catImageClient;
+        this.breedRepository = breedRepository;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+        this.clock = clock;
+        this.maxBreeds = maxBreeds;
+        this.poolSize = poolSize;
+        this.ttl = ttl;
+        this.refreshInterval = refreshInterval;
+        this.refreshBatch = refreshBatch;
+        this.pools = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Pool> eldest) {
+                return size() > BreedImageCache.this.maxBreeds;
+            }
+        };
+    }
+
+    /**
+     * Next image of the breed's pool, rotating through the pool on every call.
+     * Empty when the breed has no pool or its pool has expired.
+     */
+    public Optional<String> nextImageUrl(String breedId) {
+        Pool pool;
+        synchronized (pools) {
+            pool = pools.get(breedId);
+        }
+        if (pool == null || !clock.instant().isBefore(pool.expiresAt())) {
+            return Optional.empty();
+        }
+        int index = Math.floorMod(pool.next().getAndIncrement(), pool.imageUrls().size());
+        return Optional.of(pool.imageUrls().get(index));
+    }
+
+    /**
+     * Adds images fetched from TheCatAPI to the breed's pool and restarts its TTL.
+     */
+    public void offer(String breedId, List<String> imageUrls) {
+        put(breedId, imageUrls, true);
+    }
+
+    public int size() {
+        synchronized (pools) {
+            return pools.size();
+        }
+    }
+
+    /**
+     * Seeds the pools from the breed table and starts the background refresh.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        List<Breed> breeds = readTransaction.execute(status -> breedRepository.findAll());
+        for (Breed breed : breeds) {
+            seed(breed);
+        }
+        log.info("Breed image cache seeded with {} breeds", size());
+
+        if (!refreshInterval.isZero() && !refreshInterval.isNegative()) {
+            refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "breed-image-refresh");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long intervalMillis = refreshInterval.toMillis();
+            refresher.scheduleWithFixedDelay(this::refreshDue, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+
+    // A changed breed may carry a new image, start its pool over from the stored one
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBreedChanged(BreedChangedEvent event) {
+        synchronized (pools) {
+            pools.remove(event.breedId());
+        }
+        readTransaction.execute(status -> breedRepository.findById(event.breedId()))
+            .ifPresent(this::seed);
+    }
+
+    /**
+     * Tops up the pools closest to expiry, at most refresh-batch breeds per call.
+     * Pools never fetched from TheCatAPI or within the last fifth of their TTL are due.
+     */
+    void refreshDue() {
+        Instant refreshAfter = clock.instant().plus(ttl.dividedBy(5));
+        List<String> due = new ArrayList<>();
+        synchronized (pools) {
+            pools.entrySet().stream()
+                .filter(entry -> !entry.getValue().fetched()
+                    || entry.getValue().expiresAt().isBefore(refreshAfter))
+                .sorted(Comparator.comparing(entry -> entry.getValue().expiresAt()))
+                .limit(refreshBatch)
+                .forEach(entry -> due.add(entry.getKey()));
+        }
+        for (String breedId : due) {
+            try {
+                offer(breedId, catImageClient.fetchImageUrls(breedId, poolSize));
+            } catch (RuntimeException e) {
+                // The pool keeps serving until it expires, the next tick tries again
+                log.warn("Refreshing images of breed {} failed", breedId);
+            }
+        }
+    }
+
+    private void seed(Breed breed) {
+        if (breed.getImageUrl() != null) {
+            put(breed.getId(), List.of(breed.getImageUrl()), false);
+        }
+    }
+
+    private void put(String breedId, List<String> imageUrls, boolean fetched) {
+        if (breedId == null || imageUrls == null || imageUrls.isEmpty()) {
+            return;
+        }
+        synchronized (pools) {
+            Set<String> merged = new LinkedHashSet<>(imageUrls);
+            Pool existing = pools.get(breedId);
+            if (existing != null && clock.instant().isBefore(existing.expiresAt())) {
+                merged.addAll(existing.imageUrls());
+                fetched |= existing.fetched();
+            }
+            List<String> kept = merged.stream().limit(poolSize).toList();
+            pools.put(breedId, new Pool(kept, clock.instant().plus(ttl), fetched, new AtomicInteger()));
+        }
+    }
+}
@@ -32,6 +32,8 @@ public class BreedService {
     private final CatApiConfig config;
     
     private final BreedRepository breedRepository;
+
+    private final BreedCatalogVersion breedCatalogVersion;
     
     /**
      * Fetch all breeds from TheCatAPI and sync with local database
@@ -95,6 +97,10 @@ public class BreedService {
         breed.setImageUrl(apiBreed.getImageUrl());
     }
     
+    public BreedCatalogVersion.State getCatalogVersion() {
+        return breedCatalogVersion.current();
+    }
+    
     public List<Breed> getAllBreeds() {
         return breedRepository.findAll();
     }
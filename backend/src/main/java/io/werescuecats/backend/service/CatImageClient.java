@@ -0,0 +1,71 @@
+package io.werescuecats.backend.service;
+
+import io.werescuecats.backend.config.CatApiConfig;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Image lookups against TheCatAPI.
+ */
+@Component
+@Slf4j
+@AllArgsConstructor
+public class CatImageClient {
+
+    private final RestTemplate restTemplate;
+
+    private final CatApiConfig config;
+
+    /**
+     * Up to limit image URLs for the breed, empty when TheCatAPI has none.
+     * @throws RuntimeException when the API call fails
+     */
+    public List<String> fetchImageUrls(String breedId, int limit) {
+        log.info("Fetching {} image URLs for breed: {}", limit, breedId);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("x-api-key", config.getApiKey());
+        headers.set("User-Agent", "WeRescueCats/1.0");
+        HttpEntity<?> entity = new HttpEntity<>(headers);
+
+        try {
+            String url = config.getBaseUrl() + "/images/search?limit=" + limit + "&breed_ids=" + breedId;
+
+            ResponseEntity<Map[]> response = restTemplate.exchange(
+                    url,
+                    HttpMethod.GET,
+                    entity,
+                    Map[].class);
+
+            List<String> imageUrls = new ArrayList<>();
+            Map[] images = response.getBody();
+            if (images != null) {
+                for (Map image : images) {
+                    Object imageUrl = image.get("url");
+                    if (imageUrl instanceof String value && imageUrls.size() < limit) {
+                        imageUrls.add(value);
+                    }
+                }
+            }
+
+            if (imageUrls.isEmpty()) {
+                log.warn("No images found for breed: {}", breedId);
+            }
+            return imageUrls;
+
+        } catch (Exception e) {
+            log.error("Failed to fetch image URLs for breed: {}", breedId, e);
+            throw new RuntimeException("API call failed", e);
+        }
+    }
+}
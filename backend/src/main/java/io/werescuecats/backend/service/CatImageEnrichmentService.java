@@ -0,0 +1,313 @@
+package io.werescuecats.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.werescuecats.backend.entity.Cat;
+import io.werescuecats.backend.event.CatImageRequestedEvent;
+import io.werescuecats.backend.repository.CatRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background queue that fills in image URLs of newly saved cats.
+ * Pending cats are grouped by breed, so one TheCatAPI lookup serves every
+ * queued cat of that breed and a breed is never looked up by two workers at once.
+ * Failed lookups are retried with exponential backoff. The queue is bounded;
+ * cats that do not fit keep their missing image.
+ */
+@Service
+@Slf4j
+public class CatImageEnrichmentService {
+
+    // TheCatAPI returns at most this many images per search without a paid plan
+    static final int MAX_IMAGES_PER_LOOKUP = 10;
+
+    private final CatImageClient catImageClient;
+    private final CatRepository catRepository;
+    private final BreedImageCache breedImageCache;
+    private final TransactionTemplate transactionTemplate;
+    private final int capacity;
+    private final int workers;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+
+    private final Object lock = new Object();
+    // Guarded by lock, in arrival order of the first cat of each breed
+    private final Map<String, PendingBreed> pendingByBreed = new LinkedHashMap<>();
+    private final Set<String> inFlight = new HashSet<>();
+    private int pendingCats = 0;
+    private boolean running = false;
+
+    private ExecutorService executor;
+
+    private final Timer lookupTimer;
+    private final Counter enrichedCounter;
+    private final Counter retryCounter;
+    private final Counter failedCounter;
+    private final Counter droppedCounter;
+
+    public CatImageEnrichmentService(CatImageClient catImageClient,
+                                     CatRepository catRepository,
+                                     BreedImageCache breedImageCache,
+                                     PlatformTransactionManager transactionManager,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${cats.images.queue-capacity:1000}") int capacity,
+                                     @Value("${cats.images.workers:2}") int workers,
+                                     @Value("${cats.images.max-attempts:3}") int maxAttempts,
+                                     @Value("${cats.images.retry-backoff:2s}") Duration retryBackoff) {
+        this.catImageClient = catImageClient;
+        this.catRepository = catRepository;
+        this.breedImageCache = breedImageCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.capacity = capacity;
+        this.workers = workers;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+
+        Gauge.builder("cats.images.queue.depth", this, CatImageEnrichmentService::queueDepth)
+            .description("Cats waiting for an image URL")
+            .register(meterRegistry);
+        this.lookupTimer = Timer.builder("cats.images.lookup")
+            .description("TheCatAPI image lookup latency")
+            .register(meterRegistry);
+        this.enrichedCounter = meterRegistry.counter("cats.images.enriched");
+        this.retryCounter = meterRegistry.counter("cats.images.retries");
+        this.failedCounter = meterRegistry.counter("cats.images.failed");
+        this.droppedCounter = meterRegistry.counter("cats.images.dropped");
+    }
+
+    private static final class PendingBreed {
+        final Set<Long> catIds = new LinkedHashSet<>();
+        int attempt = 1;
+        long notBeforeNanos = 0;
+    }
+
+    record Batch(String breedId, List<Long> catIds, int attempt) {}
+
+    /**
+     * Starts the workers; with zero workers the queue only fills up.
+     */
+    @PostConstruct
+    public void start() {
+        if (workers < 1) {
+            log.warn("Image enrichment has no workers, queued cats will not get images");
+            return;
+        }
+        synchronized (lock) {
+            running = true;
+        }
+        executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "cat-image-enrichment");
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < workers; i++) {
+            executor.submit(this::workLoop);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        synchronized (lock) {
+            running = false;
+            lock.notifyAll();
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatImageRequested(CatImageRequestedEvent event) {
+        if (event.catId() != null && event.breedId() != null) {
+            enqueue(event.catId(), event.breedId());
+        }
+    }
+
+    /**
+     * Queues the cat for an image lookup.
+     * @return false when the queue is full
+     */
+    public boolean enqueue(long catId, String breedId) {
+        synchronized (lock) {
+            PendingBreed pending = pendingByBreed.get(breedId);
+            if (pending != null && pending.catIds.contains(catId)) {
+                return true;
+            }
+            if (pendingCats >= capacity) {
+                droppedCounter.increment();
+                log.warn("Image enrichment queue full, cat {} keeps no image", catId);
+                return false;
+            }
+            pendingByBreed.computeIfAbsent(breedId, key -> new PendingBreed()).catIds.add(catId);
+            pendingCats++;
+            lock.notifyAll();
+            return true;
+        }
+    }
+
+    public int queueDepth() {
+        synchronized (lock) {
+            return pendingCats;
+        }
+    }
+
+    private void workLoop() {
+        try {
+            Batch batch;
+            while ((batch = take()) != null) {
+                process(batch);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Processes the next due batch if there is one, without waiting.
+     * @return false when nothing was due
+     */
+    boolean processNext() {
+        Batch batch;
+        synchronized (lock) {
+            batch = pollDue(System.nanoTime());
+        }
+        if (batch == null) {
+            return false;
+        }
+        process(batch);
+        return true;
+    }
+
+    // Blocks until a batch is due, null once stopped
+    private Batch take() throws InterruptedException {
+        synchronized (lock) {
+            while (running) {
+                long now = System.nanoTime();
+                Batch batch = pollDue(now);
+                if (batch != null) {
+                    return batch;
+                }
+                long waitNanos = nextDueInNanos(now);
+                if (waitNanos == Long.MAX_VALUE) {
+                    lock.wait();
+                } else {
+                    TimeUnit.NANOSECONDS.timedWait(lock, Math.max(1, waitNanos));
+                }
+            }
+            return null;
+        }
+    }
+
+    // Caller holds lock
+    private Batch pollDue(long now) {
+        Iterator<Map.Entry<String, PendingBreed>> entries = pendingByBreed.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<String, PendingBreed> entry = entries.next();
+            PendingBreed pending = entry.getValue();
+            if (inFlight.contains(entry.getKey()) || pending.notBeforeNanos - now > 0) {
+                continue;
+            }
+            entries.remove();
+            inFlight.add(entry.getKey());
+            pendingCats -= pending.catIds.size();
+            return new Batch(entry.getKey(), List.copyOf(pending.catIds), pending.attempt);
+        }
+        return null;
+    }
+
+    // Caller holds lock
+    private long nextDueInNanos(long now) {
+        long next = Long.MAX_VALUE;
+        for (Map.Entry<String, PendingBreed> entry : pendingByBreed.entrySet()) {
+            if (!inFlight.contains(entry.getKey())) {
+                next = Math.min(next, entry.getValue().notBeforeNanos - now);
+            }
+        }
+        return next;
+    }
+
+    private void process(Batch batch) {
+        try {
+            int limit = Math.min(batch.catIds().size(), MAX_IMAGES_PER_LOOKUP);
+            List<String> imageUrls = lookupTimer.recordCallable(
+                () -> catImageClient.fetchImageUrls(batch.breedId(), limit));
+            if (imageUrls != null && !imageUrls.isEmpty()) {
+                assignImages(batch.catIds(), imageUrls);
+                breedImageCache.offer(batch.breedId(), imageUrls);
+            }
+            finish(batch.breedId());
+        } catch (Exception e) {
+            retryOrGiveUp(batch, e);
+        }
+    }
+
+    // Spreads the images over the cats, leaving cats that got an image meanwhile alone
+    private void assignImages(List<Long> catIds, List<String> imageUrls) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Cat> cats = new ArrayList<>();
+            int next = 0;
+            for (Cat cat : catRepository.findAllById(catIds)) {
+                if (cat.getImageUrl() == null) {
+                    cat.setImageUrl(imageUrls.get(next++ % imageUrls.size()));
+                    cats.add(cat);
+                }
+            }
+            catRepository.saveAll(cats);
+            enrichedCounter.increment(cats.size());
+        });
+    }
+
+    private void retryOrGiveUp(Batch batch, Exception e) {
+        synchronized (lock) {
+            inFlight.remove(batch.breedId());
+            if (batch.attempt() >= maxAttempts) {
+                failedCounter.increment(batch.catIds().size());
+                log.error("Giving up image lookup for breed {} after {} attempts", batch.breedId(), batch.attempt(), e);
+                lock.notifyAll();
+                return;
+            }
+            retryCounter.increment();
+            log.warn("Image lookup for breed {} failed (attempt {}), retrying", batch.breedId(), batch.attempt());
+            // Cats queued for the breed meanwhile ride along with the retry
+            PendingBreed pending = pendingByBreed.computeIfAbsent(batch.breedId(), key -> new PendingBreed());
+            for (Long catId : batch.catIds()) {
+                if (pending.catIds.add(catId)) {
+                    pendingCats++;
+                }
+            }
+            pending.attempt = batch.attempt() + 1;
+            pending.notBeforeNanos = System.nanoTime()
+                + retryBackoff.toNanos() * (1L << Math.min(batch.attempt() - 1, 10));
+            lock.notifyAll();
+        }
+    }
+
+    private void finish(String breedId) {
+        synchronized (lock) {
+            inFlight.remove(breedId);
+            lock.notifyAll();
+        }
+    }
+}
@@ -0,0 +1,459 @@
+package io.werescuecats.backend.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.werescuecats.backend.dto.CatDto;
+import io.werescuecats.backend.dto.CatImportResult;
+import io.werescuecats.backend.entity.Breed;
+import io.werescuecats.backend.entity.CatStatus;
+import io.werescuecats.backend.event.CatImageRequestedEvent;
+import io.werescuecats.backend.repository.BreedRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.StatementCreatorUtils;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk import of cats from a JSON array or CSV, read row by row so the input is never held in memory.
+ * Valid rows are inserted with JDBC batch inserts, bypassing JPA; invalid rows are skipped and reported.
+ * Every batch commits on its own, so rows reported as imported stay imported when a later batch fails.
+ * Cats imported without an image and without one from the breed's pool are queued for an image lookup
+ * once their batch commits.
+ */
+@Service
+@Slf4j
+public class CatImportService {
+
+    // Column names of the CSV header, same as the CatDto properties of a JSON row
+    static final List<String> CSV_COLUMNS = List.of(
+        "name", "age", "gender", "description", "breedId", "imageUrl", "latitude", "longitude", "address", "status");
+
+    private static final String INSERT_SQL =
+        "INSERT INTO cats (name, age, gender, description, breed_id, image_url, latitude, longitude, address, status, " +
+        "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final int[] INSERT_TYPES = {
+        Types.VARCHAR, Types.INTEGER, Types.VARCHAR, Types.LONGVARCHAR, Types.VARCHAR, Types.VARCHAR,
+        Types.DOUBLE, Types.DOUBLE, Types.VARCHAR, Types.VARCHAR, Types.TIMESTAMP, Types.TIMESTAMP
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BreedRepository breedRepository;
+    private final BreedImageCache breedImageCache;
+    private final AvailableCatsSnapshot availableCatsSnapshot;
+    private final CatLocationIndex catLocationIndex;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxErrors;
+
+    public CatImportService(JdbcTemplate jdbcTemplate,
+                            BreedRepository breedRepository,
+                            BreedImageCache breedImageCache,
+                            AvailableCatsSnapshot availableCatsSnapshot,
+                            CatLocationIndex catLocationIndex,
+                            ObjectMapper objectMapper,
+                            ApplicationEventPublisher eventPublisher,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${cats.import.batch-size:500}") int batchSize,
+                            @Value("${cats.import.max-errors:1000}") int maxErrors) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Import batch size must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.breedRepository = breedRepository;
+        this.breedImageCache = breedImageCache;
+        this.availableCatsSnapshot = availableCatsSnapshot;
+        this.catLocationIndex = catLocationIndex;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxErrors = maxErrors;
+    }
+
+    /**
+     * Imports a JSON array of cats in the CatDto format; id, breedName and timestamps are ignored.
+     * @throws IllegalArgumentException when the input is not a JSON array
+     */
+    public CatImportResult importJson(InputStream input) throws IOException {
+        Importer importer = new Importer();
+        try (JsonParser parser = objectMapper.getFactory().createParser(input)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Expected a JSON array of cats");
+            }
+            try {
+                JsonToken token;
+                while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                    if (token == null) {
+                        throw new IllegalArgumentException("JSON array is not closed");
+                    }
+                    int row = importer.nextRow();
+                    if (token != JsonToken.START_OBJECT) {
+                        parser.skipChildren();
+                        importer.reject(row, "Expected a JSON object");
+                        continue;
+                    }
+                    // Read as a tree first so a bad value does not leave the parser inside the object
+                    JsonNode node = parser.readValueAsTree();
+                    try {
+                        importer.accept(row, objectMapper.treeToValue(node, CatDto.class));
+                    } catch (JsonMappingException e) {
+                        importer.reject(row, "Invalid value: " + e.getOriginalMessage());
+                    }
+                }
+            } catch (JsonProcessingException | IllegalArgumentException e) {
+                importer.abort("Malformed JSON, import stopped: " + e.getMessage());
+            }
+        }
+        return importer.finish();
+    }
+
+    /**
+     * Imports CSV with a header row naming any of the CSV_COLUMNS; name and breedId are required.
+     * Fields may be quoted with double quotes, which are escaped by doubling them.
+     * @throws IllegalArgumentException when the header is missing or names unknown columns
+     */
+    public CatImportResult importCsv(InputStream input, Charset charset) throws IOException {
+        CsvReader csv = new CsvReader(new BufferedReader(new InputStreamReader(input, charset)));
+        List<String> header = csv.readRecord();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV is empty");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String column = header.get(i).trim();
+            if (!CSV_COLUMNS.contains(column)) {
+                throw new IllegalArgumentException("Unknown CSV column: " + column);
+            }
+            columns.put(column, i);
+        }
+        if (!columns.containsKey("name") || !columns.containsKey("breedId")) {
+            throw new IllegalArgumentException("CSV header must contain name and breedId");
+        }
+
+        Importer importer = new Importer();
+        try {
+            List<String> record;
+            while ((record = csv.readRecord()) != null) {
+                if (record.size() == 1 && record.get(0).isBlank()) {
+                    continue;
+                }
+                int row = importer.nextRow();
+                if (record.size() != header.size()) {
+                    importer.reject(row, "Expected " + header.size() + " fields but found " + record.size());
+                    continue;
+                }
+                CatDto cat;
+                try {
+                    cat = toCatDto(record, columns);
+                } catch (IllegalArgumentException e) {
+                    importer.reject(row, e.getMessage());
+                    continue;
+                }
+                importer.accept(row, cat);
+            }
+        } catch (IllegalArgumentException e) {
+            importer.abort("Malformed CSV, import stopped: " + e.getMessage());
+        }
+        return importer.finish();
+    }
+
+    private CatDto toCatDto(List<String> record, Map<String, Integer> columns) {
+        String status = field(record, columns, "status");
+        CatStatus catStatus;
+        try {
+            catStatus = status != null ? CatStatus.valueOf(status.toUpperCase(Locale.ROOT)) : null;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid status: " + status);
+        }
+        return CatDto.builder()
+            .name(field(record, columns, "name"))
+            .age(parse(field(record, columns, "age"), "age", Integer::valueOf))
+            .gender(field(record, columns, "gender"))
+            .description(field(record, columns, "description"))
+            .breedId(field(record, columns, "breedId"))
+            .imageUrl(field(record, columns, "imageUrl"))
+            .latitude(parse(field(record, columns, "latitude"), "latitude", Double::valueOf))
+            .longitude(parse(field(record, columns, "longitude"), "longitude", Double::valueOf))
+            .address(field(record, columns, "address"))
+            .status(catStatus)
+            .build();
+    }
+
+    // Empty fields are treated as missing
+    private static String field(List<String> record, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static <T> T parse(String value, String column, Function<String, T> parser) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return parser.apply(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + column + ": " + value);
+        }
+    }
+
+    /**
+     * State of one import: validates rows, collects them into batches and counts the outcome.
+     */
+    private final class Importer {
+
+        private final Set<String> breedIds;
+        private final List<Object[]> batch = new ArrayList<>(batchSize);
+        private final List<Integer> batchRows = new ArrayList<>(batchSize);
+        // Breed of each batch row that still needs an image, null for rows that have one
+        private final List<String> batchImageRequests = new ArrayList<>(batchSize);
+        private final List<CatImportResult.RowError> errors = new ArrayList<>();
+        private final long startNanos = System.nanoTime();
+        private int rows = 0;
+        private int imported = 0;
+        private int failed = 0;
+
+        Importer() {
+            breedIds = transactionTemplate.execute(status -> breedRepository.findAll().stream()
+                .map(Breed::getId)
+                .collect(Collectors.toSet()));
+        }
+
+        int nextRow() {
+            return ++rows;
+        }
+
+        void accept(int row, CatDto cat) {
+            String error = validate(cat);
+            if (error != null) {
+                reject(row, error);
+                return;
+            }
+            String imageUrl = cat.getImageUrl() != null
+                ? cat.getImageUrl()
+                : breedImageCache.nextImageUrl(cat.getBreedId()).orElse(null);
+            CatStatus status = cat.getStatus() != null ? cat.getStatus() : CatStatus.AVAILABLE;
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            batch.add(new Object[] {
+                cat.getName().trim(), cat.getAge(), cat.getGender(), cat.getDescription(), cat.getBreedId(), imageUrl,
+                cat.getLatitude(), cat.getLongitude(), cat.getAddress(), status.name(), now, now
+            });
+            batchRows.add(row);
+            batchImageRequests.add(imageUrl == null ? cat.getBreedId() : null);
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void reject(int row, String message) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(new CatImportResult.RowError(row, message));
+            }
+        }
+
+        void abort(String message) {
+            reject(rows + 1, message);
+        }
+
+        CatImportResult finish() {
+            flush();
+            if (imported > 0) {
+                // The batch inserts bypass the domain events that keep these current
+                availableCatsSnapshot.invalidate();
+                catLocationIndex.invalidate();
+            }
+            long millis = Math.max(1, (System.nanoTime() - startNanos) / 1_000_000);
+            log.info("Imported {} cats in {} ms ({} cats/s), {} rows rejected",
+                imported, millis, imported * 1000L / millis, failed);
+            return new CatImportResult(imported, failed, List.copyOf(errors), failed > errors.size());
+        }
+
+        private String validate(CatDto cat) {
+            if (cat.getName() == null || cat.getName().isBlank()) {
+                return "Cat name is required";
+            }
+            if (cat.getBreedId() == null) {
+                return "Breed is required";
+            }
+            if (!breedIds.contains(cat.getBreedId())) {
+                return "Unknown breed: " + cat.getBreedId();
+            }
+            if (cat.getAge() != null && cat.getAge() < 0) {
+                return "Age must not be negative";
+            }
+            if (cat.getLatitude() != null && (cat.getLatitude() < -90.0 || cat.getLatitude() > 90.0)) {
+                return "Latitude must be between -90 and 90";
+            }
+            if (cat.getLongitude() != null && (cat.getLongitude() < -180.0 || cat.getLongitude() > 180.0)) {
+                return "Longitude must be between -180 and 180";
+            }
+            if (tooLong(cat.getName().trim(), 100) || tooLong(cat.getGender(), 255)
+                    || tooLong(cat.getAddress(), 500) || tooLong(cat.getImageUrl(), 500)) {
+                return "Name is limited to 100, gender to 255, address and image URL to 500 characters";
+            }
+            return null;
+        }
+
+        private boolean tooLong(String value, int maxLength) {
+            return value != null && value.length() > maxLength;
+        }
+
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    List<Long> ids = insertBatch();
+                    // Delivered to the image enrichment queue once the batch commits
+                    for (int i = 0; i < ids.size(); i++) {
+                        String breedId = batchImageRequests.get(i);
+                        if (breedId != null) {
+                            eventPublisher.publishEvent(new CatImageRequestedEvent(ids.get(i), breedId));
+                        }
+                    }
+                });
+                imported += batch.size();
+            } catch (DataAccessException e) {
+                log.error("Import batch of rows {}-{} failed", batchRows.get(0), batchRows.get(batchRows.size() - 1), e);
+                for (int row : batchRows) {
+                    reject(row, "Insert failed: " + e.getMostSpecificCause().getMessage());
+                }
+            }
+            batch.clear();
+            batchRows.clear();
+            batchImageRequests.clear();
+        }
+
+        // Ids of the inserted rows, in batch order
+        private List<Long> insertBatch() {
+            GeneratedKeyHolder keys = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_SQL, new String[] {"cat_id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        Object[] values = batch.get(i);
+                        for (int column = 0; column < values.length; column++) {
+                            StatementCreatorUtils.setParameterValue(statement, column + 1, INSERT_TYPES[column],
+                                values[column]);
+                        }
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return batch.size();
+                    }
+                },
+                keys);
+            return keys.getKeyList().stream()
+                .map(key -> ((Number) key.values().iterator().next()).longValue())
+                .toList();
+        }
+    }
+
+    /**
+     * Reads RFC 4180 style records, including quoted fields that span lines.
+     */
+    private static final class CsvReader {
+
+        private final Reader reader;
+        private int pushedBack = -2;
+
+        CsvReader(Reader reader) {
+            this.reader = reader;
+        }
+
+        // Next record, null at the end of the input
+        List<String> readRecord() throws IOException {
+            int c = read();
+            if (c == -1) {
+                return null;
+            }
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c == -1) {
+                        throw new IllegalArgumentException("Unterminated quoted field");
+                    }
+                    if (c == '"') {
+                        int next = read();
+                        if (next != '"') {
+                            quoted = false;
+                            c = next;
+                            continue;
+                        }
+                    }
+                    field.append((char) c);
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n' || c == -1) {
+                    break;
+                } else if (c == '\r') {
+                    int next = read();
+                    if (next != '\n') {
+                        pushedBack = next;
+                    }
+                    break;
+                } else {
+                    field.append((char) c);
+                }
+                c = read();
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+
+        private int read() throws IOException {
+            if (pushedBack != -2) {
+                int c = pushedBack;
+                pushedBack = -2;
+                return c;
+            }
+            return reader.read();
+        }
+    }
+}
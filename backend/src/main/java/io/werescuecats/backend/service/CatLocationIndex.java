@@ -0,0 +1,353 @@
+package io.werescuecats.backend.service;
+
+import io.werescuecats.backend.dto.CatLocation;
+import io.werescuecats.backend.entity.Cat;
+import io.werescuecats.backend.entity.CatStatus;
+import io.werescuecats.backend.event.CatChangedEvent;
+import io.werescuecats.backend.event.CatsBulkChangedEvent;
+import io.werescuecats.backend.repository.CatRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Grid-bucketed in-memory index of the locations of all AVAILABLE cats.
+ * The globe is cut into square lat/lon cells; a radius or nearest-N query
+ * only visits the cells around the query point and applies an exact
+ * haversine check to the cats in them.
+ * A rebuild reads only ids and coordinates into a new grid and swaps it in, so queries
+ * never see a partial index; changes that arrive while it reads are replayed onto it.
+ */
+@Component
+@Slf4j
+public class CatLocationIndex {
+
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private final CatRepository catRepository;
+    private final boolean enabled;
+    private final double cellSizeDegrees;
+    private final int latCells;
+    private final int lonCells;
+
+    private volatile Grid grid = new Grid();
+    // Serializes changes to the grid, and guards the changes recorded while a rebuild reads
+    private final Object changeLock = new Object();
+    private List<Consumer<Grid>> changesDuringRebuild;
+
+    private volatile boolean loaded = false;
+
+    public CatLocationIndex(CatRepository catRepository,
+                            @Value("${cats.geo.in-memory-index.enabled:true}") boolean enabled,
+                            @Value("${cats.geo.cell-size-degrees:0.1}") double cellSizeDegrees) {
+        if (cellSizeDegrees <= 0 || cellSizeDegrees > 10) {
+            throw new IllegalArgumentException("Cell size must be between 0 and 10 degrees");
+        }
+        this.catRepository = catRepository;
+        this.enabled = enabled;
+        this.cellSizeDegrees = cellSizeDegrees;
+        this.latCells = (int) Math.ceil(180.0 / cellSizeDegrees);
+        this.lonCells = (int) Math.ceil(360.0 / cellSizeDegrees);
+    }
+
+    /**
+     * False when the database spatial query should be used instead,
+     * e.g. when several backend instances share one database.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public record Entry(long catId, double latitude, double longitude, long cell) {}
+
+    public record Hit(long catId, double distanceKm) {}
+
+    // Cats by cell and by id, published together
+    private record Grid(Map<Long, Map<Long, Entry>> cells, Map<Long, Entry> entriesById) {
+
+        Grid() {
+            this(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Drops the index so the next query rebuilds it, for changes that bypass CatRepository.save.
+     */
+    public void invalidate() {
+        loaded = false;
+    }
+
+    /**
+     * Reloads the index from all AVAILABLE cats in the database.
+     */
+    public synchronized void rebuild() {
+        synchronized (changeLock) {
+            changesDuringRebuild = new ArrayList<>();
+        }
+        try {
+            List<CatLocation> locations = catRepository.findLocationsByStatus(CatStatus.AVAILABLE);
+            Grid fresh = new Grid();
+            for (CatLocation location : locations) {
+                putInto(fresh, location.id(), location.latitude(), location.longitude());
+            }
+            synchronized (changeLock) {
+                // Changes may already be in the locations read, applying them again leaves the same state
+                changesDuringRebuild.forEach(change -> change.accept(fresh));
+                grid = fresh;
+            }
+            loaded = true;
+            log.info("Cat location index built with {} cats", fresh.entriesById().size());
+        } finally {
+            synchronized (changeLock) {
+                changesDuringRebuild = null;
+            }
+        }
+    }
+
+    /**
+     * Adds, moves or removes a cat depending on its current status and coordinates.
+     */
+    public void update(Cat cat) {
+        if (!enabled || cat == null || cat.getId() == null) {
+            return;
+        }
+        if (cat.isAvailable()) {
+            put(cat.getId(), cat.getLatitude(), cat.getLongitude());
+        } else {
+            remove(cat.getId());
+        }
+    }
+
+    /**
+     * Applies a cat change once its transaction has committed.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatChanged(CatChangedEvent event) {
+        if (!enabled || event.catId() == null) {
+            return;
+        }
+        if (event.status() == CatStatus.AVAILABLE) {
+            put(event.catId(), event.latitude(), event.longitude());
+        } else {
+            remove(event.catId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatsBulkChanged(CatsBulkChangedEvent event) {
+        invalidate();
+    }
+
+    public void remove(Long catId) {
+        change(target -> removeFrom(target, catId));
+    }
+
+    public int size() {
+        ensureLoaded();
+        return grid.entriesById().size();
+    }
+
+    /**
+     * All indexed cats within radiusKm of the given point, closest first.
+     */
+    public List<Hit> findWithinRadius(double latitude, double longitude, double radiusKm) {
+        ensureLoaded();
+        Map<Long, Map<Long, Entry>> cells = grid.cells();
+        List<Hit> hits = new ArrayList<>();
+        if (radiusKm < 0) {
+            return hits;
+        }
+
+        double latDelta = Math.toDegrees(radiusKm / EARTH_RADIUS_KM);
+        double minLat = Math.max(-90.0, latitude - latDelta);
+        double maxLat = Math.min(90.0, latitude + latDelta);
+        int minLatIdx = latIndex(minLat);
+        int maxLatIdx = latIndex(maxLat);
+
+        double widestLat = Math.max(Math.abs(minLat), Math.abs(maxLat));
+        double cosLat = Math.cos(Math.toRadians(widestLat));
+        int minLonIdx = 0;
+        int lonSpan = lonCells;
+        double lonDelta = latDelta / Math.max(cosLat, 1e-9);
+        if (widestLat < 89.9 && lonDelta < 180.0 - cellSizeDegrees) {
+            minLonIdx = lonIndex(longitude - lonDelta);
+            lonSpan = Math.floorMod(lonIndex(longitude + lonDelta) - minLonIdx, lonCells) + 1;
+        }
+
+        for (int i = minLatIdx; i <= maxLatIdx; i++) {
+            for (int k = 0; k < lonSpan; k++) {
+                Map<Long, Entry> bucket = cells.get(cellKey(i, Math.floorMod(minLonIdx + k, lonCells)));
+                if (bucket == null) {
+                    continue;
+                }
+                for (Entry entry : bucket.values()) {
+                    double distance = haversineKm(latitude, longitude, entry.latitude(), entry.longitude());
+                    if (distance <= radiusKm) {
+                        hits.add(new Hit(entry.catId(), distance));
+                    }
+                }
+            }
+        }
+
+        hits.sort(Comparator.comparingDouble(Hit::distanceKm));
+        return hits;
+    }
+
+    /**
+     * The limit indexed cats closest to the given point, closest first.
+     * Searches outward ring by ring and stops once no unvisited cell can
+     * contain a cat closer than the current limit-th best.
+     */
+    public List<Hit> findNearest(double latitude, double longitude, int limit) {
+        ensureLoaded();
+        Grid current = grid;
+        int indexed = current.entriesById().size();
+        if (limit <= 0 || indexed == 0) {
+            return new ArrayList<>();
+        }
+
+        PriorityQueue<Hit> best = new PriorityQueue<>(
+                Comparator.comparingDouble(Hit::distanceKm).reversed());
+        int centerLat = latIndex(latitude);
+        int centerLon = lonIndex(longitude);
+        int maxRing = Math.max(latCells, lonCells / 2 + 1);
+        double cellRad = Math.toRadians(cellSizeDegrees);
+
+        for (int ring = 0; ring <= maxRing; ring++) {
+            if (best.size() == limit || best.size() == indexed) {
+                double reachableLat = Math.min(90.0, Math.abs(latitude) + (ring + 1) * cellSizeDegrees);
+                // Cells on this ring are at least (ring - 1) whole cells away from the query point
+                double gap = (ring - 1) * cellRad;
+                double latBound = gap * EARTH_RADIUS_KM;
+                double lonBound = 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0,
+                        Math.cos(Math.toRadians(reachableLat)) * Math.sin(Math.min(Math.PI, gap) / 2)));
+                if (best.size() == indexed || Math.min(latBound, lonBound) > best.peek().distanceKm()) {
+                    break;
+                }
+            }
+            scanRing(current.cells(), centerLat, centerLon, ring, latitude, longitude, limit, best);
+        }
+
+        List<Hit> result = new ArrayList<>(best);
+        result.sort(Comparator.comparingDouble(Hit::distanceKm));
+        return result;
+    }
+
+    private void scanRing(Map<Long, Map<Long, Entry>> cells, int centerLat, int centerLon, int ring,
+                          double latitude, double longitude, int limit, PriorityQueue<Hit> best) {
+        int minDj = Math.max(-ring, -(lonCells / 2) + 1);
+        int maxDj = Math.min(ring, lonCells / 2);
+        for (int di = -ring; di <= ring; di++) {
+            int i = centerLat + di;
+            if (i < 0 || i >= latCells) {
+                continue;
+            }
+            boolean edgeRow = Math.abs(di) == ring;
+            int step = edgeRow ? 1 : Math.max(1, 2 * ring);
+            for (int dj = edgeRow ? minDj : -ring; dj <= maxDj; dj += step) {
+                if (dj < minDj) {
+                    continue;
+                }
+                scanCell(cells.get(cellKey(i, Math.floorMod(centerLon + dj, lonCells))), latitude, longitude,
+                    limit, best);
+            }
+        }
+    }
+
+    private void scanCell(Map<Long, Entry> bucket, double latitude, double longitude, int limit,
+                          PriorityQueue<Hit> best) {
+        if (bucket == null) {
+            return;
+        }
+        for (Entry entry : bucket.values()) {
+            double distance = haversineKm(latitude, longitude, entry.latitude(), entry.longitude());
+            if (best.size() < limit) {
+                best.add(new Hit(entry.catId(), distance));
+            } else if (distance < best.peek().distanceKm()) {
+                best.poll();
+                best.add(new Hit(entry.catId(), distance));
+            }
+        }
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    rebuild();
+                }
+            }
+        }
+    }
+
+    private void put(Long catId, Double latitude, Double longitude) {
+        change(target -> putInto(target, catId, latitude, longitude));
+    }
+
+    // Applies a change to the current grid, and records it for the grid a rebuild is filling
+    private void change(Consumer<Grid> change) {
+        synchronized (changeLock) {
+            change.accept(grid);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(change);
+            }
+        }
+    }
+
+    private void putInto(Grid target, Long catId, Double latitude, Double longitude) {
+        if (latitude == null || longitude == null) {
+            removeFrom(target, catId);
+            return;
+        }
+        long cell = cellKey(latIndex(latitude), lonIndex(longitude));
+        Entry entry = new Entry(catId, latitude, longitude, cell);
+        Entry previous = target.entriesById().put(catId, entry);
+        if (previous != null && previous.cell() != cell) {
+            Map<Long, Entry> oldBucket = target.cells().get(previous.cell());
+            if (oldBucket != null) {
+                oldBucket.remove(catId);
+            }
+        }
+        target.cells().computeIfAbsent(cell, key -> new ConcurrentHashMap<>()).put(catId, entry);
+    }
+
+    private static void removeFrom(Grid target, Long catId) {
+        Entry previous = target.entriesById().remove(catId);
+        if (previous != null) {
+            Map<Long, Entry> bucket = target.cells().get(previous.cell());
+            if (bucket != null) {
+                bucket.remove(catId);
+            }
+        }
+    }
+
+    private int latIndex(double latitude) {
+        return Math.min(latCells - 1, Math.max(0, (int) Math.floor((latitude + 90.0) / cellSizeDegrees)));
+    }
+
+    private int lonIndex(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180.0) / cellSizeDegrees), lonCells);
+    }
+
+    private static long cellKey(int latIdx, int lonIdx) {
+        return ((long) latIdx << 32) | (lonIdx & 0xffffffffL);
+    }
+
+    public static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+}
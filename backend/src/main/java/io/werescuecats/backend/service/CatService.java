@@ -1,23 +1,35 @@
 package io.werescuecats.backend.service;
 
-import io.werescuecats.backend.config.CatApiConfig;
+import io.werescuecats.backend.dto.CatCursor;
+import io.werescuecats.backend.dto.CatDto;
+import io.werescuecats.backend.dto.GroupedCount;
 import io.werescuecats.backend.entity.Cat;
 import io.werescuecats.backend.entity.CatStatus;
+import io.werescuecats.backend.event.CatChangedEvent;
+import io.werescuecats.backend.event.CatImageRequestedEvent;
+import io.werescuecats.backend.event.CatStatusChangedEvent;
+import io.werescuecats.backend.event.CatsBulkChangedEvent;
 import io.werescuecats.backend.repository.CatRepository;
+import io.werescuecats.backend.repository.CatSpatialRepository;
+import jakarta.persistence.EntityManager;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.Cacheable;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Slf4j
@@ -26,11 +38,25 @@ public class CatService {
     
     private final CatRepository catRepository;
 
-    private final CatApiConfig config;
+    private final CatLocationIndex catLocationIndex;
 
-    private final RestTemplate restTemplate;
+    private final CatSpatialRepository catSpatialRepository;
+
+    private final EntityManager entityManager;
+
+    private final AvailableCatsSnapshot availableCatsSnapshot;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final BreedImageCache breedImageCache;
+
+    /**
+     * Current snapshot of all available cats, maintained from committed cat changes.
+     */
+    public AvailableCatsSnapshot.View getAvailableCatsView() {
+        return availableCatsSnapshot.current();
+    }
     
-    @Cacheable("availableCats")
     public List<Cat> getAvailableCats() {
         log.debug("Fetching available cats");
         return catRepository.findByStatus(CatStatus.AVAILABLE);
@@ -46,6 +72,41 @@ public class CatService {
         return catRepository.findByStatus(CatStatus.ADOPTED);
     }
     
+    /**
+     * Up to limit cats after the cursor, ordered by (status, id).
+     * With a null status the listing continues into the following statuses.
+     */
+    @Transactional(readOnly = true)
+    public List<Cat> getCatsPage(CatStatus status, CatCursor cursor, int limit) {
+        List<Cat> page = new ArrayList<>(catRepository.findPageByStatus(
+            cursor.status(), cursor.afterId(), PageRequest.ofSize(limit)));
+        if (status == null) {
+            CatStatus[] statuses = CatStatus.values();
+            for (int i = cursor.status().ordinal() + 1; i < statuses.length && page.size() < limit; i++) {
+                page.addAll(catRepository.findPageByStatus(
+                    statuses[i], 0L, PageRequest.ofSize(limit - page.size())));
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Hands every cat with the given status (all cats when null) to the consumer in
+     * (status, id) order, detaching each one afterwards so the persistence context stays small.
+     */
+    @Transactional(readOnly = true)
+    public void streamCats(CatStatus status, Consumer<Cat> consumer) {
+        List<CatStatus> statuses = status != null ? List.of(status) : List.of(CatStatus.values());
+        for (CatStatus current : statuses) {
+            try (Stream<Cat> cats = catRepository.streamByStatus(current)) {
+                cats.forEach(cat -> {
+                    consumer.accept(cat);
+                    entityManager.detach(cat);
+                });
+            }
+        }
+    }
+    
     public Optional<Cat> getCatById(Long id) {
         return catRepository.findById(id);
     }
@@ -53,35 +114,135 @@ public class CatService {
     public List<Cat> getCatsByBreed(String breedId) {
         return catRepository.findByBreedId(breedId);
     }
+
+    /**
+     * Read-only listing mapped straight from the query, for endpoints that only render the cats.
+     * With a null status all cats are returned.
+     */
+    @Transactional(readOnly = true)
+    public List<CatDto> getCatDtos(CatStatus status) {
+        return status == null
+            ? catRepository.findAllDtos()
+            : catRepository.findDtosByStatus(status);
+    }
+
+    @Transactional(readOnly = true)
+    public List<CatDto> getCatDtosByBreed(String breedId) {
+        return catRepository.findDtosByBreedId(breedId);
+    }
     
+    /**
+     * Available cats within radiusKm of the given point, closest first.
+     */
     public List<Cat> getCatsInArea(Double latitude, Double longitude, Double radiusKm) {
-        // Simple bounding box calculation (rough approximation)
-        double latDelta = radiusKm / 111.0; // ~111km per degree latitude
-        double lonDelta = radiusKm / (111.0 * Math.cos(Math.toRadians(latitude)));
-        
-        return catRepository.findCatsInArea(
-            latitude - latDelta,
-            latitude + latDelta,
-            longitude - lonDelta,
-            longitude + lonDelta,
-            CatStatus.AVAILABLE
-        );
+        return getCatsInArea(latitude, longitude, radiusKm, 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * One page of available cats within radiusKm of the given point, closest first.
+     * Served from the in-memory index when enabled, otherwise from the database.
+     */
+    public List<Cat> getCatsInArea(Double latitude, Double longitude, Double radiusKm, int page, int size) {
+        if (!catLocationIndex.isEnabled()) {
+            return loadInDistanceOrder(
+                catSpatialRepository.findAvailableWithinRadius(latitude, longitude, radiusKm, page, size));
+        }
+        List<CatLocationIndex.Hit> hits = catLocationIndex.findWithinRadius(latitude, longitude, radiusKm);
+        long from = (long) page * size;
+        if (from >= hits.size()) {
+            return new ArrayList<>();
+        }
+        return loadInDistanceOrder(hits.subList((int) from, (int) Math.min(hits.size(), from + size)));
+    }
+
+    /**
+     * The limit available cats closest to the given point, closest first.
+     * Served from the in-memory index when enabled, otherwise from the database.
+     */
+    public List<Cat> getNearestCats(Double latitude, Double longitude, int limit) {
+        if (!catLocationIndex.isEnabled()) {
+            return loadInDistanceOrder(catSpatialRepository.findAvailableNearest(latitude, longitude, limit));
+        }
+        return loadInDistanceOrder(catLocationIndex.findNearest(latitude, longitude, limit));
+    }
+
+    private List<Cat> loadInDistanceOrder(List<CatLocationIndex.Hit> hits) {
+        if (hits.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Long> ids = hits.stream().map(CatLocationIndex.Hit::catId).toList();
+        Map<Long, Cat> catsById = catRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(Cat::getId, Function.identity()));
+        return ids.stream()
+            .map(catsById::get)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
     }
     
+    /**
+     * Persists the cat right away. A missing image URL is taken from the breed's cached
+     * image pool, or else filled in by the image enrichment queue once the transaction has committed.
+     */
     @Transactional
     public Cat saveCat(Cat cat) {
         log.info("Saving cat: {}", cat.getName());
-        cat.setImageUrl(fetchImageUrlForSpecificBreed(cat.getBreed().getId()));
-        return catRepository.save(cat);
+        if (cat.getImageUrl() == null && cat.getBreed() != null) {
+            breedImageCache.nextImageUrl(cat.getBreed().getId()).ifPresent(cat::setImageUrl);
+        }
+        boolean created = cat.getId() == null;
+        Cat savedCat = catRepository.save(cat);
+        if (created) {
+            eventPublisher.publishEvent(new CatStatusChangedEvent(savedCat.getId(), null, savedCat.getStatus()));
+        }
+        if (savedCat.getImageUrl() == null && savedCat.getBreed() != null) {
+            eventPublisher.publishEvent(new CatImageRequestedEvent(savedCat.getId(), savedCat.getBreed().getId()));
+        }
+        return savedCat;
     }
     
+    /**
+     * Atomically moves an AVAILABLE cat to PENDING.
+     * @return false when the cat does not exist or is not available, including when a concurrent call won
+     */
+    @Transactional
+    public boolean reserveCat(Long catId) {
+        int updated = catRepository.updateStatusIf(catId, CatStatus.AVAILABLE, CatStatus.PENDING, LocalDateTime.now());
+        if (updated == 0) {
+            return false;
+        }
+        // The bulk update bypasses the domain events of CatRepository.save
+        eventPublisher.publishEvent(new CatChangedEvent(catId, CatStatus.PENDING, null, null));
+        eventPublisher.publishEvent(new CatStatusChangedEvent(catId, CatStatus.AVAILABLE, CatStatus.PENDING));
+        return true;
+    }
+
+    /**
+     * Sets the status of many cats with one UPDATE statement, after one grouped count of their
+     * previous statuses for the listeners that keep counters.
+     */
+    @Transactional
+    public int updateCatStatuses(Collection<Long> catIds, CatStatus status) {
+        if (catIds.isEmpty()) {
+            return 0;
+        }
+        List<GroupedCount<CatStatus>> previousStatuses = catRepository.countGroupedByStatusIn(catIds);
+        int updated = catRepository.updateStatusIn(catIds, status, LocalDateTime.now());
+        eventPublisher.publishEvent(new CatsBulkChangedEvent(List.copyOf(catIds), status, previousStatuses));
+        return updated;
+    }
+
     @Transactional
     public Cat updateCatStatus(Long catId, CatStatus status) {
         Optional<Cat> catOpt = catRepository.findById(catId);
         if (catOpt.isPresent()) {
             Cat cat = catOpt.get();
+            CatStatus previous = cat.getStatus();
             cat.setStatus(status);
-            return catRepository.save(cat);
+            Cat savedCat = catRepository.save(cat);
+            if (previous != status) {
+                eventPublisher.publishEvent(new CatStatusChangedEvent(catId, previous, status));
+            }
+            return savedCat;
         }
         throw new RuntimeException("Cat not found with id: " + catId);
     }
@@ -89,39 +250,4 @@ public class CatService {
     public List<Cat> getAllCats() {
         return catRepository.findAll();
     }
-
-    @Transactional
-    public String fetchImageUrlForSpecificBreed(String breedId) {
-        log.info("Fetching image URL for breed: {}", breedId);
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("x-api-key", config.getApiKey());
-        headers.set("User-Agent", "WeRescueCats/1.0");
-        HttpEntity<?> entity = new HttpEntity<>(headers);
-
-        try {
-            String url = config.getBaseUrl() + "/images/search?limit=1&breed_ids=" + breedId;
-
-            ResponseEntity<Map[]> response = restTemplate.exchange(
-                    url,
-                    HttpMethod.GET,
-                    entity,
-                    Map[].class);
-
-            Map[] images = response.getBody();
-
-            if (images != null && images.length > 0) {
-                String imageUrl = (String) images[0].get("url");
-                log.info("Found image URL: {}", imageUrl);
-                return imageUrl;
-            }
-
-            log.warn("No images found for breed: {}", breedId);
-            return null;
-
-        } catch (Exception e) {
-            log.error("Failed to fetch image URL for breed: {}", breedId, e);
-            throw new RuntimeException("API call failed", e);
-        }
-    }
 }
@@ -0,0 +1,339 @@
+package io.werescuecats.backend.service;
+
+import io.werescuecats.backend.dto.DashboardStatsDto;
+import io.werescuecats.backend.dto.GroupedCount;
+import io.werescuecats.backend.entity.AdoptionStatus;
+import io.werescuecats.backend.entity.CatStatus;
+import io.werescuecats.backend.entity.UserRole;
+import io.werescuecats.backend.event.AdoptionStatusChangedEvent;
+import io.werescuecats.backend.event.CatStatusChangedEvent;
+import io.werescuecats.backend.event.CatsBulkChangedEvent;
+import io.werescuecats.backend.event.UserChangedEvent;
+import io.werescuecats.backend.repository.AdoptionRepository;
+import io.werescuecats.backend.repository.CatRepository;
+import io.werescuecats.backend.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Live dashboard counters of cats by status, adoptions by status and users by role.
+ * Reads only sum in-memory adders. The adders are moved by committed status changes and
+ * reconciled against three grouped counts every reconcile interval, which also corrects
+ * changes that bypass the events, such as cat imports. Changes no event describes are
+ * recounted in the background; reads only count without a reconciler.
+ */
+@Service
+@Slf4j
+public class DashboardStatsService {
+
+    private final CatRepository catRepository;
+    private final AdoptionRepository adoptionRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate readTransaction;
+    private final Duration reconcileInterval;
+
+    private final Counters<CatStatus> cats = new Counters<>(CatStatus.class);
+    private final Counters<AdoptionStatus> adoptions = new Counters<>(AdoptionStatus.class);
+    private final Counters<UserRole> users = new Counters<>(UserRole.class);
+
+    // Events share the read lock, a reconcile takes the write lock while it corrects the adders
+    private final ReadWriteLock applyLock = new ReentrantReadWriteLock();
+    // Changes whose transaction reached its commit, and those of them completed since. A change in
+    // between may or may not be in the database yet, so a reconcile only trusts counts taken while
+    // no change was in between.
+    private final AtomicLong committingChanges = new AtomicLong();
+    private final AtomicLong completedChanges = new AtomicLong();
+    private final Object reconcileLock = new Object();
+    // False until the first reconcile
+    private volatile boolean loaded;
+    // Set for changes no event describes, the next reconcile sets the counters even while changes commit
+    private volatile boolean stale;
+
+    private volatile ScheduledExecutorService reconciler;
+
+    public DashboardStatsService(CatRepository catRepository,
+                                 AdoptionRepository adoptionRepository,
+                                 UserRepository userRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${dashboard.stats.reconcile-interval:1m}") Duration reconcileInterval) {
+        this.catRepository = catRepository;
+        this.adoptionRepository = adoptionRepository;
+        this.userRepository = userRepository;
+        // Own transaction so a reconcile only ever counts committed rows
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+        this.reconcileInterval = reconcileInterval;
+    }
+
+    public DashboardStatsDto getStats() {
+        if (needsReconcileOnRead()) {
+            synchronized (reconcileLock) {
+                if (needsReconcileOnRead()) {
+                    reconcile();
+                }
+            }
+        }
+        DashboardStatsDto stats = new DashboardStatsDto();
+        stats.setTotalCats(cats.total());
+        stats.setAvailableCats(cats.count(CatStatus.AVAILABLE));
+        stats.setAdoptedCats(cats.count(CatStatus.ADOPTED));
+        stats.setTotalUsers(users.total());
+        stats.setAdminUsers(users.count(UserRole.ADMIN));
+        stats.setTotalAdoptions(adoptions.total());
+        stats.setPendingAdoptions(adoptions.count(AdoptionStatus.PENDING));
+        stats.setCompletedAdoptions(adoptions.count(AdoptionStatus.COMPLETED));
+        return stats;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (reconcileInterval.isZero() || reconcileInterval.isNegative()) {
+            return;
+        }
+        reconciler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dashboard-reconcile");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = reconcileInterval.toMillis();
+        reconciler.scheduleWithFixedDelay(this::reconcileInBackground, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (reconciler != null) {
+            reconciler.shutdownNow();
+        }
+    }
+
+    @EventListener
+    public void onCatStatusChanged(CatStatusChangedEvent event) {
+        applyAfterCommit(() -> cats.move(event.from(), event.to(), 1));
+    }
+
+    @EventListener
+    public void onAdoptionStatusChanged(AdoptionStatusChangedEvent event) {
+        applyAfterCommit(() -> adoptions.move(event.from(), event.to(), event.adoptionIds().size()));
+    }
+
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        applyAfterCommit(() -> {
+            users.move(event.previousRole(), event.role(), 1);
+            if (event.role() == null) {
+                // Deleting a user also deletes their adoptions
+                markStale();
+            }
+        });
+    }
+
+    @EventListener
+    public void onCatsBulkChanged(CatsBulkChangedEvent event) {
+        applyAfterCommit(() -> {
+            for (GroupedCount<CatStatus> previous : event.previousStatuses()) {
+                cats.move(previous.key(), event.status(), previous.count());
+            }
+        });
+    }
+
+    /**
+     * Sets the counters to the counts in the database. A periodic reconcile is skipped, and left to
+     * the next interval, when a change was committing while counting, as the counts may or may not
+     * include it and its event may be applied before or after the counters are set. A reconcile that
+     * has to set the counters sets them anyway and leaves them stale for the next one.
+     * @return whether the counters were set
+     */
+    boolean reconcile() {
+        synchronized (reconcileLock) {
+            boolean force = !loaded || stale;
+            stale = false;
+            long completedBefore = completedChanges.get();
+            long committingBefore = committingChanges.get();
+            Counts counts = readTransaction.execute(status -> new Counts(
+                catRepository.countGroupedByStatus(),
+                adoptionRepository.countGroupedByStatus(),
+                userRepository.countGroupedByRole()));
+            applyLock.writeLock().lock();
+            try {
+                boolean settled = committingBefore == completedBefore && committingChanges.get() == committingBefore;
+                if (!force && !settled) {
+                    log.debug("Dashboard counts changed while counting, reconciling next interval");
+                    return false;
+                }
+                long drift = cats.set(counts.cats()) + adoptions.set(counts.adoptions()) + users.set(counts.users());
+                if (!force && drift > 0) {
+                    log.warn("Corrected {} drifted dashboard counts", drift);
+                }
+                if (!settled) {
+                    stale = true;
+                }
+                loaded = true;
+                return true;
+            } finally {
+                applyLock.writeLock().unlock();
+            }
+        }
+    }
+
+    private boolean needsReconcileOnRead() {
+        return !loaded || (stale && reconciler == null);
+    }
+
+    // Recounts right away in the background, or on the next read without a reconciler
+    private void markStale() {
+        stale = true;
+        ScheduledExecutorService current = reconciler;
+        if (current != null) {
+            try {
+                current.execute(this::reconcileInBackground);
+            } catch (RejectedExecutionException e) {
+                log.debug("Dashboard reconciler stopped, not recounting");
+            }
+        }
+    }
+
+    private void reconcileInBackground() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            log.warn("Reconciling dashboard counters failed, retrying next interval", e);
+        }
+    }
+
+    // Applies the change once its transaction commits, right away without a transaction
+    private void applyAfterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || !TransactionSynchronizationManager.isActualTransactionActive()) {
+            committingChanges.incrementAndGet();
+            apply(change);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            private boolean committing;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                committing = true;
+                committingChanges.incrementAndGet();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    if (!committing) {
+                        committingChanges.incrementAndGet();
+                    }
+                    apply(change);
+                    return;
+                }
+                if (status == STATUS_UNKNOWN) {
+                    // The commit may or may not have happened
+                    markStale();
+                }
+                if (committing) {
+                    completedChanges.incrementAndGet();
+                }
+            }
+        });
+    }
+
+    private void apply(Runnable change) {
+        applyLock.readLock().lock();
+        try {
+            change.run();
+            completedChanges.incrementAndGet();
+        } finally {
+            applyLock.readLock().unlock();
+        }
+    }
+
+    private record Counts(List<GroupedCount<CatStatus>> cats,
+                          List<GroupedCount<AdoptionStatus>> adoptions,
+                          List<GroupedCount<UserRole>> users) {}
+
+    // One adder per value plus the total, which also counts rows without a value
+    private static final class Counters<K extends Enum<K>> {
+
+        private final Class<K> type;
+        private final Map<K, LongAdder> byKey;
+        private final LongAdder total = new LongAdder();
+
+        Counters(Class<K> type) {
+            this.type = type;
+            byKey = new EnumMap<>(type);
+            for (K key : type.getEnumConstants()) {
+                byKey.put(key, new LongAdder());
+            }
+        }
+
+        // A null from is a new row, a null to a deleted one
+        void move(K from, K to, long rows) {
+            if (from == to) {
+                return;
+            }
+            if (from != null) {
+                byKey.get(from).add(-rows);
+            } else {
+                total.add(rows);
+            }
+            if (to != null) {
+                byKey.get(to).add(rows);
+            } else {
+                total.add(-rows);
+            }
+        }
+
+        // Caller holds the write lock; returns how far the counters were off
+        long set(List<GroupedCount<K>> counts) {
+            Map<K, Long> expected = new EnumMap<>(type);
+            long expectedTotal = 0;
+            for (GroupedCount<K> count : counts) {
+                expectedTotal += count.count();
+                if (count.key() != null) {
+                    expected.put(count.key(), count.count());
+                }
+            }
+            long totalDifference = expectedTotal - total.sum();
+            long drift = Math.abs(totalDifference);
+            total.add(totalDifference);
+            for (Map.Entry<K, LongAdder> entry : byKey.entrySet()) {
+                long difference = expected.getOrDefault(entry.getKey(), 0L) - entry.getValue().sum();
+                drift += Math.abs(difference);
+                entry.getValue().add(difference);
+            }
+            return drift;
+        }
+
+        int total() {
+            return Math.toIntExact(total.sum());
+        }
+
+        int count(K key) {
+            return Math.toIntExact(byKey.get(key).sum());
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package io.werescuecats.backend.service;
+
+import io.werescuecats.backend.entity.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Fills the derived region columns of rows written before they existed.
+ * Works in chunks of ids, each chunk in its own short transaction, so a large table
+ * is never locked for long and an interrupted run simply continues on the next start.
+ */
+@Service
+@Slf4j
+public class RegionBackfillService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AdoptionStatsCube adoptionStatsCube;
+    private final boolean enabled;
+    private final int chunkSize;
+
+    public RegionBackfillService(JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 AdoptionStatsCube adoptionStatsCube,
+                                 @Value("${regions.backfill.enabled:true}") boolean enabled,
+                                 @Value("${regions.backfill.chunk-size:500}") int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Region backfill chunk size must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.adoptionStatsCube = adoptionStatsCube;
+        this.enabled = enabled;
+        this.chunkSize = chunkSize;
+    }
+
+    private record UserAddress(long id, String streetAddress) {}
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                backfill();
+            } catch (RuntimeException e) {
+                log.error("Region backfill failed, it resumes on the next start", e);
+            }
+        }, "region-backfill");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Backfills users first, then copies their regions to their adoptions.
+     * @return the number of rows updated
+     */
+    public int backfill() {
+        int users = backfillUsers();
+        int adoptions = backfillAdoptions();
+        if (adoptions > 0) {
+            // The cube grouped these adoptions under an unknown region
+            adoptionStatsCube.invalidate();
+        }
+        if (users + adoptions > 0) {
+            log.info("Region backfill updated {} users and {} adoptions", users, adoptions);
+        }
+        return users + adoptions;
+    }
+
+    // The region is derived in Java, so users are read and written back one chunk at a time
+    int backfillUsers() {
+        int updated = 0;
+        long afterId = 0;
+        while (true) {
+            List<UserAddress> chunk = jdbcTemplate.query(
+                "SELECT user_id, street_address FROM users WHERE region IS NULL AND user_id > ? " +
+                "ORDER BY user_id LIMIT ?",
+                (rs, rowNum) -> new UserAddress(rs.getLong("user_id"), rs.getString("street_address")),
+                afterId, chunkSize);
+            if (chunk.isEmpty()) {
+                return updated;
+            }
+            List<Object[]> args = chunk.stream()
+                .map(user -> new Object[] {User.regionOf(user.streetAddress()), user.id()})
+                .toList();
+            transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate("UPDATE users SET region = ? WHERE user_id = ? AND region IS NULL", args));
+            updated += chunk.size();
+            afterId = chunk.get(chunk.size() - 1).id();
+        }
+    }
+
+    // Adoptions take the region of their adopter, one set-based update per id range
+    int backfillAdoptions() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(adoption_id) FROM adoptions", Long.class);
+        if (maxId == null) {
+            return 0;
+        }
+        int updated = 0;
+        for (long from = 0; from < maxId; from += chunkSize) {
+            updated += jdbcTemplate.update(
+                "UPDATE adoptions SET region = (SELECT u.region FROM users u WHERE u.user_id = adoptions.user_id) " +
+                "WHERE adoption_id > ? AND adoption_id <= ? AND region IS NULL",
+                from, from + chunkSize);
+        }
+        return updated;
+    }
+}
@@ -2,11 +2,13 @@ package io.werescuecats.backend.service;
 
 import io.werescuecats.backend.entity.User;
 import io.werescuecats.backend.entity.UserRole;
+import io.werescuecats.backend.event.UserChangedEvent;
 import io.werescuecats.backend.exception.UserAlreadyExistsException;
 import io.werescuecats.backend.exception.UserNotFoundException;
 import io.werescuecats.backend.repository.UserRepository;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -22,6 +24,7 @@ public class UserService {
     
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
     
     public Optional<User> getUserById(Long id) {
         if (!userRepository.existsById(id)) {
@@ -58,17 +61,20 @@ public class UserService {
         }
         
         log.info("Creating new user: {}", user.getEmail());
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(savedUser.getId(), null, savedUser.getRole()));
+        return savedUser;
     }
     
     @Transactional
     public User updateUser(User user) {
-        if (!userRepository.existsById(user.getId())) {
-            throw new UserNotFoundException("User not found with ID: " + user.getId());
-        }
+        UserRole previousRole = userRepository.findRoleById(user.getId())
+            .orElseThrow(() -> new UserNotFoundException("User not found with ID: " + user.getId()));
 
         log.info("Updating user: {}", user.getEmail());
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(savedUser.getId(), previousRole, savedUser.getRole()));
+        return savedUser;
     }
     
     @Transactional
@@ -108,11 +114,11 @@ public class UserService {
 
     @Transactional
     public void deleteUser(Long userId) {
-        if (!userRepository.existsById(userId)) {
-            throw new UserNotFoundException("User not found with ID: " + userId);
-        }
+        UserRole role = userRepository.findRoleById(userId)
+            .orElseThrow(() -> new UserNotFoundException("User not found with ID: " + userId));
         
         userRepository.deleteById(userId);
+        eventPublisher.publishEvent(new UserChangedEvent(userId, role, null));
         log.info("Deleted user with ID: {}", userId);
     }
 
@@ -123,6 +129,7 @@ public class UserService {
             User user = userOpt.get();
             user.setPasswordHash(passwordEncoder.encode(newPassword));
             User savedUser = userRepository.save(user);
+            eventPublisher.publishEvent(new UserChangedEvent(userId, user.getRole(), user.getRole()));
             log.info("Password changed for user ID: {}", userId);
             return savedUser;
         } else {
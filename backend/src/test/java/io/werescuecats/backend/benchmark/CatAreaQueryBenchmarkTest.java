@@ -0,0 +1,112 @@
+package io.werescuecats.backend.benchmark;
+
+import io.werescuecats.backend.entity.Cat;
+import io.werescuecats.backend.entity.CatStatus;
+import io.werescuecats.backend.repository.CatRepository;
+import io.werescuecats.backend.service.CatLocationIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the in-memory cat location index with the JPQL bounding box query.
+ * Run with: mvn test -Pbenchmark -Dbenchmark.cats=1000000
+ */
+@Tag("benchmark")
+@Slf4j
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "catapi.fetch-on-startup=false")
+class CatAreaQueryBenchmarkTest {
+
+    private static final double LAT = 51.0504;
+    private static final double LON = 13.7373;
+    private static final int QUERIES = 200;
+
+    @Autowired
+    private CatRepository catRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void compareIndexWithBoundingBoxQuery() {
+        int catCount = Integer.getInteger("benchmark.cats", 200_000);
+        Random random = new Random(7);
+        double[][] points = new double[catCount][2];
+        for (int i = 0; i < catCount; i++) {
+            points[i][0] = LAT + random.nextGaussian() * 2;
+            points[i][1] = LON + random.nextGaussian() * 3;
+        }
+
+        insertCats(points);
+        CatLocationIndex index = new CatLocationIndex(catRepository, true, 0.1);
+        for (int i = 0; i < catCount; i++) {
+            Cat cat = new Cat();
+            cat.setId((long) i + 1);
+            cat.setLatitude(points[i][0]);
+            cat.setLongitude(points[i][1]);
+            cat.setStatus(CatStatus.AVAILABLE);
+            index.update(cat);
+        }
+
+        double radiusKm = 10.0;
+        double latDelta = radiusKm / 111.0;
+        double lonDelta = radiusKm / (111.0 * Math.cos(Math.toRadians(LAT)));
+
+        int boxRows = 0;
+        long start = System.nanoTime();
+        for (int q = 0; q < QUERIES; q++) {
+            boxRows = catRepository.findCatsInArea(LAT - latDelta, LAT + latDelta,
+                    LON - lonDelta, LON + lonDelta, CatStatus.AVAILABLE).size();
+        }
+        double boxMicros = (System.nanoTime() - start) / 1_000.0 / QUERIES;
+
+        int radiusHits = 0;
+        start = System.nanoTime();
+        for (int q = 0; q < QUERIES; q++) {
+            radiusHits = index.findWithinRadius(LAT, LON, radiusKm).size();
+        }
+        double radiusMicros = (System.nanoTime() - start) / 1_000.0 / QUERIES;
+
+        start = System.nanoTime();
+        for (int q = 0; q < QUERIES; q++) {
+            index.findNearest(LAT + q * 0.001, LON, 10);
+        }
+        double nearestMicros = (System.nanoTime() - start) / 1_000.0 / QUERIES;
+
+        log.info("{} cats: JPQL box query {} rows in {} us/query", catCount, boxRows, String.format("%.1f", boxMicros));
+        log.info("{} cats: index radius query {} hits in {} us/query", catCount, radiusHits, String.format("%.1f", radiusMicros));
+        log.info("{} cats: index nearest-10 query in {} us/query", catCount, String.format("%.1f", nearestMicros));
+
+        assertThat(radiusHits).isLessThanOrEqualTo(boxRows);
+    }
+
+    private void insertCats(double[][] points) {
+        jdbcTemplate.update("INSERT INTO breeds (breed_id, name) VALUES ('bench', 'Benchmark')");
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < points.length; i++) {
+            batch.add(new Object[] { "Cat " + i, points[i][0], points[i][1], now, now });
+            if (batch.size() == 5_000 || i == points.length - 1) {
+                jdbcTemplate.batchUpdate(
+                        "INSERT INTO cats (name, breed_id, latitude, longitude, status, created_at, updated_at) " +
+                        "VALUES (?, 'bench', ?, ?, 'AVAILABLE', ?, ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+}
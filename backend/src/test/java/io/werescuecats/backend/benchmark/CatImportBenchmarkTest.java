@@ -0,0 +1,68 @@
+package io.werescuecats.backend.benchmark;
+
+import io.werescuecats.backend.dto.CatImportResult;
+import io.werescuecats.backend.service.CatImportService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures bulk import throughput through the CSV path, from parsing to the JDBC batch inserts.
+ * Run with: mvn test -Pbenchmark -Dbenchmark.cats=100000
+ */
+@Tag("benchmark")
+@Slf4j
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "catapi.fetch-on-startup=false")
+class CatImportBenchmarkTest {
+
+    @Autowired
+    private CatImportService catImportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void importCsv() throws Exception {
+        int catCount = Integer.getInteger("benchmark.cats", 100_000);
+        jdbcTemplate.update("INSERT INTO breeds (breed_id, name) VALUES ('import-bench', 'Import Benchmark')");
+        byte[] csv = csv(catCount);
+
+        // Warm-up run on a small slice of the input
+        catImportService.importCsv(new ByteArrayInputStream(csv(1_000)), StandardCharsets.UTF_8);
+
+        long start = System.nanoTime();
+        CatImportResult result = catImportService.importCsv(new ByteArrayInputStream(csv), StandardCharsets.UTF_8);
+        long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+
+        log.info("Imported {} cats in {} ms, {} cats/s", result.imported(), millis, result.imported() * 1000L / millis);
+        assertThat(result.imported()).isEqualTo(catCount);
+        assertThat(result.failed()).isZero();
+    }
+
+    private byte[] csv(int catCount) {
+        StringBuilder csv = new StringBuilder("name,age,gender,description,breedId,latitude,longitude,address\n");
+        for (int i = 0; i < catCount; i++) {
+            csv.append("Cat ").append(i).append(',')
+               .append(i % 15).append(',')
+               .append(i % 2 == 0 ? "Female" : "Male").append(',')
+               .append("\"Calm, friendly and fond of sunny windowsills\"").append(',')
+               .append("import-bench").append(',')
+               .append(51.0 + (i % 1000) / 1000.0).append(',')
+               .append(-0.5 + (i % 700) / 1000.0).append(',')
+               .append("Shelter ").append(i % 50).append('\n');
+        }
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
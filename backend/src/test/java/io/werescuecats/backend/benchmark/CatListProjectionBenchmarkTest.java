@@ -0,0 +1,122 @@
+package io.werescuecats.backend.benchmark;
+
+import io.werescuecats.backend.dto.CatDto;
+import io.werescuecats.backend.entity.Cat;
+import io.werescuecats.backend.repository.CatRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares loading cat entities and mapping them to CatDto with the CatDto projection query.
+ * Reports wall time and bytes allocated by the calling thread per listing.
+ * Run with: mvn test -Pbenchmark -Dbenchmark.cats=100000
+ */
+@Tag("benchmark")
+@Slf4j
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "catapi.fetch-on-startup=false")
+class CatListProjectionBenchmarkTest {
+
+    private static final int ROUNDS = 5;
+
+    @Autowired
+    private CatRepository catRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void compareEntityMappingWithProjection() {
+        int catCount = Integer.getInteger("benchmark.cats", 100_000);
+        insertCats(catCount);
+
+        // Entity path as the list endpoints used it: managed entities, breed fetched by graph, mapped afterwards
+        Supplier<List<CatDto>> entities = () -> transactionTemplate.execute(status ->
+                catRepository.findAll().stream().map(this::toDto).toList());
+        Supplier<List<CatDto>> projection = () -> transactionTemplate.execute(status ->
+                catRepository.findAllDtos());
+
+        // Warm up both paths before measuring
+        entities.get();
+        projection.get();
+
+        long[] entityResult = measure(entities);
+        long[] projectionResult = measure(projection);
+
+        log.info("{} cats: entity load + mapping {} ms, {} MB allocated per listing",
+                catCount, entityResult[0], entityResult[1] / (1024 * 1024));
+        log.info("{} cats: CatDto projection {} ms, {} MB allocated per listing",
+                catCount, projectionResult[0], projectionResult[1] / (1024 * 1024));
+
+        assertThat(projection.get()).hasSize(catCount);
+    }
+
+    // Average {millis, allocated bytes} over ROUNDS runs on the current thread
+    private long[] measure(Supplier<List<CatDto>> listing) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            listing.get();
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000 / ROUNDS;
+        long allocated = (threads.getThreadAllocatedBytes(threadId) - allocatedBefore) / ROUNDS;
+        return new long[] { millis, allocated };
+    }
+
+    private CatDto toDto(Cat cat) {
+        return CatDto.builder()
+                .id(cat.getId())
+                .name(cat.getName())
+                .age(cat.getAge())
+                .gender(cat.getGender())
+                .description(cat.getDescription())
+                .breedId(cat.getBreed().getId())
+                .breedName(cat.getBreed().getName())
+                .imageUrl(cat.getImageUrl())
+                .latitude(cat.getLatitude())
+                .longitude(cat.getLongitude())
+                .address(cat.getAddress())
+                .status(cat.getStatus())
+                .createdAt(cat.getCreatedAt())
+                .updatedAt(cat.getUpdatedAt())
+                .build();
+    }
+
+    private void insertCats(int catCount) {
+        jdbcTemplate.update("INSERT INTO breeds (breed_id, name) VALUES ('bench', 'Benchmark')");
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        String description = "A calm, friendly cat who enjoys sunny windowsills and quiet evenings. ".repeat(8);
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < catCount; i++) {
+            batch.add(new Object[] { "Cat " + i, description, now, now });
+            if (batch.size() == 5_000 || i == catCount - 1) {
+                jdbcTemplate.batchUpdate(
+                        "INSERT INTO cats (name, description, breed_id, status, created_at, updated_at) " +
+                        "VALUES (?, ?, 'bench', 'AVAILABLE', ?, ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package io.werescuecats.backend.benchmark;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.werescuecats.backend.dto.UserAuthState;
+import io.werescuecats.backend.entity.User;
+import io.werescuecats.backend.entity.UserRole;
+import io.werescuecats.backend.repository.UserRepository;
+import io.werescuecats.backend.security.CustomUserDetails;
+import io.werescuecats.backend.security.CustomUserDetailsService;
+import io.werescuecats.backend.security.JwtAuthenticationFilter;
+import io.werescuecats.backend.security.JwtUtils;
+import io.werescuecats.backend.security.UserStateCache;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Per-request cost of the JWT filter: the previous verification, which parsed and verified the token
+ * three times with a freshly derived key and parser each time, against the filter as it is now.
+ * The previous path is measured without its user query; the filter resolves the user from the
+ * user state cache, whose repository is stubbed.
+ * Run with: mvn test -Pbenchmark -Dbenchmark.requests=200000
+ */
+@Tag("benchmark")
+@Slf4j
+class JwtFilterBenchmarkTest {
+
+    private static final String SECRET = "benchmarksecretthatisatleast32characterslong";
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void compareTripleParseWithSingleVerification() throws Exception {
+        int requests = Integer.getInteger("benchmark.requests", 200_000);
+        JwtUtils jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "expiration", 3_600_000L);
+        ReflectionTestUtils.invokeMethod(jwtUtils, "init");
+
+        User user = new User();
+        user.setId(1L);
+        user.setEmail("bench@example.com");
+        user.setFirstName("Bench");
+        user.setLastName("Mark");
+        user.setRole(UserRole.USER);
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findAuthStateById(1L))
+                .thenReturn(Optional.of(new UserAuthState(1L, user.getEmail(), UserRole.USER, true)));
+        UserStateCache userStateCache = new UserStateCache(
+                userRepository, mock(PlatformTransactionManager.class), 1_000, Duration.ofMinutes(5));
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(
+                jwtUtils, mock(CustomUserDetailsService.class), userStateCache);
+
+        String token = jwtUtils.generateToken(new CustomUserDetails(user),
+                Map.of("userId", 1L, "role", "USER", "firstName", "Bench", "lastName", "Mark"));
+
+        // Warm up both paths before measuring
+        for (int i = 0; i < requests / 10; i++) {
+            previousVerification(token, user.getEmail());
+            filter(filter, token);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            assertThat(previousVerification(token, user.getEmail())).isTrue();
+        }
+        long previousNanos = (System.nanoTime() - start) / requests;
+
+        start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            filter(filter, token);
+        }
+        long filterNanos = (System.nanoTime() - start) / requests;
+
+        log.info("{} requests: previous triple parse {} us, current filter {} us per request",
+                requests, previousNanos / 1_000.0, filterNanos / 1_000.0);
+        assertThat(filterNanos).isLessThan(previousNanos);
+    }
+
+    private static void filter(JwtAuthenticationFilter filter, String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/cats");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
+        SecurityContextHolder.clearContext();
+    }
+
+    // extractUsername in the filter, then extractUsername and extractExpiration in validateToken
+    private static boolean previousVerification(String token, String username) {
+        String subject = previousClaim(token, Claims::getSubject);
+        return previousClaim(token, Claims::getSubject).equals(subject)
+                && subject.equals(username)
+                && !previousClaim(token, Claims::getExpiration).before(new Date());
+    }
+
+    private static <T> T previousClaim(String token, Function<Claims, T> resolver) {
+        return resolver.apply(Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload());
+    }
+}
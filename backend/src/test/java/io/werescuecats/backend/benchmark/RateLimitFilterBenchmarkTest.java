@@ -0,0 +1,115 @@
+package io.werescuecats.backend.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.werescuecats.backend.security.RateLimitFilter;
+import io.werescuecats.backend.service.ApiTokenService;
+import jakarta.servlet.FilterChain;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Per-request cost of the rate limit filter against calling the rest of the chain directly,
+ * spread over many clients, and its throughput when every core sends requests at once.
+ * At 50k requests per second a request may take 20 us of one core; the filter has to stay
+ * well below a tenth of that.
+ * Run with: mvn test -Pbenchmark -Dbenchmark.requests=1000000
+ */
+@Tag("benchmark")
+@Slf4j
+class RateLimitFilterBenchmarkTest {
+
+    private static final long REQUEST_BUDGET_NANOS = 1_000_000_000L / 50_000;
+    private static final int CLIENTS = 10_000;
+
+    private static final FilterChain PASS = (request, response) -> { };
+
+    @Test
+    void filterOverheadAndConcurrentThroughput() throws Exception {
+        int requests = Integer.getInteger("benchmark.requests", 1_000_000);
+        // Large enough that no client runs out, so every request takes the full path
+        RateLimitFilter filter = new RateLimitFilter(true, 100_000, List.of(
+                RateLimitFilter.Policy.perMinute("public", RateLimitFilter.Key.CLIENT_IP,
+                        1_000_000, 60_000, true, "/api/cats", "/api/breeds")),
+                mock(ApiTokenService.class), new SimpleMeterRegistry());
+
+        MockHttpServletRequest[] clientRequests = requests();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Warm up both paths before measuring
+        for (int i = 0; i < requests / 10; i++) {
+            MockHttpServletRequest request = clientRequests[i % CLIENTS];
+            PASS.doFilter(request, response);
+            filter.doFilter(request, response, PASS);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            PASS.doFilter(clientRequests[i % CLIENTS], response);
+        }
+        long chainNanos = (System.nanoTime() - start) / requests;
+
+        start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            filter.doFilter(clientRequests[i % CLIENTS], response, PASS);
+        }
+        long filterNanos = (System.nanoTime() - start) / requests;
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+
+        int threads = Runtime.getRuntime().availableProcessors();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> senders = new ArrayList<>();
+            start = System.nanoTime();
+            for (int thread = 0; thread < threads; thread++) {
+                // Requests of their own per thread, but the same clients, so buckets see concurrent updates
+                MockHttpServletRequest[] threadRequests = requests();
+                senders.add(executor.submit(() -> {
+                    MockHttpServletResponse threadResponse = new MockHttpServletResponse();
+                    for (int i = 0; i < requests / threads; i++) {
+                        filter.doFilter(threadRequests[i % CLIENTS], threadResponse, PASS);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> sender : senders) {
+                sender.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        double throughput = (double) requests / (System.nanoTime() - start) * 1_000_000_000L;
+
+        long overheadNanos = Math.max(0, filterNanos - chainNanos);
+        log.info("{} requests over {} clients: {} ns per request in the filter ({}% of the budget at 50k req/s), "
+                        + "{} req/s on {} threads",
+                requests, CLIENTS, overheadNanos, overheadNanos * 100.0 / REQUEST_BUDGET_NANOS,
+                Math.round(throughput), threads);
+        assertThat(overheadNanos).isLessThan(REQUEST_BUDGET_NANOS / 10);
+        assertThat(throughput).isGreaterThan(50_000);
+    }
+
+    // Requests of every client, with the client's address; the filter can reuse them as it
+    // removes its own request attribute when done
+    private static MockHttpServletRequest[] requests() {
+        MockHttpServletRequest[] requests = new MockHttpServletRequest[CLIENTS];
+        for (int client = 0; client < CLIENTS; client++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/cats/" + client);
+            request.setRemoteAddr("10." + (client >> 16) + "." + ((client >> 8) & 0xff) + "." + (client & 0xff));
+            requests[client] = request;
+        }
+        return requests;
+    }
+}
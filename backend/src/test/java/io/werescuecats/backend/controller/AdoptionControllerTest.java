@@ -17,6 +17,7 @@ import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -68,6 +69,11 @@ class AdoptionControllerTest {
         adoption.setTenantId("main");
     }
 
+    private AdoptionView adoptionView() {
+        return new AdoptionView(1L, AdoptionStatus.PENDING, adoption.getAdoptionDate(), null, null,
+                null, null, "main", 1L, "user@test.com", "John", "Doe", 1L, "Fluffy", "Persian");
+    }
+
     @Test
     void createAdoption_ShouldReturnAdoptionDto() {
         AdoptionRequestDto request = new AdoptionRequestDto();
@@ -88,38 +94,37 @@ class AdoptionControllerTest {
 
     @Test
     void getPendingAdoptions_ShouldReturnPendingAdoptions() {
-        List<Adoption> pendingAdoptions = Arrays.asList(adoption);
-        when(adoptionService.getPendingAdoptions()).thenReturn(pendingAdoptions);
+        when(adoptionService.getPendingAdoptionViews()).thenReturn(List.of(adoptionView()));
 
         ResponseEntity<List<AdoptionDto>> response = adoptionController.getPendingAdoptions();
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(1, response.getBody().size());
-        verify(adoptionService).getPendingAdoptions();
+        assertEquals("Persian", response.getBody().get(0).getCat().getBreed());
+        verify(adoptionService).getPendingAdoptionViews();
     }
 
     @Test
     void getAdoptionsByUser_ShouldReturnUserAdoptions() {
-        List<Adoption> userAdoptions = Arrays.asList(adoption);
-        when(adoptionService.getAdoptionsByUser(1L)).thenReturn(userAdoptions);
+        when(adoptionService.getAdoptionViewsByUser(1L)).thenReturn(List.of(adoptionView()));
 
         ResponseEntity<List<AdoptionDto>> response = adoptionController.getAdoptionsByUser(1L);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(1, response.getBody().size());
-        verify(adoptionService).getAdoptionsByUser(1L);
+        assertEquals("user@test.com", response.getBody().get(0).getUser().getEmail());
+        verify(adoptionService).getAdoptionViewsByUser(1L);
     }
 
     @Test
     void getAllAdoptions_ShouldReturnAllAdoptions() {
-        List<Adoption> allAdoptions = Arrays.asList(adoption);
-        when(adoptionService.getAllAdoptions()).thenReturn(allAdoptions);
+        when(adoptionService.getAllAdoptionViews()).thenReturn(List.of(adoptionView()));
 
         ResponseEntity<List<AdoptionDto>> response = adoptionController.getAllAdoptions();
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(1, response.getBody().size());
-        verify(adoptionService).getAllAdoptions();
+        verify(adoptionService).getAllAdoptionViews();
     }
 
     @Test
@@ -222,9 +227,11 @@ class AdoptionControllerTest {
 
     @Test
     void getUserAdoptionStats_ShouldReturnStats() {
-        List<Adoption> userAdoptions = Arrays.asList(adoption);
-        when(adoptionService.getUserAdoptionCount(1L)).thenReturn(1L);
-        when(adoptionService.getAdoptionsByUser(1L)).thenReturn(userAdoptions);
+        AdoptionStatsDto stats = new AdoptionStatsDto();
+        stats.setUserId(1L);
+        stats.setTotalApplications(1);
+        stats.setPendingApplications(1);
+        when(adoptionService.getUserAdoptionStats(1L)).thenReturn(stats);
 
         ResponseEntity<AdoptionStatsDto> response = adoptionController.getUserAdoptionStats(1L);
 
@@ -232,7 +239,38 @@ class AdoptionControllerTest {
         assertEquals(1L, response.getBody().getUserId());
         assertEquals(1, response.getBody().getTotalApplications());
         assertEquals(1, response.getBody().getPendingApplications());
-        verify(adoptionService).getUserAdoptionCount(1L);
-        verify(adoptionService).getAdoptionsByUser(1L);
+        verify(adoptionService, never()).getAdoptionsByUser(anyLong());
+    }
+
+    @Test
+    void getAdoptionStatsForUsers_ShouldReturnStatsOfAllUsers() {
+        AdoptionStatsDto stats = new AdoptionStatsDto();
+        stats.setUserId(1L);
+        when(adoptionService.getAdoptionStatsForUsers(List.of(1L, 2L))).thenReturn(List.of(stats, stats));
+
+        ResponseEntity<List<AdoptionStatsDto>> response = adoptionController.getAdoptionStatsForUsers(List.of(1L, 2L));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(2, response.getBody().size());
+    }
+
+    @Test
+    void getAdoptionStatsForUsers_ShouldRejectTooManyUsers() {
+        List<Long> userIds = LongStream.rangeClosed(1, AdoptionController.MAX_STATS_USERS + 1)
+                .boxed().toList();
+
+        ResponseEntity<List<AdoptionStatsDto>> response = adoptionController.getAdoptionStatsForUsers(userIds);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verifyNoInteractions(adoptionService);
+    }
+
+    @Test
+    void getAdoptionStatsForUsers_ShouldRejectMissingUserIds() {
+        ResponseEntity<List<AdoptionStatsDto>> response =
+                adoptionController.getAdoptionStatsForUsers(Arrays.asList(1L, null));
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verifyNoInteractions(adoptionService);
     }
 }
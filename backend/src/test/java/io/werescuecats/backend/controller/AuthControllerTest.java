@@ -3,6 +3,7 @@ package io.werescuecats.backend.controller;
 import io.werescuecats.backend.dto.*;
 import io.werescuecats.backend.entity.User;
 import io.werescuecats.backend.entity.UserRole;
+import io.werescuecats.backend.exception.PasswordHashingBusyException;
 import io.werescuecats.backend.security.CustomUserDetails;
 import io.werescuecats.backend.security.JwtUtils;
 import io.werescuecats.backend.service.AdoptionService;
@@ -13,6 +14,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -101,7 +103,7 @@ class AuthControllerTest {
         ResponseEntity<LoginResponseDto> response = authController.loginUser(loginRequest);
 
         assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
-        verify(adoptionService, never()).getAnonymousAdoptionData();
+        verify(adoptionService, never()).streamAnonymousAdoptionData(any(), any(), any(), any());
     }
 
     @Test
@@ -117,6 +119,19 @@ class AuthControllerTest {
         assertEquals("Login failed", response.getBody().getMessage());
     }
 
+    @Test
+    void loginUser_ShouldReturnServiceUnavailable_WhenPasswordHashingBusy() {
+        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
+                .thenThrow(new PasswordHashingBusyException("Too many password hashes in progress"));
+
+        ResponseEntity<LoginResponseDto> response = authController.loginUser(loginRequest);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertFalse(response.getBody().isSuccess());
+        verify(userService, never()).updateLastLogin(any());
+    }
+
     @Test
     void registerUser_ShouldReturnCreated_WhenRegistrationSuccessful() {
         
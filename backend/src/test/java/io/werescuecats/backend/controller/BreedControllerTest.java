@@ -2,6 +2,7 @@ package io.werescuecats.backend.controller;
 
 import io.werescuecats.backend.dto.BreedDto;
 import io.werescuecats.backend.entity.Breed;
+import io.werescuecats.backend.service.BreedCatalogVersion;
 import io.werescuecats.backend.service.BreedService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,7 +12,11 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -29,9 +34,13 @@ class BreedControllerTest {
     private BreedController breedController;
 
     private Breed breed;
+    private BreedCatalogVersion.State version;
 
     @BeforeEach
     void setUp() {
+        version = new BreedCatalogVersion.State(1000L, Instant.parse("2026-01-01T00:00:00Z"));
+        when(breedService.getCatalogVersion()).thenReturn(version);
+
         breed = new Breed("persian", "Persian");
         breed.setDescription("A lovely long-haired breed");
         breed.setOrigin("Iran");
@@ -45,19 +54,59 @@ class BreedControllerTest {
         List<Breed> breeds = Arrays.asList(breed);
         when(breedService.getAllBreeds()).thenReturn(breeds);
 
-        ResponseEntity<List<BreedDto>> response = breedController.getAllBreeds();
+        ResponseEntity<List<BreedDto>> response = breedController.getAllBreeds(request());
         
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(1, response.getBody().size());
         assertEquals("Persian", response.getBody().get(0).getName());
         verify(breedService).getAllBreeds();
+        assertEquals("W/\"1000\"", response.getHeaders().getETag());
+        assertEquals("max-age=86400, public", response.getHeaders().getCacheControl());
+    }
+
+    @Test
+    void getAllBreeds_ShouldAnswerNotModified_WhenETagMatches() {
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/api/breeds");
+        servletRequest.addHeader("If-None-Match", "W/\"1000\"");
+
+        ResponseEntity<List<BreedDto>> response = breedController.getAllBreeds(
+                new ServletWebRequest(servletRequest, new MockHttpServletResponse()));
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        verify(breedService, never()).getAllBreeds();
+    }
+
+    @Test
+    void getAllBreeds_ShouldAnswerNotModified_WhenNotModifiedSince() {
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/api/breeds");
+        servletRequest.addHeader("If-Modified-Since", "Thu, 01 Jan 2026 00:00:00 GMT");
+
+        ResponseEntity<List<BreedDto>> response = breedController.getAllBreeds(
+                new ServletWebRequest(servletRequest, new MockHttpServletResponse()));
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        verify(breedService, never()).getAllBreeds();
+    }
+
+    @Test
+    void getAllBreeds_ShouldReturnBody_WhenETagIsStale() {
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/api/breeds");
+        servletRequest.addHeader("If-None-Match", "W/\"999\"");
+        when(breedService.getAllBreeds()).thenReturn(List.of(breed));
+
+        ResponseEntity<List<BreedDto>> response = breedController.getAllBreeds(
+                new ServletWebRequest(servletRequest, new MockHttpServletResponse()));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().size());
     }
 
     @Test
     void getBreedById_ShouldReturnBreed_WhenExists() {
         when(breedService.getBreedById("persian")).thenReturn(Optional.of(breed));
 
-        ResponseEntity<BreedDto> response = breedController.getBreedById("persian");
+        ResponseEntity<BreedDto> response = breedController.getBreedById("persian", request());
         
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals("Persian", response.getBody().getName());
@@ -69,7 +118,7 @@ class BreedControllerTest {
         
         when(breedService.getBreedById("nonexistent")).thenReturn(Optional.empty());
 
-        ResponseEntity<BreedDto> response = breedController.getBreedById("nonexistent");
+        ResponseEntity<BreedDto> response = breedController.getBreedById("nonexistent", request());
 
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
         verify(breedService).getBreedById("nonexistent");
@@ -87,4 +136,8 @@ class BreedControllerTest {
         assertEquals("Persian", response.getBody().get(0).getName());
         verify(breedService).searchBreeds("Persian", 4, null, null, "Iran");
     }
+
+    private ServletWebRequest request() {
+        return new ServletWebRequest(new MockHttpServletRequest("GET", "/api/breeds"), new MockHttpServletResponse());
+    }
 }
\ No newline at end of file
@@ -1,27 +1,45 @@
 package io.werescuecats.backend.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.werescuecats.backend.dto.CatCursor;
 import io.werescuecats.backend.dto.CatDto;
+import io.werescuecats.backend.dto.CatImportResult;
 import io.werescuecats.backend.dto.StatusUpdateRequestDto;
 import io.werescuecats.backend.entity.Breed;
 import io.werescuecats.backend.entity.Cat;
 import io.werescuecats.backend.entity.CatStatus;
+import io.werescuecats.backend.service.AvailableCatsSnapshot;
 import io.werescuecats.backend.service.BreedService;
+import io.werescuecats.backend.service.CatImportService;
 import io.werescuecats.backend.service.CatService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +51,12 @@ class CatControllerTest {
     @Mock
     private BreedService breedService;
 
+    @Mock
+    private CatImportService catImportService;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
     @InjectMocks
     private CatController catController;
 
@@ -67,28 +91,107 @@ class CatControllerTest {
 
     @Test
     void getAvailableCats_ShouldReturnAvailableCats() {
-        List<Cat> availableCats = Arrays.asList(cat);
-        when(catService.getAvailableCats()).thenReturn(availableCats);
+        when(catService.getAvailableCatsView())
+            .thenReturn(new AvailableCatsSnapshot.View(42L, List.of(catDto), Instant.now()));
 
-        ResponseEntity<List<CatDto>> response = catController.getAvailableCats();
+        ResponseEntity<List<CatDto>> response = catController.getAvailableCats(null, null, request());
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(1, response.getBody().size());
         assertEquals("Fluffy", response.getBody().get(0).getName());
-        verify(catService).getAvailableCats();
+        assertEquals("W/\"42\"", response.getHeaders().getETag());
+        verify(catService).getAvailableCatsView();
+    }
+
+    @Test
+    void getAvailableCats_ShouldAnswerNotModified_WhenSnapshotVersionMatches() {
+        when(catService.getAvailableCatsView())
+            .thenReturn(new AvailableCatsSnapshot.View(42L, List.of(catDto), Instant.now()));
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/api/cats/available");
+        servletRequest.addHeader("If-None-Match", "W/\"42\"");
+
+        ResponseEntity<List<CatDto>> response = catController.getAvailableCats(null, null,
+            new ServletWebRequest(servletRequest, new MockHttpServletResponse()));
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals("no-cache", response.getHeaders().getCacheControl());
+    }
+
+    @Test
+    void getAvailableCats_WithLimit_ShouldReturnPageAndNextCursor() {
+        when(catService.getCatsPage(CatStatus.AVAILABLE, CatCursor.start(CatStatus.AVAILABLE), 1))
+                .thenReturn(List.of(cat));
+
+        ResponseEntity<List<CatDto>> response = catController.getAvailableCats(null, 1, request());
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().size());
+        String next = response.getHeaders().getFirst(CatController.NEXT_CURSOR_HEADER);
+        assertEquals(new CatCursor(CatStatus.AVAILABLE, 1L), CatCursor.decode(next));
+        verify(catService, never()).getAvailableCatsView();
+    }
+
+    @Test
+    void getAvailableCats_WithLastPage_ShouldOmitNextCursor() {
+        String cursor = new CatCursor(CatStatus.AVAILABLE, 1L).encode();
+        when(catService.getCatsPage(CatStatus.AVAILABLE, new CatCursor(CatStatus.AVAILABLE, 1L), 50))
+                .thenReturn(List.of());
+
+        ResponseEntity<List<CatDto>> response = catController.getAvailableCats(cursor, null, request());
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(response.getBody().isEmpty());
+        assertNull(response.getHeaders().getFirst(CatController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void getAvailableCats_ShouldRejectCursorForOtherStatus() {
+        String cursor = new CatCursor(CatStatus.ADOPTED, 10L).encode();
+
+        ResponseEntity<List<CatDto>> response = catController.getAvailableCats(cursor, 10, request());
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verify(catService, never()).getCatsPage(any(), any(), anyInt());
+    }
+
+    @Test
+    void getAllCats_ShouldRejectMalformedCursor() {
+        ResponseEntity<List<CatDto>> response = catController.getAllCats("not-a-cursor", 10);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void streamAvailableCats_ShouldWriteJsonArray() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<Cat> consumer = invocation.getArgument(1);
+            consumer.accept(cat);
+            consumer.accept(cat);
+            return null;
+        }).when(catService).streamCats(eq(CatStatus.AVAILABLE), any(Consumer.class));
+
+        ResponseEntity<StreamingResponseBody> response = catController.streamAvailableCats();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+
+        JsonNode written = objectMapper.readTree(out.toByteArray());
+        assertTrue(written.isArray());
+        assertEquals(2, written.size());
+        assertEquals("Fluffy", written.get(0).get("name").asText());
     }
 
     @Test
     void getCatsByBreed_ShouldReturnCatsOfSpecificBreed() {
-        List<Cat> breedCats = Arrays.asList(cat);
-        when(catService.getCatsByBreed("persian")).thenReturn(breedCats);
+        when(catService.getCatDtosByBreed("persian")).thenReturn(List.of(catDto));
         
         ResponseEntity<List<CatDto>> response = catController.getCatsByBreed("persian");
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(1, response.getBody().size());
         assertEquals("persian", response.getBody().get(0).getBreedId());
-        verify(catService).getCatsByBreed("persian");
+        verify(catService).getCatDtosByBreed("persian");
     }
 
     @Test
@@ -96,13 +199,49 @@ class CatControllerTest {
         List<Cat> areaCats = Arrays.asList(cat);
         when(catService.getCatsInArea(40.7128, -74.0060, 10.0)).thenReturn(areaCats);
 
-        ResponseEntity<List<CatDto>> response = catController.getCatsInArea(40.7128, -74.0060, 10.0);
+        ResponseEntity<List<CatDto>> response = catController.getCatsInArea(40.7128, -74.0060, 10.0, null, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(1, response.getBody().size());
         verify(catService).getCatsInArea(40.7128, -74.0060, 10.0);
     }
 
+    @Test
+    void getCatsInArea_ShouldRequestPage_WhenPagingParametersGiven() {
+        when(catService.getCatsInArea(40.7128, -74.0060, 10.0, 2, 20)).thenReturn(List.of(cat));
+
+        ResponseEntity<List<CatDto>> response = catController.getCatsInArea(40.7128, -74.0060, 10.0, 2, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(catService).getCatsInArea(40.7128, -74.0060, 10.0, 2, 20);
+    }
+
+    @Test
+    void getCatsInArea_ShouldReturnBadRequest_WhenPageSizeTooLarge() {
+        ResponseEntity<List<CatDto>> response = catController.getCatsInArea(40.7128, -74.0060, 10.0, 0, 10_000);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    @Test
+    void getNearestCats_ShouldReturnCatsInDistanceOrder() {
+        when(catService.getNearestCats(51.05, 13.73, 5)).thenReturn(List.of(cat));
+
+        ResponseEntity<List<CatDto>> response = catController.getNearestCats(51.05, 13.73, 5);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().size());
+        verify(catService).getNearestCats(51.05, 13.73, 5);
+    }
+
+    @Test
+    void getNearestCats_ShouldReturnBadRequest_WhenLimitOutOfRange() {
+        ResponseEntity<List<CatDto>> response = catController.getNearestCats(51.05, 13.73, 0);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verify(catService, never()).getNearestCats(anyDouble(), anyDouble(), anyInt());
+    }
+
     @Test
     void getCatById_ShouldReturnCat_WhenExists() {
         when(catService.getCatById(1L)).thenReturn(Optional.of(cat));
@@ -152,40 +291,40 @@ class CatControllerTest {
 
     @Test
     void getPendingCats_ShouldReturnPendingCats() {
-        cat.setStatus(CatStatus.PENDING);
-        when(catService.getPendingCats()).thenReturn(List.of(cat));
+        catDto.setStatus(CatStatus.PENDING);
+        when(catService.getCatDtos(CatStatus.PENDING)).thenReturn(List.of(catDto));
         
-        ResponseEntity<List<CatDto>> response = catController.getPendingCats();
+        ResponseEntity<List<CatDto>> response = catController.getPendingCats(null, null);
         
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(1, response.getBody().size());
         assertEquals(CatStatus.PENDING, response.getBody().get(0).getStatus());
-        verify(catService).getPendingCats();
+        verify(catService).getCatDtos(CatStatus.PENDING);
     }
 
     @Test
     void getAdoptedCats_ShouldReturnAdoptedCats() {
-        cat.setStatus(CatStatus.ADOPTED);
-        when(catService.getAdoptedCats()).thenReturn(List.of(cat));
+        catDto.setStatus(CatStatus.ADOPTED);
+        when(catService.getCatDtos(CatStatus.ADOPTED)).thenReturn(List.of(catDto));
         
-        ResponseEntity<List<CatDto>> response = catController.getAdoptedCats();
+        ResponseEntity<List<CatDto>> response = catController.getAdoptedCats(null, null);
         
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(1, response.getBody().size());
         assertEquals(CatStatus.ADOPTED, response.getBody().get(0).getStatus());
-        verify(catService).getAdoptedCats();
+        verify(catService).getCatDtos(CatStatus.ADOPTED);
     }
 
     @Test
     void getAllCats_ShouldReturnAllCats() {
-        when(catService.getAllCats()).thenReturn(List.of(cat));
+        when(catService.getCatDtos(null)).thenReturn(List.of(catDto));
         
-        ResponseEntity<List<CatDto>> response = catController.getAllCats();
+        ResponseEntity<List<CatDto>> response = catController.getAllCats(null, null);
         
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(1, response.getBody().size());
         assertEquals("Fluffy", response.getBody().get(0).getName());
-        verify(catService).getAllCats();
+        verify(catService).getCatDtos(null);
     }
 
     @Test
@@ -199,6 +338,30 @@ class CatControllerTest {
         verify(catService).saveCat(any(Cat.class));
     }
 
+    @Test
+    void importCatsCsv_ShouldReturnImportResult() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/cats/admin/import");
+        request.setContent("name,breedId\nFluffy,persian\n".getBytes(StandardCharsets.UTF_8));
+        CatImportResult result = new CatImportResult(1, 0, List.of(), false);
+        when(catImportService.importCsv(any(), eq(StandardCharsets.UTF_8))).thenReturn(result);
+
+        ResponseEntity<CatImportResult> response = catController.importCatsCsv(request);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(result, response.getBody());
+    }
+
+    @Test
+    void importCatsJson_ShouldReturnBadRequest_WhenInputIsNotAnArray() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/cats/admin/import");
+        request.setContent("{}".getBytes(StandardCharsets.UTF_8));
+        when(catImportService.importJson(any())).thenThrow(new IllegalArgumentException("Expected a JSON array of cats"));
+
+        ResponseEntity<CatImportResult> response = catController.importCatsJson(request);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
     @Test
     void updateCatStatus_ShouldReturnBadRequest_WhenExceptionThrown() {
         StatusUpdateRequestDto request = new StatusUpdateRequestDto();
@@ -261,4 +424,8 @@ class CatControllerTest {
         assertEquals(catDto.getAddress(), entity.getAddress());
         assertEquals(CatStatus.AVAILABLE, entity.getStatus());
     }
+
+    private ServletWebRequest request() {
+        return new ServletWebRequest(new MockHttpServletRequest("GET", "/api/cats"), new MockHttpServletResponse());
+    }
 }
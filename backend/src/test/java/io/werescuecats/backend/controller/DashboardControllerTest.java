@@ -1,11 +1,9 @@
 package io.werescuecats.backend.controller;
 
+import io.werescuecats.backend.dto.AdoptionTimeSeriesPoint;
 import io.werescuecats.backend.dto.DashboardStatsDto;
-import io.werescuecats.backend.entity.*;
-import io.werescuecats.backend.service.AdoptionService;
-import io.werescuecats.backend.service.CatService;
-import io.werescuecats.backend.service.UserService;
-import org.junit.jupiter.api.BeforeEach;
+import io.werescuecats.backend.service.AdoptionTimeSeries;
+import io.werescuecats.backend.service.DashboardStatsService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -14,86 +12,73 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
-import java.util.Arrays;
+import java.time.LocalDate;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class DashboardControllerTest {
 
     @Mock
-    private CatService catService;
+    private DashboardStatsService dashboardStatsService;
 
     @Mock
-    private UserService userService;
-
-    @Mock
-    private AdoptionService adoptionService;
+    private AdoptionTimeSeries adoptionTimeSeries;
 
     @InjectMocks
     private DashboardController dashboardController;
 
-    private List<Cat> cats;
-    private List<User> users;
-    private List<Adoption> adoptions;
-
-    @BeforeEach
-    void setUp() {
-        Cat availableCat = new Cat();
-        availableCat.setStatus(CatStatus.AVAILABLE);
-        
-        Cat adoptedCat = new Cat();
-        adoptedCat.setStatus(CatStatus.ADOPTED);
-        
-        cats = Arrays.asList(availableCat, adoptedCat);
-
-        User regularUser = new User();
-        regularUser.setRole(UserRole.USER);
-        
-        User adminUser = new User();
-        adminUser.setRole(UserRole.ADMIN);
-        
-        users = Arrays.asList(regularUser, adminUser);
-
-        Adoption pendingAdoption = new Adoption();
-        pendingAdoption.setStatus(AdoptionStatus.PENDING);
-        
-        Adoption completedAdoption = new Adoption();
-        completedAdoption.setStatus(AdoptionStatus.COMPLETED);
-        
-        adoptions = Arrays.asList(pendingAdoption, completedAdoption);
+    @Test
+    void getDashboardStats_ShouldReturnSnapshot() {
+        DashboardStatsDto stats = new DashboardStatsDto();
+        stats.setTotalCats(2);
+        when(dashboardStatsService.getStats()).thenReturn(stats);
+
+        ResponseEntity<DashboardStatsDto> response = dashboardController.getDashboardStats();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(stats, response.getBody());
+        verify(dashboardStatsService).getStats();
     }
 
     @Test
-    void getDashboardStats_ShouldReturnCorrectStatistics() {
+    void getTimeSeries_ShouldQueryRequestedRange() {
+        List<AdoptionTimeSeriesPoint> points = List.of();
+        when(adoptionTimeSeries.query(AdoptionTimeSeries.Interval.WEEK,
+            LocalDate.of(2024, 1, 1), LocalDate.of(2024, 3, 31))).thenReturn(points);
 
-        when(catService.getAllCats()).thenReturn(cats);
-        when(catService.getAvailableCats()).thenReturn(Arrays.asList(cats.get(0)));
-        when(userService.getAllUsers()).thenReturn(users);
-        when(userService.getAdminUsers()).thenReturn(Arrays.asList(users.get(1)));
-        when(adoptionService.getAllAdoptions()).thenReturn(adoptions);
+        ResponseEntity<List<AdoptionTimeSeriesPoint>> response =
+            dashboardController.getTimeSeries("week", "2024-01-01", "2024-03-31");
 
-        ResponseEntity<DashboardStatsDto> response = dashboardController.getDashboardStats();
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(points, response.getBody());
+    }
+
+    @Test
+    void getTimeSeries_ShouldDefaultToLast30Days() {
+        LocalDate to = LocalDate.of(2024, 6, 30);
+        when(adoptionTimeSeries.query(AdoptionTimeSeries.Interval.DAY, LocalDate.of(2024, 6, 1), to))
+            .thenReturn(List.of());
+
+        ResponseEntity<List<AdoptionTimeSeriesPoint>> response =
+            dashboardController.getTimeSeries("day", null, "2024-06-30");
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertNotNull(response.getBody());
-        
-        DashboardStatsDto stats = response.getBody();
-        assertEquals(2, stats.getTotalCats());
-        assertEquals(1, stats.getAvailableCats());
-        assertEquals(1, stats.getAdoptedCats());
-        assertEquals(2, stats.getTotalUsers());
-        assertEquals(1, stats.getAdminUsers());
-        assertEquals(2, stats.getTotalAdoptions());
-        assertEquals(1, stats.getPendingAdoptions());
-        assertEquals(1, stats.getCompletedAdoptions());
-
-        verify(catService, times(2)).getAllCats();
-        verify(catService).getAvailableCats();
-        verify(userService, times(1)).getAllUsers();
-        verify(userService).getAdminUsers();
-        verify(adoptionService, times(3)).getAllAdoptions();
     }
-}
\ No newline at end of file
+
+    @Test
+    void getTimeSeries_ShouldRejectInvalidParameters() {
+        assertEquals(HttpStatus.BAD_REQUEST,
+            dashboardController.getTimeSeries("month", null, null).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST,
+            dashboardController.getTimeSeries("day", "2024-13-01", null).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST,
+            dashboardController.getTimeSeries("day", "2024-02-01", "2024-01-01").getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST,
+            dashboardController.getTimeSeries("day", "2022-01-01", "2024-01-01").getStatusCode());
+        verify(adoptionTimeSeries, never()).query(any(), any(), any());
+    }
+}
@@ -1,22 +1,44 @@
 package io.werescuecats.backend.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.werescuecats.backend.dto.AdoptionAggregateResult;
+import io.werescuecats.backend.dto.AdoptionFeedCursor;
 import io.werescuecats.backend.dto.AnonymousAdoptionData;
+import io.werescuecats.backend.dto.ApiTokenQuota;
 import io.werescuecats.backend.service.AdoptionService;
+import io.werescuecats.backend.service.AdoptionStatsCube;
 import io.werescuecats.backend.service.ApiTokenService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
-import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,15 +50,27 @@ class HealthDataControllerTest {
     @Mock
     private ApiTokenService apiTokenService;
 
+    @Mock
+    private AdoptionStatsCube adoptionStatsCube;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
     @InjectMocks
     private HealthDataController healthDataController;
 
+    private static final ApiTokenQuota ALLOWED =
+            new ApiTokenQuota(ApiTokenQuota.Status.ALLOWED, 1000, 999, Instant.now().plus(Duration.ofHours(1)));
+
+    private static final AdoptionFeedCursor HEAD = new AdoptionFeedCursor(LocalDateTime.of(2024, 5, 2, 8, 0), 42L);
+
     private AnonymousAdoptionData adoptionData;
 
     @BeforeEach
     void setUp() {
+        ReflectionTestUtils.setField(healthDataController, "feedLag", Duration.ofMinutes(1));
         adoptionData = AnonymousAdoptionData.builder()
-                .adoptionDate(LocalDateTime.now())
+                .adoptionDate(LocalDateTime.of(2024, 5, 1, 10, 30))
                 .catBreed("Persian")
                 .catAge(2)
                 .locationRegion("NY")
@@ -45,31 +79,206 @@ class HealthDataControllerTest {
                 .build();
     }
 
+    @SuppressWarnings("unchecked")
+    private void streamRows(AnonymousAdoptionData... rows) {
+        when(adoptionService.anonymousFeedHead(any())).thenReturn(HEAD);
+        doAnswer(invocation -> {
+            Consumer<AnonymousAdoptionData> consumer = invocation.getArgument(3);
+            for (AnonymousAdoptionData row : rows) {
+                consumer.accept(row);
+            }
+            return null;
+        }).when(adoptionService).streamAnonymousAdoptionData(any(), eq(HEAD), any(), any(Consumer.class));
+    }
+
+    private byte[] write(ResponseEntity<StreamingResponseBody> response) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        return out.toByteArray();
+    }
+
     @Test
-    void getAnonymousData_ShouldReturnData_WhenValidToken() {
+    void getAnonymousData_ShouldStreamJsonArray_WhenValidToken() throws Exception {
         String validToken = "valid-token";
-        List<AnonymousAdoptionData> data = Arrays.asList(adoptionData);
-        when(apiTokenService.isValidToken(validToken)).thenReturn(true);
-        when(adoptionService.getAnonymousAdoptionData()).thenReturn(data);
+        when(apiTokenService.tryAcquire(validToken)).thenReturn(ALLOWED);
+        streamRows(adoptionData, adoptionData);
 
-        ResponseEntity<List<AnonymousAdoptionData>> response = 
-                healthDataController.getAnonymousData(validToken);
+        ResponseEntity<StreamingResponseBody> response =
+                healthDataController.getAnonymousData(validToken, "json", null, null, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(1, response.getBody().size());
-        assertEquals("Persian", response.getBody().get(0).getCatBreed());
-        verify(apiTokenService).isValidToken(validToken);
-        verify(adoptionService).getAnonymousAdoptionData();
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals(HEAD.encode(), response.getHeaders().getFirst(HealthDataController.NEXT_CURSOR_HEADER));
+        JsonNode written = objectMapper.readTree(write(response));
+        assertTrue(written.isArray());
+        assertEquals(2, written.size());
+        assertEquals("Persian", written.get(0).get("catBreed").asText());
+        verify(apiTokenService).tryAcquire(validToken);
+    }
+
+    @Test
+    void getAnonymousData_ShouldWriteOneObjectPerLine_ForNdjson() throws Exception {
+        when(apiTokenService.tryAcquire("valid-token")).thenReturn(ALLOWED);
+        streamRows(adoptionData, adoptionData);
+
+        ResponseEntity<StreamingResponseBody> response =
+                healthDataController.getAnonymousData("valid-token", "ndjson", null, null, null);
+
+        assertEquals(HealthDataController.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        String[] lines = new String(write(response), StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        for (String line : lines) {
+            assertEquals("NY", objectMapper.readTree(line).get("locationRegion").asText());
+        }
+    }
+
+    @Test
+    void getAnonymousData_ShouldQuoteCsvFields() throws Exception {
+        when(apiTokenService.tryAcquire("valid-token")).thenReturn(ALLOWED);
+        adoptionData.setCatBreed("Persian, \"Doll Face\"");
+        streamRows(adoptionData);
+
+        ResponseEntity<StreamingResponseBody> response =
+                healthDataController.getAnonymousData("valid-token", "csv", null, null, null);
+
+        assertEquals(HealthDataController.TEXT_CSV, response.getHeaders().getContentType());
+        assertEquals("adoptionDate,catBreed,catAge,locationRegion,status,tenantId\r\n"
+                + "2024-05-01T10:30,\"Persian, \"\"Doll Face\"\"\",2,NY,COMPLETED,main\r\n",
+                new String(write(response), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void getAnonymousData_ShouldGzip_WhenAccepted() throws Exception {
+        when(apiTokenService.tryAcquire("valid-token")).thenReturn(ALLOWED);
+        streamRows(adoptionData);
+
+        ResponseEntity<StreamingResponseBody> response =
+                healthDataController.getAnonymousData("valid-token", "ndjson", null, null, "gzip, deflate");
+
+        assertEquals("gzip", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(write(response)))) {
+            JsonNode row = objectMapper.readTree(in);
+            assertEquals("Persian", row.get("catBreed").asText());
+        }
+    }
+
+    @Test
+    void getAnonymousData_ShouldOnlyStreamDelta_WhenSinceGiven() throws Exception {
+        AdoptionFeedCursor since = new AdoptionFeedCursor(LocalDateTime.of(2024, 5, 1, 0, 0), 7L);
+        when(apiTokenService.tryAcquire("valid-token")).thenReturn(ALLOWED);
+        streamRows(adoptionData);
+
+        ResponseEntity<StreamingResponseBody> response =
+                healthDataController.getAnonymousData("valid-token", "ndjson", since.encode(), null, null);
+        write(response);
+
+        verify(adoptionService).streamAnonymousAdoptionData(eq(since), eq(HEAD), isNull(), any());
+        assertEquals(HEAD.encode(), response.getHeaders().getFirst(HealthDataController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void getAnonymousData_ShouldPassTrimmedRegionFilter() throws Exception {
+        when(apiTokenService.tryAcquire("valid-token")).thenReturn(ALLOWED);
+        streamRows(adoptionData);
+
+        write(healthDataController.getAnonymousData("valid-token", "csv", null, " NY ", null));
+
+        verify(adoptionService).streamAnonymousAdoptionData(isNull(), eq(HEAD), eq("NY"), any());
+    }
+
+    @Test
+    void getAnonymousData_ShouldNotMoveCursorBack_WhenHeadIsOlder() throws Exception {
+        AdoptionFeedCursor newer = new AdoptionFeedCursor(HEAD.completedDate().plusSeconds(30), 50L);
+        when(apiTokenService.tryAcquire("valid-token")).thenReturn(ALLOWED);
+        when(adoptionService.anonymousFeedHead(any())).thenReturn(HEAD);
+
+        ResponseEntity<StreamingResponseBody> response =
+                healthDataController.getAnonymousData("valid-token", "ndjson", newer.encode(), null, null);
+        write(response);
+
+        verify(adoptionService).streamAnonymousAdoptionData(eq(newer), eq(newer), isNull(), any());
+        assertEquals(newer.encode(), response.getHeaders().getFirst(HealthDataController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void getAnonymousData_ShouldReturnBadRequestWithoutCharging_WhenCursorInvalid() {
+        ResponseEntity<StreamingResponseBody> response =
+                healthDataController.getAnonymousData("valid-token", "json", "not-a-cursor", null, null);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verifyNoInteractions(adoptionService, apiTokenService);
+    }
+
+    @Test
+    void getAnonymousData_ShouldReturnBadRequestWithoutCharging_WhenFormatUnknown() {
+        ResponseEntity<StreamingResponseBody> response =
+                healthDataController.getAnonymousData("valid-token", "xml", null, null, null);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verifyNoInteractions(adoptionService, apiTokenService);
     }
 
     @Test
     void getAnonymousData_ShouldReturnUnauthorized_WhenInvalidToken() {
         String invalidToken = "invalid-token";
-        when(apiTokenService.isValidToken(invalidToken)).thenReturn(false);
+        when(apiTokenService.tryAcquire(invalidToken)).thenReturn(ApiTokenQuota.invalid());
+
+        ResponseEntity<StreamingResponseBody> response =
+                healthDataController.getAnonymousData(invalidToken, "json", null, null, null);
+
+        assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
+        verifyNoInteractions(adoptionService);
+    }
+
+    @Test
+    void getAdoptionStats_ShouldQueryCubeWithGroupingAndFilters() {
+        AdoptionAggregateResult result = new AdoptionAggregateResult(List.of("breed"),
+                List.of(new AdoptionAggregateResult.Cell(Map.of("breed", "Persian"), 12)), 1, 5);
+        when(apiTokenService.tryAcquire("valid-token")).thenReturn(ALLOWED);
+        when(adoptionStatsCube.query(EnumSet.of(AdoptionStatsCube.Dimension.BREED),
+                Map.of(AdoptionStatsCube.Dimension.MONTH, "2024-05"))).thenReturn(result);
+
+        ResponseEntity<AdoptionAggregateResult> response = healthDataController.getAdoptionStats(
+                "valid-token", List.of("breed"), null, null, " ", "2024-05");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(result, response.getBody());
+        assertEquals("1000", response.getHeaders().getFirst("RateLimit-Limit"));
+        assertEquals("999", response.getHeaders().getFirst("RateLimit-Remaining"));
+    }
+
+    @Test
+    void getAdoptionStats_ShouldReturnTooManyRequests_WhenDailyLimitReached() {
+        when(apiTokenService.tryAcquire("valid-token")).thenReturn(new ApiTokenQuota(
+                ApiTokenQuota.Status.EXHAUSTED, 1000, 0, Instant.now().plus(Duration.ofMinutes(10))));
+
+        ResponseEntity<AdoptionAggregateResult> response = healthDataController.getAdoptionStats(
+                "valid-token", List.of(), null, null, null, null);
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertEquals("0", response.getHeaders().getFirst("RateLimit-Remaining"));
+        long retryAfter = Long.parseLong(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertTrue(retryAfter > 590 && retryAfter <= 601, "Retry-After " + retryAfter);
+        verifyNoInteractions(adoptionStatsCube);
+    }
+
+    @Test
+    void getAdoptionStats_ShouldReturnBadRequestWithoutCharging_WhenDimensionUnknown() {
+        ResponseEntity<AdoptionAggregateResult> response = healthDataController.getAdoptionStats(
+                "valid-token", List.of("breed", "owner"), null, null, null, null);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verifyNoInteractions(adoptionStatsCube, apiTokenService);
+    }
+
+    @Test
+    void getAdoptionStats_ShouldReturnUnauthorized_WhenInvalidToken() {
+        when(apiTokenService.tryAcquire("invalid-token")).thenReturn(ApiTokenQuota.invalid());
 
-        ResponseEntity<List<AnonymousAdoptionData>> response = 
-                healthDataController.getAnonymousData(invalidToken);
+        ResponseEntity<AdoptionAggregateResult> response = healthDataController.getAdoptionStats(
+                "invalid-token", List.of(), null, null, null, null);
 
         assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
+        verifyNoInteractions(adoptionStatsCube);
     }
-}
\ No newline at end of file
+}
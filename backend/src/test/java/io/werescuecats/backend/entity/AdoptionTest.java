@@ -354,4 +354,23 @@ class AdoptionTest {
 
         assertTrue(result.contains("cat=null"));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should snapshot the adopter's region on create")
+    void testOnCreateSetsRegion() {
+        testUser.setStreetAddress("1 Main St,  New   York ");
+        Adoption adoption = new Adoption(testUser, testCat);
+
+        adoption.onCreate();
+
+        assertEquals("New York", adoption.getRegion());
+    }
+
+    @Test
+    @DisplayName("Should derive unknown region from blank or missing addresses")
+    void testRegionOfWithoutAddress() {
+        assertEquals("Unknown", User.regionOf(null));
+        assertEquals("Unknown", User.regionOf("1 Main St, "));
+        assertEquals("Springfield", User.regionOf("Springfield"));
+    }
+}
@@ -0,0 +1,144 @@
+package io.werescuecats.backend.integration;
+
+import io.werescuecats.backend.entity.*;
+import io.werescuecats.backend.exception.CatNotAvailableException;
+import io.werescuecats.backend.repository.AdoptionRepository;
+import io.werescuecats.backend.repository.BreedRepository;
+import io.werescuecats.backend.repository.CatRepository;
+import io.werescuecats.backend.repository.UserRepository;
+import io.werescuecats.backend.service.AdoptionService;
+import io.werescuecats.backend.service.AvailableCatsSnapshot;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Many users asking for the same cat at the same moment: exactly one adoption may be created.
+ * Calls AdoptionService from a thread pool, every call in its own transaction like a real request.
+ * Sizes can be raised with -Dcontention.requests=... -Dcontention.threads=...
+ */
+@Slf4j
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "catapi.fetch-on-startup=false",
+    // Waiters for the row lock must outlast the winning transaction instead of failing
+    "spring.datasource.url=jdbc:h2:mem:contention;LOCK_TIMEOUT=10000",
+    "spring.datasource.hikari.maximum-pool-size=32"
+})
+class AdoptionContentionIntegrationTest {
+
+    private static final int USERS = 100;
+
+    @Autowired
+    private AdoptionService adoptionService;
+
+    @Autowired
+    private AdoptionRepository adoptionRepository;
+
+    @Autowired
+    private CatRepository catRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BreedRepository breedRepository;
+
+    @Autowired
+    private AvailableCatsSnapshot availableCatsSnapshot;
+
+    private Cat cat;
+    private final List<User> users = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        Breed breed = breedRepository.save(new Breed("persian", "Persian"));
+        cat = new Cat();
+        cat.setName("Fluffy");
+        cat.setBreed(breed);
+        cat.setStatus(CatStatus.AVAILABLE);
+        cat = catRepository.save(cat);
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setEmail("user" + i + "@test.com");
+            user.setFirstName("Test");
+            user.setLastName("User");
+            user.setPasswordHash("password");
+            user.setRole(UserRole.USER);
+            users.add(userRepository.save(user));
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        adoptionRepository.deleteAll();
+        catRepository.deleteAll();
+        userRepository.deleteAll();
+        breedRepository.deleteAll();
+        users.clear();
+        availableCatsSnapshot.invalidate();
+    }
+
+    @Test
+    void concurrentRequestsForOneCat_ShouldCreateExactlyOneAdoption() throws Exception {
+        int requests = Integer.getInteger("contention.requests", 2_000);
+        int threads = Integer.getInteger("contention.threads", 32);
+        AtomicInteger winners = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        Queue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int i = 0; i < requests; i++) {
+                Long userId = users.get(i % USERS).getId();
+                executor.submit(() -> {
+                    try {
+                        start.await();
+                        adoptionService.createAdoption(userId, cat.getId(), "Me first");
+                        winners.incrementAndGet();
+                    } catch (CatNotAvailableException e) {
+                        conflicts.incrementAndGet();
+                    } catch (Throwable e) {
+                        unexpected.add(e);
+                    }
+                    return null;
+                });
+            }
+            long startNanos = System.nanoTime();
+            start.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(2, TimeUnit.MINUTES), "requests did not finish");
+            long millis = Math.max(1, (System.nanoTime() - startNanos) / 1_000_000);
+            log.info("{} concurrent adoption requests on {} threads in {} ms ({} requests/s): {} won, {} conflicts",
+                requests, threads, millis, requests * 1000L / millis, winners.get(), conflicts.get());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertTrue(unexpected.isEmpty(), () -> "unexpected failures: " + unexpected);
+        assertEquals(1, winners.get());
+        assertEquals(requests - 1, conflicts.get());
+        assertEquals(1, adoptionRepository.count());
+        assertEquals(CatStatus.PENDING, catRepository.findById(cat.getId()).orElseThrow().getStatus());
+    }
+}
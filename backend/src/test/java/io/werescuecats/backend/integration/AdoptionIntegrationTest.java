@@ -2,6 +2,7 @@ package io.werescuecats.backend.integration;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.werescuecats.backend.dto.AdoptionRequestDto;
+import io.werescuecats.backend.dto.BatchAdoptionRequestDto;
 import io.werescuecats.backend.dto.RejectAdoptionRequestDto;
 import io.werescuecats.backend.entity.*;
 import io.werescuecats.backend.repository.AdoptionRepository;
@@ -30,6 +31,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -265,6 +267,24 @@ public class AdoptionIntegrationTest {
                 .andExpect(jsonPath("$.pendingApplications").value(1));
     }
 
+    @Test
+    void getAdoptionStatsForUsers_AsAdmin_Success() throws Exception {
+        createPendingAdoption();
+        createCompletedAdoption();
+
+        mockMvc.perform(get("/api/adoptions/stats")
+                .with(user(new CustomUserDetails(adminUser)))
+                .param("userIds", testUser.getId() + "," + adminUser.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].userId").value(testUser.getId()))
+                .andExpect(jsonPath("$[0].totalApplications").value(2))
+                .andExpect(jsonPath("$[0].completedAdoptions").value(1))
+                .andExpect(jsonPath("$[0].pendingApplications").value(1))
+                .andExpect(jsonPath("$[1].userId").value(adminUser.getId()))
+                .andExpect(jsonPath("$[1].totalApplications").value(0));
+    }
+
     // ERROR CASES
     @Test
     @WithMockCustomUser
@@ -300,7 +320,7 @@ public class AdoptionIntegrationTest {
 
     @Test
     @WithMockCustomUser
-    void createAdoption_CatNotAvailable_BadRequest() throws Exception {
+    void createAdoption_CatNotAvailable_Conflict() throws Exception {
         AdoptionRequestDto request = new AdoptionRequestDto();
         request.setUserId(testUser.getId());
         request.setCatId(unavailableCat.getId()); // Cat is already adopted
@@ -309,7 +329,7 @@ public class AdoptionIntegrationTest {
         mockMvc.perform(post("/api/adoptions")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(request)))
-                .andExpect(status().isBadRequest());
+                .andExpect(status().isConflict());
 
         assertEquals(0, adoptionRepository.count());
     }
@@ -452,6 +472,85 @@ public class AdoptionIntegrationTest {
     }
 
     // HELPER METHODS
+    @Test
+    void batchApprove_ShouldApplyValidTransitionsAndReportOthers() throws Exception {
+        Adoption first = createPendingAdoption();
+        Adoption second = createPendingAdoption();
+        Adoption approved = createApprovedAdoption();
+        BatchAdoptionRequestDto request = new BatchAdoptionRequestDto();
+        request.setIds(List.of(first.getId(), approved.getId(), 999L, second.getId()));
+
+        mockMvc.perform(put("/api/adoptions/batch/approve")
+                .with(user(new CustomUserDetails(adminUser)))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(jsonPath("$[0].applied").value(true))
+                .andExpect(jsonPath("$[0].status").value("APPROVED"))
+                .andExpect(jsonPath("$[1].applied").value(false))
+                .andExpect(jsonPath("$[1].error").value("Adoption must be PENDING to be transitioned to APPROVED"))
+                .andExpect(jsonPath("$[2].error").value("Adoption not found with id: 999"))
+                .andExpect(jsonPath("$[3].applied").value(true));
+
+        for (Adoption adoption : List.of(first, second)) {
+            Adoption updated = adoptionRepository.findById(adoption.getId()).orElseThrow();
+            assertEquals(AdoptionStatus.APPROVED, updated.getStatus());
+            assertNotNull(updated.getApprovedDate());
+            assertEquals(adminUser.getId(), updated.getProcessedByAdmin().getId());
+        }
+        assertEquals(CatStatus.PENDING, catRepository.findById(availableCat.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void batchReject_ShouldStoreReasonAndFreeCats() throws Exception {
+        Adoption adoption = createPendingAdoption();
+        availableCat.setStatus(CatStatus.PENDING);
+        catRepository.save(availableCat);
+        BatchAdoptionRequestDto request = new BatchAdoptionRequestDto();
+        request.setIds(List.of(adoption.getId()));
+        request.setReason("Incomplete application");
+
+        mockMvc.perform(put("/api/adoptions/batch/reject")
+                .with(user(new CustomUserDetails(adminUser)))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("REJECTED"));
+
+        Adoption updated = adoptionRepository.findById(adoption.getId()).orElseThrow();
+        assertEquals(AdoptionStatus.REJECTED, updated.getStatus());
+        assertEquals("Incomplete application", updated.getAdminNotes());
+        assertEquals(CatStatus.AVAILABLE, catRepository.findById(availableCat.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void batchReject_WithoutReason_BadRequest() throws Exception {
+        Adoption adoption = createPendingAdoption();
+        BatchAdoptionRequestDto request = new BatchAdoptionRequestDto();
+        request.setIds(List.of(adoption.getId()));
+
+        mockMvc.perform(put("/api/adoptions/batch/reject")
+                .with(user(new CustomUserDetails(adminUser)))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(AdoptionStatus.PENDING, adoptionRepository.findById(adoption.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void batchApprove_AsUser_Forbidden() throws Exception {
+        BatchAdoptionRequestDto request = new BatchAdoptionRequestDto();
+        request.setIds(List.of(createPendingAdoption().getId()));
+
+        mockMvc.perform(put("/api/adoptions/batch/approve")
+                .with(user(new CustomUserDetails(testUser)))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isForbidden());
+    }
+
     private Adoption createPendingAdoption() {
         Adoption adoption = new Adoption(testUser, availableCat, "Test notes");
         return adoptionRepository.save(adoption);
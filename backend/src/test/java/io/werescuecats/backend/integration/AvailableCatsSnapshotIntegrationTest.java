@@ -0,0 +1,125 @@
+package io.werescuecats.backend.integration;
+
+import io.werescuecats.backend.entity.Breed;
+import io.werescuecats.backend.entity.Cat;
+import io.werescuecats.backend.entity.CatStatus;
+import io.werescuecats.backend.repository.AdoptionRepository;
+import io.werescuecats.backend.repository.BreedRepository;
+import io.werescuecats.backend.repository.CatRepository;
+import io.werescuecats.backend.service.AvailableCatsSnapshot;
+import io.werescuecats.backend.service.CatService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * The available cats snapshot must follow committed cat changes and ignore rolled back ones.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = "catapi.fetch-on-startup=false")
+class AvailableCatsSnapshotIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CatService catService;
+
+    @Autowired
+    private AvailableCatsSnapshot availableCatsSnapshot;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private AdoptionRepository adoptionRepository;
+
+    @Autowired
+    private CatRepository catRepository;
+
+    @Autowired
+    private BreedRepository breedRepository;
+
+    private Cat cat;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        Breed breed = breedRepository.save(new Breed("persian", "Persian"));
+        cat = new Cat();
+        cat.setName("Fluffy");
+        cat.setBreed(breed);
+        cat.setStatus(CatStatus.AVAILABLE);
+        cat = catRepository.save(cat);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        adoptionRepository.deleteAll();
+        catRepository.deleteAll();
+        breedRepository.deleteAll();
+        availableCatsSnapshot.invalidate();
+    }
+
+    @Test
+    void committedStatusChange_ShouldUpdateSnapshotAndETag() throws Exception {
+        MvcResult before = mockMvc.perform(get("/api/cats/available"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].breedName").value("Persian"))
+                .andReturn();
+
+        catService.updateCatStatus(cat.getId(), CatStatus.PENDING);
+
+        MvcResult after = mockMvc.perform(get("/api/cats/available"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0))
+                .andReturn();
+        assertNotEquals(before.getResponse().getHeader("ETag"), after.getResponse().getHeader("ETag"));
+    }
+
+    @Test
+    void rolledBackStatusChange_ShouldLeaveSnapshotUntouched() throws Exception {
+        AvailableCatsSnapshot.View before = availableCatsSnapshot.current();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            catService.updateCatStatus(cat.getId(), CatStatus.PENDING);
+            status.setRollbackOnly();
+        });
+
+        assertSame(before, availableCatsSnapshot.current());
+        mockMvc.perform(get("/api/cats/available"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    void newCat_ShouldAppearAfterCommit() throws Exception {
+        availableCatsSnapshot.current();
+
+        Cat second = new Cat();
+        second.setName("Whiskers");
+        second.setBreed(cat.getBreed());
+        second.setStatus(CatStatus.AVAILABLE);
+        catRepository.save(second);
+
+        mockMvc.perform(get("/api/cats/available"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].name").value("Whiskers"));
+    }
+}
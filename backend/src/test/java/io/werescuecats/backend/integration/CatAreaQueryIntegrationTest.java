@@ -0,0 +1,112 @@
+package io.werescuecats.backend.integration;
+
+import io.werescuecats.backend.entity.Breed;
+import io.werescuecats.backend.entity.Cat;
+import io.werescuecats.backend.entity.CatStatus;
+import io.werescuecats.backend.repository.BreedRepository;
+import io.werescuecats.backend.repository.CatRepository;
+import io.werescuecats.backend.repository.CatSpatialRepository;
+import io.werescuecats.backend.service.CatLocationIndex;
+import io.werescuecats.backend.service.CatService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Area and nearest-cat queries against the database, used when the in-memory index is disabled.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "catapi.fetch-on-startup=false",
+    "cats.geo.in-memory-index.enabled=false"
+})
+class CatAreaQueryIntegrationTest {
+
+    @Autowired
+    private CatSpatialRepository catSpatialRepository;
+
+    @Autowired
+    private CatService catService;
+
+    @Autowired
+    private CatRepository catRepository;
+
+    @Autowired
+    private BreedRepository breedRepository;
+
+    private Breed breed;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        breed = breedRepository.save(new Breed("persian", "Persian"));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        catRepository.deleteAll();
+        breedRepository.deleteAll();
+    }
+
+    @Test
+    void findAvailableWithinRadius_ShouldHandleAntimeridian() {
+        Cat west = save("West", 0.0, 179.99);
+        Cat east = save("East", 0.0, -179.99);
+        save("Far", 0.0, 170.0);
+
+        assertThat(catSpatialRepository.findAvailableWithinRadius(0.0, 179.999, 5.0, 0, 10))
+            .extracting(CatLocationIndex.Hit::catId)
+            .containsExactly(west.getId(), east.getId());
+        assertThat(catSpatialRepository.findAvailableWithinRadius(0.0, -179.999, 5.0, 0, 10))
+            .extracting(CatLocationIndex.Hit::catId)
+            .containsExactly(east.getId(), west.getId());
+    }
+
+    @Test
+    void findAvailableWithinRadius_ShouldSkipCatsWithoutCoordinates() {
+        Cat located = save("Located", 0.001, 0.001);
+        save("Unknown", null, null);
+
+        assertThat(catSpatialRepository.findAvailableWithinRadius(0.0, 0.0, 5.0, 0, 10))
+            .extracting(CatLocationIndex.Hit::catId)
+            .containsExactly(located.getId());
+    }
+
+    @Test
+    void getNearestCats_ShouldFollowDatabaseWhenIndexDisabled() {
+        Cat far = save("Far", 10.0, 10.0);
+        save("Unknown", null, null);
+
+        assertThat(catService.getNearestCats(0.0, 0.0, 1)).extracting(Cat::getId).containsExactly(far.getId());
+
+        Cat near = save("Near", 0.01, 0.01);
+        assertThat(catService.getNearestCats(0.0, 0.0, 3)).extracting(Cat::getId)
+            .containsExactly(near.getId(), far.getId());
+    }
+
+    @Test
+    void findAvailableNearest_ShouldReachAcrossTheGlobe() {
+        Cat antipode = save("Antipode", -0.5, 179.5);
+
+        assertThat(catSpatialRepository.findAvailableNearest(0.0, 0.0, 5))
+            .extracting(CatLocationIndex.Hit::catId)
+            .containsExactly(antipode.getId());
+    }
+
+    private Cat save(String name, Double latitude, Double longitude) {
+        Cat cat = new Cat();
+        cat.setName(name);
+        cat.setBreed(breed);
+        cat.setLatitude(latitude);
+        cat.setLongitude(longitude);
+        cat.setStatus(CatStatus.AVAILABLE);
+        return catRepository.save(cat);
+    }
+}
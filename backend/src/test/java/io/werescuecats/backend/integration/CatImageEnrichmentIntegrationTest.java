@@ -0,0 +1,210 @@
+package io.werescuecats.backend.integration;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.werescuecats.backend.entity.Breed;
+import io.werescuecats.backend.entity.Cat;
+import io.werescuecats.backend.entity.CatStatus;
+import io.werescuecats.backend.repository.AdoptionRepository;
+import io.werescuecats.backend.repository.BreedRepository;
+import io.werescuecats.backend.repository.CatRepository;
+import io.werescuecats.backend.service.AvailableCatsSnapshot;
+import io.werescuecats.backend.service.CatService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Saving a cat must not wait for TheCatAPI; the image URL arrives afterwards.
+ * A local HTTP server stands in for TheCatAPI so lookups can be made to fail.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "catapi.fetch-on-startup=false",
+    "cats.images.workers=1",
+    "cats.images.max-attempts=3",
+    "cats.images.retry-backoff=50ms"
+})
+class CatImageEnrichmentIntegrationTest {
+
+    private static final TheCatApiStub catApi = TheCatApiStub.start();
+
+    @DynamicPropertySource
+    static void catApiProperties(DynamicPropertyRegistry registry) {
+        registry.add("catapi.base-url", catApi::baseUrl);
+    }
+
+    @Autowired
+    private CatService catService;
+
+    @Autowired
+    private AdoptionRepository adoptionRepository;
+
+    @Autowired
+    private CatRepository catRepository;
+
+    @Autowired
+    private BreedRepository breedRepository;
+
+    @Autowired
+    private AvailableCatsSnapshot availableCatsSnapshot;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Breed breed;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        catApi.reset();
+        breed = breedRepository.save(new Breed("persian", "Persian"));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        adoptionRepository.deleteAll();
+        catRepository.deleteAll();
+        breedRepository.deleteAll();
+        availableCatsSnapshot.invalidate();
+    }
+
+    @AfterAll
+    static void stopCatApi() {
+        catApi.stop();
+    }
+
+    @Test
+    void saveCat_ShouldCommitBeforeImageIsFetched() {
+        Cat saved = catService.saveCat(cat("Fluffy"));
+
+        assertTrue(catRepository.findById(saved.getId()).isPresent());
+        awaitTrue(() -> imageUrlOf(saved) != null);
+        assertEquals(catApi.baseUrl() + "/img/1.jpg", imageUrlOf(saved));
+    }
+
+    @Test
+    void failedLookup_ShouldBeRetried() {
+        catApi.failNext(1);
+
+        Cat saved = catService.saveCat(cat("Whiskers"));
+
+        awaitTrue(() -> imageUrlOf(saved) != null);
+        assertEquals(2, catApi.hits());
+    }
+
+    @Test
+    void unavailableApi_ShouldStillCreateCat() {
+        catApi.failNext(Integer.MAX_VALUE);
+        double failedBefore = meterRegistry.counter("cats.images.failed").count();
+
+        Cat saved = catService.saveCat(cat("Shadow"));
+
+        awaitTrue(() -> meterRegistry.counter("cats.images.failed").count() > failedBefore);
+        assertEquals(3, catApi.hits());
+        assertTrue(catRepository.findById(saved.getId()).isPresent());
+        assertNull(imageUrlOf(saved));
+    }
+
+    private Cat cat(String name) {
+        Cat cat = new Cat();
+        cat.setName(name);
+        cat.setBreed(breed);
+        cat.setStatus(CatStatus.AVAILABLE);
+        return cat;
+    }
+
+    private String imageUrlOf(Cat cat) {
+        return catRepository.findById(cat.getId()).orElseThrow().getImageUrl();
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "condition not met within 5s");
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("interrupted");
+            }
+        }
+    }
+
+    /**
+     * Minimal /images/search endpoint that can fail a given number of requests.
+     */
+    static final class TheCatApiStub {
+
+        private final HttpServer server;
+        private final AtomicInteger hits = new AtomicInteger();
+        private final AtomicInteger failuresLeft = new AtomicInteger();
+
+        private TheCatApiStub(HttpServer server) {
+            this.server = server;
+        }
+
+        static TheCatApiStub start() {
+            try {
+                HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+                TheCatApiStub stub = new TheCatApiStub(server);
+                server.createContext("/images/search", exchange -> {
+                    int hit = stub.hits.incrementAndGet();
+                    boolean fail = stub.failuresLeft.getAndUpdate(left -> Math.max(0, left - 1)) > 0;
+                    byte[] body = (fail
+                        ? "{\"message\":\"unavailable\"}"
+                        : "[{\"id\":\"img" + hit + "\",\"url\":\"" + stub.baseUrl() + "/img/" + hit + ".jpg\"}]")
+                        .getBytes(StandardCharsets.UTF_8);
+                    exchange.getResponseHeaders().set("Content-Type", "application/json");
+                    exchange.sendResponseHeaders(fail ? 503 : 200, body.length);
+                    try (OutputStream out = exchange.getResponseBody()) {
+                        out.write(body);
+                    }
+                });
+                server.start();
+                return stub;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        String baseUrl() {
+            return "http://127.0.0.1:" + server.getAddress().getPort();
+        }
+
+        int hits() {
+            return hits.get();
+        }
+
+        void failNext(int count) {
+            failuresLeft.set(count);
+        }
+
+        void reset() {
+            hits.set(0);
+            failuresLeft.set(0);
+        }
+
+        void stop() {
+            server.stop(0);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package io.werescuecats.backend.integration;
+
+import io.werescuecats.backend.entity.Breed;
+import io.werescuecats.backend.entity.Cat;
+import io.werescuecats.backend.entity.CatStatus;
+import io.werescuecats.backend.event.CatImageRequestedEvent;
+import io.werescuecats.backend.repository.AdoptionRepository;
+import io.werescuecats.backend.repository.BreedRepository;
+import io.werescuecats.backend.repository.CatRepository;
+import io.werescuecats.backend.service.AvailableCatsSnapshot;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "catapi.fetch-on-startup=false",
+    "cats.import.batch-size=2"
+})
+@WithMockUser(roles = "ADMIN")
+@RecordApplicationEvents
+class CatImportIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AdoptionRepository adoptionRepository;
+
+    @Autowired
+    private CatRepository catRepository;
+
+    @Autowired
+    private BreedRepository breedRepository;
+
+    @Autowired
+    private AvailableCatsSnapshot availableCatsSnapshot;
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        breedRepository.save(new Breed("persian", "Persian"));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        adoptionRepository.deleteAll();
+        catRepository.deleteAll();
+        breedRepository.deleteAll();
+        availableCatsSnapshot.invalidate();
+    }
+
+    @Test
+    void importJson_ShouldInsertValidRowsAndReportInvalidOnes() throws Exception {
+        String body = """
+            [
+              {"name": "Fluffy", "age": 2, "breedId": "persian", "latitude": 51.5, "longitude": -0.1},
+              {"name": "", "breedId": "persian"},
+              {"name": "Ghost", "breedId": "sphynx"},
+              {"name": "Tiger", "age": "old", "breedId": "persian"},
+              {"name": "Luna", "breedId": "persian", "status": "PENDING"},
+              {"name": "Milo", "breedId": "persian"}
+            ]
+            """;
+
+        mockMvc.perform(post("/api/cats/admin/import").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(3))
+                .andExpect(jsonPath("$.failed").value(3))
+                .andExpect(jsonPath("$.errors[0].row").value(2))
+                .andExpect(jsonPath("$.errors[0].message").value("Cat name is required"))
+                .andExpect(jsonPath("$.errors[1].row").value(3))
+                .andExpect(jsonPath("$.errors[1].message").value("Unknown breed: sphynx"))
+                .andExpect(jsonPath("$.errors[2].row").value(4))
+                .andExpect(jsonPath("$.errorsTruncated").value(false));
+
+        List<Cat> cats = catRepository.findAll().stream().sorted(Comparator.comparing(Cat::getId)).toList();
+        assertEquals(List.of("Fluffy", "Luna", "Milo"), cats.stream().map(Cat::getName).toList());
+        assertEquals(CatStatus.PENDING, cats.get(1).getStatus());
+        assertNotNull(cats.get(0).getCreatedAt());
+    }
+
+    @Test
+    void importCsv_ShouldHandleQuotedFields() throws Exception {
+        String body = """
+            name,breedId,description,latitude,longitude,status
+            Fluffy,persian,"Loves laps, naps and \"\"treats\"\"",51.5,-0.1,
+            Tiger,persian,"Two
+            lines",95,0,
+            Luna,persian,,,,adopted
+            """;
+
+        mockMvc.perform(post("/api/cats/admin/import").contentType("text/csv").content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.errors[0].row").value(2))
+                .andExpect(jsonPath("$.errors[0].message").value("Latitude must be between -90 and 90"));
+
+        Cat fluffy = catRepository.findAll().stream().filter(cat -> cat.getName().equals("Fluffy")).findFirst().orElseThrow();
+        assertEquals("Loves laps, naps and \"treats\"", fluffy.getDescription());
+        assertEquals(CatStatus.AVAILABLE, fluffy.getStatus());
+    }
+
+    @Test
+    void importCsv_WithUnknownColumn_ShouldBeRejected() throws Exception {
+        mockMvc.perform(post("/api/cats/admin/import").contentType("text/csv").content("name,breedId,colour\nFluffy,persian,black\n"))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(0, catRepository.count());
+    }
+
+    @Test
+    void importedCats_ShouldShowUpInAvailableCats() throws Exception {
+        mockMvc.perform(get("/api/cats/available"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+
+        mockMvc.perform(post("/api/cats/admin/import").contentType("text/csv").content("name,breedId\nFluffy,persian\n"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/cats/available"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].breedName").value("Persian"));
+    }
+
+    @Test
+    void importedCatsWithoutImage_ShouldRequestImageLookup() throws Exception {
+        String body = """
+            name,breedId,imageUrl
+            Fluffy,persian,https://cdn2.thecatapi.com/images/fluffy.jpg
+            Luna,persian,
+            Milo,persian,
+            """;
+
+        mockMvc.perform(post("/api/cats/admin/import").contentType("text/csv").content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(3));
+
+        List<Long> withoutImage = catRepository.findAll().stream()
+                .filter(cat -> cat.getImageUrl() == null)
+                .map(Cat::getId)
+                .sorted()
+                .toList();
+        List<Long> requested = applicationEvents.stream(CatImageRequestedEvent.class)
+                .map(CatImageRequestedEvent::catId)
+                .sorted()
+                .toList();
+        assertEquals(2, withoutImage.size());
+        assertEquals(withoutImage, requested);
+    }
+
+    @Test
+    void import_ShouldRequireAdmin() throws Exception {
+        mockMvc.perform(post("/api/cats/admin/import").contentType("text/csv").content("name,breedId\nFluffy,persian\n")
+                        .with(user("user").roles("USER")))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,261 @@
+package io.werescuecats.backend.integration;
+
+import io.werescuecats.backend.entity.*;
+import io.werescuecats.backend.repository.AdoptionRepository;
+import io.werescuecats.backend.repository.BreedRepository;
+import io.werescuecats.backend.repository.CatRepository;
+import io.werescuecats.backend.repository.UserRepository;
+import io.werescuecats.backend.service.AdoptionStatsCube;
+import io.werescuecats.backend.service.AvailableCatsSnapshot;
+import io.werescuecats.backend.service.RegionBackfillService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * The anonymous health-data export must only contain completed adoptions, filtered in the
+ * database, in each of the supported formats, and resume tokens must only return what is new.
+ * The statistics endpoint must aggregate the same adoptions and hide groups below the minimum size.
+ * Rows written before the region column existed must get their region from the backfill.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "catapi.fetch-on-startup=false",
+    "health-data.feed.lag=0s",
+    "health-data.stats.min-cell-size=2"
+})
+class HealthDataExportIntegrationTest {
+
+    private static final String TOKEN = "health_test_token_123";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AdoptionRepository adoptionRepository;
+
+    @Autowired
+    private CatRepository catRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BreedRepository breedRepository;
+
+    @Autowired
+    private AvailableCatsSnapshot availableCatsSnapshot;
+
+    @Autowired
+    private AdoptionStatsCube adoptionStatsCube;
+
+    @Autowired
+    private RegionBackfillService regionBackfillService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User adopter;
+    private Breed breed;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        breed = breedRepository.save(new Breed("persian", "Persian"));
+        adopter = new User();
+        adopter.setEmail("adopter@test.com");
+        adopter.setFirstName("Test");
+        adopter.setLastName("Adopter");
+        adopter.setPasswordHash("password");
+        adopter.setRole(UserRole.USER);
+        adopter.setStreetAddress("1 Main St, Springfield");
+        adopter = userRepository.save(adopter);
+
+        adopt(AdoptionStatus.COMPLETED);
+        adopt(AdoptionStatus.PENDING);
+        adopt(AdoptionStatus.COMPLETED);
+    }
+
+    private void adopt(AdoptionStatus status) {
+        Cat cat = new Cat();
+        cat.setName("Cat " + status);
+        cat.setAge(4);
+        cat.setBreed(breed);
+        cat.setStatus(CatStatus.ADOPTED);
+        Adoption adoption = new Adoption(adopter, catRepository.save(cat));
+        adoption.setStatus(status);
+        adoption.setTenantId("main");
+        if (status == AdoptionStatus.COMPLETED) {
+            adoption.setCompletedDate(LocalDateTime.now().minusSeconds(1));
+        }
+        adoptionRepository.save(adoption);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        adoptionRepository.deleteAll();
+        catRepository.deleteAll();
+        userRepository.deleteAll();
+        breedRepository.deleteAll();
+        availableCatsSnapshot.invalidate();
+        adoptionStatsCube.invalidate();
+    }
+
+    private MvcResult export(String format, boolean gzip) throws Exception {
+        return export(format, gzip, null);
+    }
+
+    private MvcResult export(String format, boolean gzip, String since) throws Exception {
+        return export(format, gzip, since, null);
+    }
+
+    private MvcResult export(String format, boolean gzip, String since, String region) throws Exception {
+        var builder = get("/api/health-data/anonymous-adoptions")
+                .header("X-API-Token", TOKEN)
+                .param("format", format);
+        if (since != null) {
+            builder.param("since", since);
+        }
+        if (region != null) {
+            builder.param("region", region);
+        }
+        if (gzip) {
+            builder.header("Accept-Encoding", "gzip");
+        }
+        MvcResult started = mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn();
+    }
+
+    @Test
+    void jsonExport_ShouldOnlyContainCompletedAdoptions() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/health-data/anonymous-adoptions")
+                        .header("X-API-Token", TOKEN))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].catBreed").value("Persian"))
+                .andExpect(jsonPath("$[0].locationRegion").value("Springfield"))
+                .andExpect(jsonPath("$[0].status").value("COMPLETED"));
+    }
+
+    @Test
+    void csvExport_ShouldWriteHeaderAndOneLinePerAdoption() throws Exception {
+        String csv = export("csv", false).getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        String[] lines = csv.split("\r\n");
+        assertEquals(3, lines.length);
+        assertEquals("adoptionDate,catBreed,catAge,locationRegion,status,tenantId", lines[0]);
+        assertEquals(",Persian,4,Springfield,COMPLETED,main", lines[1].substring(lines[1].indexOf(',')));
+    }
+
+    @Test
+    void gzippedNdjsonExport_ShouldDecompressToOneLinePerAdoption() throws Exception {
+        MvcResult result = export("ndjson", true);
+
+        assertEquals("gzip", result.getResponse().getHeader("Content-Encoding"));
+        byte[] compressed = result.getResponse().getContentAsByteArray();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            String ndjson = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            assertEquals(2, ndjson.lines().count());
+        }
+    }
+
+    @Test
+    void resumeToken_ShouldOnlyReturnAdoptionsCompletedSinceLastPull() throws Exception {
+        MvcResult full = export("ndjson", false);
+        assertEquals(2, full.getResponse().getContentAsString().lines().count());
+        String token = full.getResponse().getHeader("X-Next-Cursor");
+
+        adopt(AdoptionStatus.COMPLETED);
+        MvcResult delta = export("ndjson", false, token);
+        assertEquals(1, delta.getResponse().getContentAsString().lines().count());
+        String next = delta.getResponse().getHeader("X-Next-Cursor");
+        assertNotEquals(token, next);
+
+        MvcResult empty = export("ndjson", false, next);
+        assertEquals("", empty.getResponse().getContentAsString());
+        assertEquals(next, empty.getResponse().getHeader("X-Next-Cursor"));
+    }
+
+    @Test
+    void regionFilter_ShouldOnlyReturnAdoptionsFromThatRegion() throws Exception {
+        assertEquals(2, export("ndjson", false, null, "Springfield").getResponse().getContentAsString().lines().count());
+        assertEquals("", export("ndjson", false, null, "Elsewhere").getResponse().getContentAsString());
+    }
+
+    @Test
+    void backfill_ShouldRestoreRegionsOfRowsWrittenWithout() throws Exception {
+        jdbcTemplate.update("UPDATE users SET region = NULL");
+        jdbcTemplate.update("UPDATE adoptions SET region = NULL");
+
+        assertEquals(4, regionBackfillService.backfill());
+        assertEquals(0, regionBackfillService.backfill());
+
+        assertEquals("Springfield", userRepository.findById(adopter.getId()).orElseThrow().getRegion());
+        assertEquals(3, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM adoptions WHERE region = 'Springfield'", Integer.class));
+    }
+
+    @Test
+    void invalidResumeToken_BadRequest() throws Exception {
+        mockMvc.perform(get("/api/health-data/anonymous-adoptions")
+                        .header("X-API-Token", TOKEN)
+                        .param("since", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void stats_ShouldCountCompletedAdoptionsAndSuppressSmallGroups() throws Exception {
+        mockMvc.perform(get("/api/health-data/stats")
+                        .header("X-API-Token", TOKEN)
+                        .param("groupBy", "breed,region"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cells.length()").value(1))
+                .andExpect(jsonPath("$.cells[0].group.breed").value("Persian"))
+                .andExpect(jsonPath("$.cells[0].group.region").value("Springfield"))
+                .andExpect(jsonPath("$.cells[0].adoptions").value(2));
+
+        mockMvc.perform(get("/api/health-data/stats")
+                        .header("X-API-Token", TOKEN)
+                        .param("groupBy", "ageBand")
+                        .param("region", "Elsewhere"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cells.length()").value(0))
+                .andExpect(jsonPath("$.suppressedCells").value(0));
+    }
+
+    @Test
+    void export_WithInvalidToken_Unauthorized() throws Exception {
+        mockMvc.perform(get("/api/health-data/anonymous-adoptions")
+                        .header("X-API-Token", "not-a-token"))
+                .andExpect(status().isUnauthorized());
+    }
+}
@@ -0,0 +1,135 @@
+package io.werescuecats.backend.integration;
+
+import io.werescuecats.backend.entity.User;
+import io.werescuecats.backend.entity.UserRole;
+import io.werescuecats.backend.repository.AdoptionRepository;
+import io.werescuecats.backend.repository.UserRepository;
+import io.werescuecats.backend.security.CustomUserDetails;
+import io.werescuecats.backend.security.JwtUtils;
+import io.werescuecats.backend.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Authenticated requests resolve their principal from the token and the cached user state,
+ * and changes made through UserService reach tokens that were already issued.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "catapi.fetch-on-startup=false",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class JwtAuthenticationIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private AdoptionRepository adoptionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        User newUser = new User();
+        newUser.setEmail("jwt@test.com");
+        newUser.setFirstName("Jay");
+        newUser.setLastName("Token");
+        newUser.setPasswordHash("password");
+        newUser.setRole(UserRole.USER);
+        user = userRepository.save(newUser);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        adoptionRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void authenticatedRead_ShouldNotQueryUsers() throws Exception {
+        String token = loginToken(user);
+        // Warm-up loads the user state and the dashboard counters
+        perform("/api/dashboard/stats", token, status().isOk());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        perform("/api/dashboard/stats", token, status().isOk());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void disablingUser_ShouldRejectIssuedTokens() throws Exception {
+        String token = loginToken(user);
+        perform("/api/dashboard/stats", token, status().isOk());
+
+        User stored = userRepository.findById(user.getId()).orElseThrow();
+        stored.setEnabled(false);
+        userService.updateUser(stored);
+
+        perform("/api/dashboard/stats", token, status().isForbidden());
+    }
+
+    @Test
+    void roleChange_ShouldApplyToIssuedTokens() throws Exception {
+        String token = loginToken(user);
+        perform("/api/users", token, status().isForbidden());
+
+        User stored = userRepository.findById(user.getId()).orElseThrow();
+        stored.setRole(UserRole.ADMIN);
+        userService.updateUser(stored);
+
+        perform("/api/users", token, status().isOk());
+    }
+
+    @Test
+    void tokenWithoutUserId_ShouldStillAuthenticate() throws Exception {
+        perform("/api/dashboard/stats", jwtUtils.generateToken(new CustomUserDetails(user)), status().isOk());
+    }
+
+    // Same claims as AuthController.loginUser
+    private String loginToken(User user) {
+        return jwtUtils.generateToken(new CustomUserDetails(user), Map.of(
+            "userId", user.getId(),
+            "role", user.getRole().name(),
+            "firstName", user.getFirstName(),
+            "lastName", user.getLastName()));
+    }
+
+    private void perform(String url, String token, ResultMatcher expected) throws Exception {
+        mockMvc.perform(get(url).header("Authorization", "Bearer " + token)).andExpect(expected);
+    }
+}
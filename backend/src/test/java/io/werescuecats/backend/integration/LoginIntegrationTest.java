@@ -0,0 +1,93 @@
+package io.werescuecats.backend.integration;
+
+import io.werescuecats.backend.entity.User;
+import io.werescuecats.backend.entity.UserRole;
+import io.werescuecats.backend.repository.AdoptionRepository;
+import io.werescuecats.backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Logins verify passwords through the bounded encoder and upgrade hashes of another cost.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = "catapi.fetch-on-startup=false")
+class LoginIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AdoptionRepository adoptionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @AfterEach
+    void cleanUp() {
+        adoptionRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void login_ShouldRehashPasswordOfOtherCost() throws Exception {
+        // The test profile hashes with cost 4
+        String oldHash = new BCryptPasswordEncoder(5).encode("password123");
+        User user = userRepository.save(user("rehash@test.com", oldHash));
+
+        login("rehash@test.com", "password123")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true));
+
+        String newHash = userRepository.findById(user.getId()).orElseThrow().getPasswordHash();
+        assertNotEquals(oldHash, newHash);
+        assertFalse(passwordEncoder.upgradeEncoding(newHash));
+        assertTrue(passwordEncoder.matches("password123", newHash));
+    }
+
+    @Test
+    void login_WithWrongPassword_ShouldKeepHash() throws Exception {
+        String oldHash = new BCryptPasswordEncoder(5).encode("password123");
+        User user = userRepository.save(user("wrong@test.com", oldHash));
+
+        login("wrong@test.com", "not-the-password").andExpect(status().isUnauthorized());
+
+        assertEquals(oldHash, userRepository.findById(user.getId()).orElseThrow().getPasswordHash());
+    }
+
+    private ResultActions login(String email, String password) throws Exception {
+        return mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}"));
+    }
+
+    private User user(String email, String passwordHash) {
+        User user = new User();
+        user.setEmail(email);
+        user.setFirstName("Login");
+        user.setLastName("Test");
+        user.setPasswordHash(passwordHash);
+        user.setRole(UserRole.USER);
+        return user;
+    }
+}
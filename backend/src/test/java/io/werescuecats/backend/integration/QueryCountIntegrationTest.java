@@ -0,0 +1,184 @@
+package io.werescuecats.backend.integration;
+
+import io.werescuecats.backend.entity.*;
+import io.werescuecats.backend.repository.AdoptionRepository;
+import io.werescuecats.backend.repository.BreedRepository;
+import io.werescuecats.backend.repository.CatRepository;
+import io.werescuecats.backend.repository.UserRepository;
+import io.werescuecats.backend.service.AvailableCatsSnapshot;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Guards the list endpoints against N+1 loading: the number of SQL statements
+ * a request prepares must not depend on how many rows it returns.
+ * Every cat gets its own breed and every adoption its own user, so any lazy
+ * association touched while mapping DTOs shows up as extra statements.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "catapi.fetch-on-startup=false",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@WithMockUser(roles = "ADMIN")
+class QueryCountIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private AdoptionRepository adoptionRepository;
+
+    @Autowired
+    private CatRepository catRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BreedRepository breedRepository;
+
+    @Autowired
+    private AvailableCatsSnapshot availableCatsSnapshot;
+
+    private Statistics statistics;
+    private User owner;
+    private final List<Breed> breeds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        owner = userRepository.save(user("owner@test.com"));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        adoptionRepository.deleteAll();
+        catRepository.deleteAll();
+        userRepository.deleteAll();
+        breedRepository.deleteAll();
+        breeds.clear();
+        // deleteAll bypasses the domain events that keep the snapshot current
+        availableCatsSnapshot.invalidate();
+    }
+
+    @Test
+    void getAllCats_ShouldNotGrowWithResultSize() throws Exception {
+        assertConstantStatementCount("/api/cats");
+    }
+
+    @Test
+    void getAvailableCats_ShouldNotGrowWithResultSize() throws Exception {
+        assertConstantStatementCount("/api/cats/available");
+    }
+
+    @Test
+    void getAvailableCatsPage_ShouldNotGrowWithResultSize() throws Exception {
+        assertConstantStatementCount("/api/cats/available?limit=100");
+    }
+
+    @Test
+    void getCatsByBreed_ShouldNotGrowWithResultSize() throws Exception {
+        seed(2);
+        long small = statementsFor("/api/cats/breed/" + breeds.get(0).getId());
+        for (int i = 0; i < 4; i++) {
+            catRepository.save(cat("Extra " + i, breeds.get(0)));
+        }
+        long large = statementsFor("/api/cats/breed/" + breeds.get(0).getId());
+        assertEquals(small, large, "statements for /api/cats/breed/{id}");
+    }
+
+    @Test
+    void getAllAdoptions_ShouldNotGrowWithResultSize() throws Exception {
+        assertConstantStatementCount("/api/adoptions");
+    }
+
+    @Test
+    void getPendingAdoptions_ShouldNotGrowWithResultSize() throws Exception {
+        assertConstantStatementCount("/api/adoptions/pending");
+    }
+
+    @Test
+    void getAdoptionsByUser_ShouldNotGrowWithResultSize() throws Exception {
+        seed(2);
+        long small = statementsFor("/api/adoptions/user/" + owner.getId());
+        seed(4);
+        long large = statementsFor("/api/adoptions/user/" + owner.getId());
+        assertEquals(small, large, "statements for /api/adoptions/user/{id}");
+    }
+
+    private void assertConstantStatementCount(String url) throws Exception {
+        seed(2);
+        // Warm-up so lazily loaded in-memory views are not counted
+        statementsFor(url);
+        long small = statementsFor(url);
+        seed(4);
+        long large = statementsFor(url);
+        assertEquals(small, large, "statements for " + url);
+    }
+
+    private long statementsFor(String url) throws Exception {
+        statistics.clear();
+        mockMvc.perform(get(url)).andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+
+    // Adds count cats, each with its own breed and adopter, plus a second adoption by the owner
+    private void seed(int count) {
+        int offset = breeds.size();
+        for (int i = offset; i < offset + count; i++) {
+            Breed breed = new Breed();
+            breed.setId("breed" + i);
+            breed.setName("Breed " + i);
+            breeds.add(breedRepository.save(breed));
+
+            Cat cat = catRepository.save(cat("Cat " + i, breed));
+            User adopter = userRepository.save(user("adopter" + i + "@test.com"));
+            adoptionRepository.save(new Adoption(adopter, cat));
+            adoptionRepository.save(new Adoption(owner, cat));
+        }
+    }
+
+    private Cat cat(String name, Breed breed) {
+        Cat cat = new Cat();
+        cat.setName(name);
+        cat.setAge(2);
+        cat.setBreed(breed);
+        cat.setStatus(CatStatus.AVAILABLE);
+        return cat;
+    }
+
+    private User user(String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setFirstName("Test");
+        user.setLastName("User");
+        user.setPasswordHash("password");
+        user.setRole(UserRole.USER);
+        return user;
+    }
+}
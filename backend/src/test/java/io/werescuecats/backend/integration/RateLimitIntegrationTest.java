@@ -0,0 +1,96 @@
+package io.werescuecats.backend.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Public routes are limited per client in the security filter chain; every test uses addresses
+ * and tokens of its own, as the buckets outlive a test. Buckets refill once a minute, so slow
+ * requests cannot refill them within a test.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "catapi.fetch-on-startup=false",
+    "rate-limit.enabled=true",
+    "rate-limit.auth.capacity=2",
+    "rate-limit.auth.per-minute=1",
+    "rate-limit.health-data.capacity=1",
+    "rate-limit.health-data.per-minute=1",
+    "rate-limit.public.capacity=5"
+})
+class RateLimitIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void login_ShouldBeLimitedPerAddress() throws Exception {
+        login("10.1.0.1").andExpect(status().isUnauthorized())
+                .andExpect(header().string("RateLimit-Limit", "2"))
+                .andExpect(header().string("RateLimit-Remaining", "1"));
+        login("10.1.0.1").andExpect(status().isUnauthorized());
+
+        login("10.1.0.1").andExpect(status().isTooManyRequests())
+                .andExpect(header().string("RateLimit-Remaining", "0"))
+                .andExpect(header().exists("Retry-After"));
+        login("10.1.0.2").andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void healthData_ShouldBeLimitedPerTokenAndKeepDailyQuotaHeaders() throws Exception {
+        mockMvc.perform(get("/api/health-data/stats")
+                        .header("X-API-Token", "health_regional_456")
+                        .with(remoteAddress("10.2.0.1")))
+                .andExpect(status().isOk())
+                .andExpect(header().stringValues("RateLimit-Limit", "1000"));
+
+        mockMvc.perform(get("/api/health-data/stats")
+                        .header("X-API-Token", "health_regional_456")
+                        .with(remoteAddress("10.2.0.2")))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("RateLimit-Limit", "1"))
+                .andExpect(header().exists("Retry-After"));
+
+        mockMvc.perform(get("/api/health-data/stats")
+                        .header("X-API-Token", "health_research_789")
+                        .with(remoteAddress("10.2.0.3")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void breeds_ShouldReportRemainingRequests() throws Exception {
+        mockMvc.perform(get("/api/breeds").with(remoteAddress("10.3.0.1")))
+                .andExpect(status().isOk())
+                .andExpect(header().string("RateLimit-Limit", "5"))
+                .andExpect(header().string("RateLimit-Remaining", "4"));
+    }
+
+    private ResultActions login(String address) throws Exception {
+        return mockMvc.perform(post("/api/auth/login")
+                .with(remoteAddress(address))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"nobody@test.com\",\"password\":\"password123\"}"));
+    }
+
+    private static RequestPostProcessor remoteAddress(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+}
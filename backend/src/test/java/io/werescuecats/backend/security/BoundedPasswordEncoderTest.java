@@ -0,0 +1,59 @@
+package io.werescuecats.backend.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.werescuecats.backend.exception.PasswordHashingBusyException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        encoder.stop();
+    }
+
+    @Test
+    void encodeAndMatches_ShouldRunOnPoolAndRecordMetrics() {
+        encoder = new BoundedPasswordEncoder(4, 1, 4, Duration.ofSeconds(5), meterRegistry);
+
+        String hash = encoder.encode("secret");
+
+        assertThat(encoder.matches("secret", hash)).isTrue();
+        assertThat(encoder.matches("wrong", hash)).isFalse();
+        assertThat(meterRegistry.get("auth.password.hash").tag("operation", "encode").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("auth.password.hash").tag("operation", "matches").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("auth.password.queue.wait").timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    void upgradeEncoding_ShouldFlagHashesOfOtherCost() {
+        encoder = new BoundedPasswordEncoder(5, 1, 4, Duration.ofSeconds(5), meterRegistry);
+
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret"))).isTrue();
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("secret"))).isTrue();
+        assertThat(encoder.upgradeEncoding(encoder.encode("secret"))).isFalse();
+        assertThat(encoder.upgradeEncoding("not-a-bcrypt-hash")).isFalse();
+        assertThat(BoundedPasswordEncoder.costOf("$2a$12$abc")).isEqualTo(12);
+    }
+
+    @Test
+    void saturatedPool_ShouldRejectRightAway() {
+        // A cost 14 hash takes far longer than the allowed wait and keeps the only thread busy
+        encoder = new BoundedPasswordEncoder(14, 1, 0, Duration.ofMillis(1), meterRegistry);
+
+        assertThatThrownBy(() -> encoder.encode("secret")).isInstanceOf(PasswordHashingBusyException.class);
+        assertThatThrownBy(() -> encoder.encode("secret")).isInstanceOf(PasswordHashingBusyException.class);
+
+        assertThat(meterRegistry.get("auth.password.rejected").counter().count()).isEqualTo(2);
+    }
+}
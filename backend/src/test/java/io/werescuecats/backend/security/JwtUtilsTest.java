@@ -1,6 +1,7 @@
 package io.werescuecats.backend.security;
 
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.security.SignatureException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.security.core.userdetails.User;
@@ -25,6 +26,7 @@ class JwtUtilsTest {
         jwtUtils = new JwtUtils();
         ReflectionTestUtils.setField(jwtUtils, "secret", VALID_SECRET);
         ReflectionTestUtils.setField(jwtUtils, "expiration", 3_600_000L);
+        jwtUtils.init();
     }
 
     @Test
@@ -67,10 +69,38 @@ class JwtUtilsTest {
         JwtUtils expiredUtils = new JwtUtils();
         ReflectionTestUtils.setField(expiredUtils, "secret", VALID_SECRET);
         ReflectionTestUtils.setField(expiredUtils, "expiration", -1_000L);
+        expiredUtils.init();
 
         UserDetails user = new User("alice", "pw", Collections.emptyList());
         String token = expiredUtils.generateToken(user);
 
         assertThrows(ExpiredJwtException.class, () -> expiredUtils.validateToken(token, user));
     }
+
+    @Test
+    void verify_shouldReturnTypedClaims() {
+        UserDetails user = new User("alice", "pw", Collections.emptyList());
+        Map<String, Object> extraClaims = new HashMap<>();
+        extraClaims.put("userId", 42L);
+        extraClaims.put("role", "ADMIN");
+
+        JwtClaims claims = jwtUtils.verify(jwtUtils.generateToken(user, extraClaims));
+
+        assertEquals("alice", claims.username());
+        assertEquals(42L, claims.userId());
+        assertEquals("ADMIN", claims.role());
+        assertTrue(claims.expiresAt().isAfter(new Date().toInstant()));
+    }
+
+    @Test
+    void verify_shouldRejectTokenSignedWithOtherKey() {
+        JwtUtils otherUtils = new JwtUtils();
+        ReflectionTestUtils.setField(otherUtils, "secret", "abcdefghijklmnopqrstuvwxyzabcdef");
+        ReflectionTestUtils.setField(otherUtils, "expiration", 3_600_000L);
+        otherUtils.init();
+
+        String token = otherUtils.generateToken(new User("alice", "pw", Collections.emptyList()));
+
+        assertThrows(SignatureException.class, () -> jwtUtils.verify(token));
+    }
 }
@@ -0,0 +1,220 @@
+package io.werescuecats.backend.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.werescuecats.backend.entity.User;
+import io.werescuecats.backend.entity.UserRole;
+import io.werescuecats.backend.service.ApiTokenService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RateLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ApiTokenService apiTokenService = mock(ApiTokenService.class);
+    private MutableClock clock;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void bucket_ShouldAllowBurstThenRefillOverTime() throws Exception {
+        RateLimitFilter filter = filter(100, RateLimitFilter.Policy.perMinute(
+            "auth", RateLimitFilter.Key.CLIENT_IP, 2, 60, true, "/api/auth"));
+
+        MockHttpServletResponse first = send(filter, request("/api/auth/login", "10.0.0.1"));
+        MockHttpServletResponse second = send(filter, request("/api/auth/login", "10.0.0.1"));
+        MockHttpServletResponse third = send(filter, request("/api/auth/login", "10.0.0.1"));
+
+        assertThat(first.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(first.getHeader(RateLimitFilter.LIMIT_HEADER)).isEqualTo("2");
+        assertThat(first.getHeader(RateLimitFilter.REMAINING_HEADER)).isEqualTo("1");
+        assertThat(second.getHeader(RateLimitFilter.REMAINING_HEADER)).isEqualTo("0");
+        assertThat(second.getHeader(RateLimitFilter.RESET_HEADER)).isEqualTo("2");
+        assertThat(third.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(third.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(meterRegistry.get("ratelimit.rejected").tag("policy", "auth").counter().count()).isEqualTo(1);
+
+        // Other clients have buckets of their own
+        assertThat(send(filter, request("/api/auth/login", "10.0.0.2")).getStatus()).isEqualTo(HttpStatus.OK.value());
+
+        clock.advance(Duration.ofSeconds(1));
+        assertThat(send(filter, request("/api/auth/login", "10.0.0.1")).getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(send(filter, request("/api/auth/login", "10.0.0.1")).getStatus())
+            .isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+    }
+
+    @Test
+    void routesWithoutPolicy_ShouldPassWithoutHeaders() throws Exception {
+        RateLimitFilter filter = filter(100, RateLimitFilter.Policy.perMinute(
+            "public", RateLimitFilter.Key.CLIENT_IP, 1, 1, true, "/api/cats"));
+
+        send(filter, request("/api/cats/1", "10.0.0.1"));
+        MockHttpServletResponse otherRoute = send(filter, request("/api/catsearch", "10.0.0.1"));
+        MockHttpServletResponse limitedRoute = send(filter, request("/api/cats", "10.0.0.1"));
+
+        assertThat(otherRoute.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(otherRoute.getHeader(RateLimitFilter.LIMIT_HEADER)).isNull();
+        assertThat(limitedRoute.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(filter.bucketCount()).isEqualTo(1);
+    }
+
+    @Test
+    void userPolicy_ShouldCountAuthenticatedUsersAcrossAddresses() throws Exception {
+        RateLimitFilter filter = filter(100, RateLimitFilter.Policy.perMinute(
+            "public", RateLimitFilter.Key.USER, 1, 1, true, "/api/cats"));
+        User user = new User();
+        user.setId(7L);
+        user.setEmail("user@test.com");
+        user.setRole(UserRole.USER);
+        CustomUserDetails details = new CustomUserDetails(user);
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(details, null, details.getAuthorities()));
+
+        assertThat(send(filter, request("/api/cats", "10.0.0.1")).getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(send(filter, request("/api/cats", "10.0.0.2")).getStatus())
+            .isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+
+        SecurityContextHolder.clearContext();
+        assertThat(send(filter, request("/api/cats", "10.0.0.1")).getStatus()).isEqualTo(HttpStatus.OK.value());
+    }
+
+    @Test
+    void apiTokenPolicy_ShouldCountValidTokensAndUnknownOnesByAddress() throws Exception {
+        RateLimitFilter filter = filter(100, RateLimitFilter.Policy.perMinute(
+            "health-data", RateLimitFilter.Key.API_TOKEN, 1, 1, false, "/api/health-data"));
+        when(apiTokenService.isValidToken("valid-token")).thenReturn(true);
+        when(apiTokenService.isValidToken("made-up-1")).thenReturn(false);
+
+        MockHttpServletResponse allowed = send(filter, tokenRequest("valid-token", "10.0.0.1"));
+        MockHttpServletResponse sameToken = send(filter, tokenRequest("valid-token", "10.0.0.2"));
+        MockHttpServletResponse firstMadeUp = send(filter, tokenRequest("made-up-1", "10.0.0.3"));
+        MockHttpServletResponse secondMadeUp = send(filter, tokenRequest("made-up-2", "10.0.0.3"));
+
+        assertThat(allowed.getStatus()).isEqualTo(HttpStatus.OK.value());
+        // The controller reports the daily quota of the token on allowed requests
+        assertThat(allowed.getHeader(RateLimitFilter.LIMIT_HEADER)).isNull();
+        assertThat(sameToken.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(sameToken.getHeader(RateLimitFilter.LIMIT_HEADER)).isEqualTo("1");
+        assertThat(firstMadeUp.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(secondMadeUp.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        // Rejected by the bucket of the address before the token is looked up
+        verify(apiTokenService, never()).isValidToken("made-up-2");
+    }
+
+    @Test
+    void buckets_ShouldStayBoundedAndDropFullBucketsFirst() throws Exception {
+        RateLimitFilter filter = filter(10, RateLimitFilter.Policy.perMinute(
+            "auth", RateLimitFilter.Key.CLIENT_IP, 1, 60, true, "/api/auth"));
+
+        send(filter, request("/api/auth/login", "10.0.0.1"));
+        clock.advance(Duration.ofSeconds(1));
+        for (int client = 2; client <= 10; client++) {
+            send(filter, request("/api/auth/login", "10.0.0." + client));
+        }
+        assertThat(filter.bucketCount()).isEqualTo(10);
+
+        // Only the first client's bucket is full again, dropping it makes room
+        send(filter, request("/api/auth/login", "10.0.0.11"));
+        assertThat(filter.bucketCount()).isEqualTo(10);
+        assertThat(send(filter, request("/api/auth/login", "10.0.0.2")).getStatus())
+            .isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(meterRegistry.get("ratelimit.buckets.evicted").counter().count()).isZero();
+
+        // Every bucket is in use, arbitrary ones are dropped
+        send(filter, request("/api/auth/login", "10.0.0.12"));
+        assertThat(filter.bucketCount()).isLessThanOrEqualTo(10);
+        assertThat(meterRegistry.get("ratelimit.buckets.evicted").counter().count()).isPositive();
+    }
+
+    @Test
+    void disabledFilter_ShouldNotLimit() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(false, 100, List.of(RateLimitFilter.Policy.perMinute(
+            "auth", RateLimitFilter.Key.CLIENT_IP, 1, 1, true, "/api/auth")), apiTokenService, meterRegistry, clock);
+
+        send(filter, request("/api/auth/login", "10.0.0.1"));
+
+        assertThat(send(filter, request("/api/auth/login", "10.0.0.1")).getStatus()).isEqualTo(HttpStatus.OK.value());
+    }
+
+    @Test
+    void policy_ShouldRejectRatesBelowOneMillisecond() {
+        assertThatThrownBy(() -> RateLimitFilter.Policy.perMinute(
+            "auth", RateLimitFilter.Key.CLIENT_IP, 1, 120_000, true, "/api/auth"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private RateLimitFilter filter(int maxBuckets, RateLimitFilter.Policy policy) {
+        return new RateLimitFilter(true, maxBuckets, List.of(policy), apiTokenService, meterRegistry, clock);
+    }
+
+    private static MockHttpServletRequest request(String path, String remoteAddress) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setRemoteAddr(remoteAddress);
+        return request;
+    }
+
+    private static MockHttpServletRequest tokenRequest(String token, String remoteAddress) {
+        MockHttpServletRequest request = request("/api/health-data/stats", remoteAddress);
+        request.addHeader("X-API-Token", token);
+        return request;
+    }
+
+    private static MockHttpServletResponse send(RateLimitFilter filter, MockHttpServletRequest request)
+            throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2025-01-01T10:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package io.werescuecats.backend.security;
+
+import io.werescuecats.backend.dto.UserAuthState;
+import io.werescuecats.backend.entity.UserRole;
+import io.werescuecats.backend.event.UserChangedEvent;
+import io.werescuecats.backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserStateCacheTest {
+
+    private static final UserAuthState ALICE = new UserAuthState(1L, "alice@test.com", UserRole.USER, true);
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MutableClock clock;
+
+    private UserStateCache cache;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+        cache = new UserStateCache(userRepository, transactionManager, clock, 2, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void get_ShouldLoadOnceUntilExpired() {
+        when(userRepository.findAuthStateById(1L)).thenReturn(Optional.of(ALICE));
+
+        assertThat(cache.get(1L)).contains(ALICE);
+        assertThat(cache.get(1L)).contains(ALICE);
+        verify(userRepository, times(1)).findAuthStateById(1L);
+
+        clock.advance(Duration.ofMinutes(5));
+        assertThat(cache.get(1L)).contains(ALICE);
+        verify(userRepository, times(2)).findAuthStateById(1L);
+    }
+
+    @Test
+    void get_ShouldCacheMissingUsers() {
+        when(userRepository.findAuthStateById(9L)).thenReturn(Optional.empty());
+
+        assertThat(cache.get(9L)).isEmpty();
+        assertThat(cache.get(9L)).isEmpty();
+
+        verify(userRepository, times(1)).findAuthStateById(9L);
+    }
+
+    @Test
+    void onUserChanged_ShouldDropEntry() {
+        UserAuthState disabled = new UserAuthState(1L, "alice@test.com", UserRole.USER, false);
+        when(userRepository.findAuthStateById(1L)).thenReturn(Optional.of(ALICE), Optional.of(disabled));
+        cache.get(1L);
+
+        cache.onUserChanged(new UserChangedEvent(1L, UserRole.USER, UserRole.USER));
+
+        assertThat(cache.get(1L)).contains(disabled);
+    }
+
+    @Test
+    void get_ShouldNotCacheLoadThatRacedAnInvalidation() {
+        when(userRepository.findAuthStateById(1L)).thenAnswer(invocation -> {
+            cache.onUserChanged(new UserChangedEvent(1L, UserRole.USER, null));
+            return Optional.of(ALICE);
+        }).thenReturn(Optional.empty());
+
+        assertThat(cache.get(1L)).contains(ALICE);
+
+        assertThat(cache.size()).isZero();
+        assertThat(cache.get(1L)).isEmpty();
+    }
+
+    @Test
+    void get_ShouldEvictLeastRecentlyUsed() {
+        when(userRepository.findAuthStateById(anyLong())).thenReturn(Optional.of(ALICE));
+        cache.get(1L);
+        cache.get(2L);
+        cache.get(1L);
+
+        cache.get(3L);
+        cache.get(1L);
+
+        assertThat(cache.size()).isEqualTo(2);
+        verify(userRepository, times(1)).findAuthStateById(1L);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -5,8 +5,11 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -15,13 +18,22 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 
+import io.werescuecats.backend.dto.AdoptionFeedCursor;
+import io.werescuecats.backend.dto.AdoptionStatsDto;
+import io.werescuecats.backend.dto.AdoptionTransitionResult;
+import io.werescuecats.backend.dto.AdoptionView;
 import io.werescuecats.backend.dto.AnonymousAdoptionData;
+import io.werescuecats.backend.dto.AnonymousAdoptionRow;
+import io.werescuecats.backend.dto.UserAdoptionStatusCount;
 import io.werescuecats.backend.entity.Adoption;
 import io.werescuecats.backend.entity.AdoptionStatus;
 import io.werescuecats.backend.entity.Cat;
 import io.werescuecats.backend.entity.CatStatus;
 import io.werescuecats.backend.entity.User;
+import io.werescuecats.backend.event.AdoptionStatusChangedEvent;
 import io.werescuecats.backend.exception.CatNotAvailableException;
 import io.werescuecats.backend.exception.ResourceNotFoundException;
 import io.werescuecats.backend.repository.AdoptionRepository;
@@ -38,6 +50,9 @@ class AdoptionServiceTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private AdoptionService adoptionService;
 
@@ -76,8 +91,13 @@ class AdoptionServiceTest {
     @DisplayName("Create adoption success")
     void createAdoption_Success() {
         when(userService.getUserById(1L)).thenReturn(Optional.of(testUser));
+        when(catService.reserveCat(1L)).thenReturn(true);
         when(catService.getCatById(1L)).thenReturn(Optional.of(testCat));
-        when(adoptionRepository.save(any(Adoption.class))).thenAnswer(i -> i.getArgument(0));
+        when(adoptionRepository.save(any(Adoption.class))).thenAnswer(i -> {
+            Adoption saved = i.getArgument(0);
+            saved.setId(7L);
+            return saved;
+        });
 
         Adoption result = adoptionService.createAdoption(1L, 1L, "Notes");
 
@@ -87,8 +107,11 @@ class AdoptionServiceTest {
         assertEquals("Notes", result.getNotes());
         assertEquals(AdoptionStatus.PENDING, result.getStatus());
 
-        verify(catService).updateCatStatus(1L, CatStatus.PENDING);
+        verify(catService).reserveCat(1L);
+        verify(catService, never()).updateCatStatus(anyLong(), any());
         verify(adoptionRepository).save(any(Adoption.class));
+        verify(eventPublisher).publishEvent(
+            new AdoptionStatusChangedEvent(List.of(7L), null, AdoptionStatus.PENDING));
     }
 
     @Test
@@ -107,6 +130,7 @@ class AdoptionServiceTest {
     @DisplayName("Create adoption throws when cat not found")
     void createAdoption_CatNotFound() {
         when(userService.getUserById(1L)).thenReturn(Optional.of(testUser));
+        when(catService.reserveCat(1L)).thenReturn(false);
         when(catService.getCatById(1L)).thenReturn(Optional.empty());
 
         ResourceNotFoundException ex = assertThrows(ResourceNotFoundException.class,
@@ -121,6 +145,7 @@ class AdoptionServiceTest {
     void createAdoption_CatNotAvailable() {
         testCat.setStatus(CatStatus.ADOPTED);
         when(userService.getUserById(1L)).thenReturn(Optional.of(testUser));
+        when(catService.reserveCat(1L)).thenReturn(false);
         when(catService.getCatById(1L)).thenReturn(Optional.of(testCat));
 
         CatNotAvailableException ex = assertThrows(CatNotAvailableException.class,
@@ -174,6 +199,8 @@ class AdoptionServiceTest {
 
         verify(catService).updateCatStatus(testCat.getId(), CatStatus.ADOPTED);
         verify(adoptionRepository).save(testAdoption);
+        verify(eventPublisher).publishEvent(
+            new AdoptionStatusChangedEvent(List.of(1L), AdoptionStatus.APPROVED, AdoptionStatus.COMPLETED));
     }
 
     @Test
@@ -229,6 +256,19 @@ class AdoptionServiceTest {
         assertEquals(testAdoption, result.get(0));
     }
 
+    @Test
+    @DisplayName("Get pending adoption views uses projection query")
+    void getPendingAdoptionViews_Success() {
+        AdoptionView view = new AdoptionView(1L, AdoptionStatus.PENDING, LocalDateTime.now(), null, null,
+                null, null, null, 1L, "user@test.com", "John", "Doe", 1L, "Fluffy", "Persian");
+        when(adoptionRepository.findViewsByStatus(AdoptionStatus.PENDING)).thenReturn(List.of(view));
+
+        List<AdoptionView> result = adoptionService.getPendingAdoptionViews();
+
+        assertEquals(List.of(view), result);
+        verify(adoptionRepository, never()).findByStatus(any());
+    }
+
     @Test
     @DisplayName("Get adoption by id returns adoption")
     void getAdoptionById_Success() {
@@ -251,21 +291,163 @@ class AdoptionServiceTest {
     }
 
     @Test
-    @DisplayName("Get anonymous adoption data maps correctly")
-    void getAnonymousAdoptionData_Success() {
-        testAdoption.setStatus(AdoptionStatus.COMPLETED);
-        testAdoption.setAdoptionDate(LocalDateTime.of(2023, 1, 1, 12, 0));
-        when(adoptionRepository.findAll()).thenReturn(List.of(testAdoption));
+    @DisplayName("Get user adoption stats folds the grouped counts")
+    void getUserAdoptionStats_Success() {
+        when(adoptionRepository.countByUserGroupedByStatus(1L)).thenReturn(List.of(
+            new UserAdoptionStatusCount(1L, AdoptionStatus.PENDING, 2L),
+            new UserAdoptionStatusCount(1L, AdoptionStatus.COMPLETED, 3L),
+            new UserAdoptionStatusCount(1L, AdoptionStatus.REJECTED, 1L)));
+
+        AdoptionStatsDto stats = adoptionService.getUserAdoptionStats(1L);
+
+        assertEquals(1L, stats.getUserId());
+        assertEquals(6, stats.getTotalApplications());
+        assertEquals(3L, stats.getCompletedAdoptions());
+        assertEquals(2, stats.getPendingApplications());
+        verify(adoptionRepository, never()).findByUserId(any());
+    }
 
-        List<AnonymousAdoptionData> result = adoptionService.getAnonymousAdoptionData();
+    @Test
+    @DisplayName("Get adoption stats for users keeps the id order and zero counts")
+    void getAdoptionStatsForUsers_Success() {
+        when(adoptionRepository.countByUsersGroupedByStatus(Set.of(2L, 1L, 3L))).thenReturn(List.of(
+            new UserAdoptionStatusCount(1L, AdoptionStatus.PENDING, 1L),
+            new UserAdoptionStatusCount(3L, AdoptionStatus.COMPLETED, 4L)));
+
+        List<AdoptionStatsDto> stats = adoptionService.getAdoptionStatsForUsers(List.of(2L, 1L, 3L, 1L));
+
+        assertEquals(List.of(2L, 1L, 3L), stats.stream().map(AdoptionStatsDto::getUserId).toList());
+        assertEquals(0, stats.get(0).getTotalApplications());
+        assertEquals(1, stats.get(1).getPendingApplications());
+        assertEquals(4L, stats.get(2).getCompletedAdoptions());
+        assertEquals(4, stats.get(2).getTotalApplications());
+    }
 
-        assertEquals(1, result.size());
+    @Test
+    @DisplayName("Stream anonymous adoption data maps the projected rows")
+    void streamAnonymousAdoptionData_Success() {
+        LocalDateTime adoptionDate = LocalDateTime.of(2023, 1, 1, 12, 0);
+        AdoptionFeedCursor upTo = new AdoptionFeedCursor(adoptionDate.plusDays(3), 9L);
+        when(adoptionRepository.streamAnonymousRowsUpTo(AdoptionStatus.COMPLETED, null, upTo.completedDate(), 9L)).thenReturn(Stream.of(
+            new AnonymousAdoptionRow(1L, adoptionDate, null, 3, "Region", AdoptionStatus.COMPLETED, "main"),
+            new AnonymousAdoptionRow(2L, adoptionDate, "Persian", 5, null, AdoptionStatus.COMPLETED, "main")));
+
+        List<AnonymousAdoptionData> result = new ArrayList<>();
+        adoptionService.streamAnonymousAdoptionData(null, upTo, null, result::add);
+
+        assertEquals(2, result.size());
         AnonymousAdoptionData data = result.get(0);
-        assertEquals(testAdoption.getAdoptionDate(), data.getAdoptionDate());
+        assertEquals(adoptionDate, data.getAdoptionDate());
         assertEquals("Unknown", data.getCatBreed());
-        assertEquals(testCat.getAge(), data.getCatAge());
+        assertEquals(3, data.getCatAge());
         assertEquals("Region", data.getLocationRegion());
         assertEquals("COMPLETED", data.getStatus());
-        assertEquals(testAdoption.getTenantId(), data.getTenantId());
+        assertEquals("main", data.getTenantId());
+        assertEquals("Persian", result.get(1).getCatBreed());
+        assertEquals("Unknown", result.get(1).getLocationRegion());
+        verify(adoptionRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Stream anonymous adoption data since a cursor only reads the feed delta")
+    void streamAnonymousAdoptionData_SinceCursor() {
+        AdoptionFeedCursor since = new AdoptionFeedCursor(LocalDateTime.of(2024, 1, 1, 0, 0), 4L);
+        AdoptionFeedCursor upTo = new AdoptionFeedCursor(LocalDateTime.of(2024, 2, 1, 0, 0), 12L);
+        when(adoptionRepository.streamAnonymousRowsBetween(AdoptionStatus.COMPLETED, "North",
+            since.completedDate(), 4L, upTo.completedDate(), 12L)).thenReturn(Stream.of(
+            new AnonymousAdoptionRow(5L, LocalDateTime.of(2024, 1, 10, 0, 0), "Persian", 3, "North", AdoptionStatus.COMPLETED, "main")));
+
+        List<AnonymousAdoptionData> result = new ArrayList<>();
+        adoptionService.streamAnonymousAdoptionData(since, upTo, "North", result::add);
+
+        assertEquals(1, result.size());
+        verify(adoptionRepository, never()).streamAnonymousRowsUpTo(any(), any(), any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Feed head is the newest completed adoption at or before the bound")
+    void anonymousFeedHead() {
+        LocalDateTime upTo = LocalDateTime.of(2024, 3, 1, 0, 0);
+        testAdoption.setCompletedDate(upTo.minusHours(1));
+        when(adoptionRepository.findFirstByStatusAndCompletedDateLessThanEqualOrderByCompletedDateDescIdDesc(
+            AdoptionStatus.COMPLETED, upTo)).thenReturn(Optional.of(testAdoption));
+
+        assertEquals(new AdoptionFeedCursor(upTo.minusHours(1), testAdoption.getId()),
+            adoptionService.anonymousFeedHead(upTo));
+    }
+
+    @Test
+    @DisplayName("Feed head starts at the beginning while nothing is completed")
+    void anonymousFeedHead_Empty() {
+        when(adoptionRepository.findFirstByStatusAndCompletedDateLessThanEqualOrderByCompletedDateDescIdDesc(
+            eq(AdoptionStatus.COMPLETED), any())).thenReturn(Optional.empty());
+
+        assertEquals(AdoptionFeedCursor.START, adoptionService.anonymousFeedHead(LocalDateTime.now()));
+    }
+
+    @Test
+    @DisplayName("Batch approve applies valid transitions with set-based updates and reports the rest")
+    void approveAdoptions_MixedBatch() {
+        when(adoptionRepository.findViewsByIdIn(Set.of(1L, 2L, 3L, 4L))).thenReturn(List.of(
+            view(1L, AdoptionStatus.PENDING, 10L),
+            view(2L, AdoptionStatus.APPROVED, 20L),
+            view(4L, AdoptionStatus.PENDING, 40L)));
+        when(adoptionRepository.transitionStatus(eq(List.of(1L, 4L)), eq(AdoptionStatus.PENDING),
+            eq(AdoptionStatus.APPROVED), eq(adminUser), any(), any(), isNull(), isNull())).thenReturn(2);
+
+        List<AdoptionTransitionResult> results = adoptionService.approveAdoptions(List.of(1L, 2L, 3L, 4L, 1L), adminUser);
+
+        assertEquals(List.of(1L, 2L, 3L, 4L), results.stream().map(AdoptionTransitionResult::id).toList());
+        assertEquals(List.of(true, false, false, true), results.stream().map(AdoptionTransitionResult::applied).toList());
+        assertEquals(AdoptionStatus.APPROVED, results.get(1).status());
+        assertEquals("Adoption must be PENDING to be transitioned to APPROVED", results.get(1).error());
+        assertEquals("Adoption not found with id: 3", results.get(2).error());
+        verify(catService).updateCatStatuses(Set.of(10L, 40L), CatStatus.PENDING);
+        verify(adoptionRepository, never()).save(any());
+        verify(eventPublisher).publishEvent(
+            new AdoptionStatusChangedEvent(List.of(1L, 4L), AdoptionStatus.PENDING, AdoptionStatus.APPROVED));
+    }
+
+    @Test
+    @DisplayName("Batch reject stores the reason and frees the cats")
+    void rejectAdoptions_Success() {
+        when(adoptionRepository.findViewsByIdIn(Set.of(1L))).thenReturn(List.of(view(1L, AdoptionStatus.PENDING, 10L)));
+        when(adoptionRepository.transitionStatus(eq(List.of(1L)), eq(AdoptionStatus.PENDING),
+            eq(AdoptionStatus.REJECTED), eq(adminUser), any(), isNull(), isNull(), eq("No garden"))).thenReturn(1);
+
+        List<AdoptionTransitionResult> results = adoptionService.rejectAdoptions(List.of(1L), adminUser, "No garden");
+
+        assertTrue(results.get(0).applied());
+        verify(catService).updateCatStatuses(Set.of(10L), CatStatus.AVAILABLE);
+    }
+
+    @Test
+    @DisplayName("Batch transition without valid ids does not update anything")
+    void completeAdoptions_NothingValid() {
+        when(adoptionRepository.findViewsByIdIn(Set.of(1L))).thenReturn(List.of(view(1L, AdoptionStatus.PENDING, 10L)));
+
+        List<AdoptionTransitionResult> results = adoptionService.completeAdoptions(List.of(1L), adminUser);
+
+        assertFalse(results.get(0).applied());
+        verify(adoptionRepository, never()).transitionStatus(any(), any(), any(), any(), any(), any(), any(), any());
+        verifyNoInteractions(catService);
+    }
+
+    @Test
+    @DisplayName("Batch transition fails as a whole when rows changed concurrently")
+    void completeAdoptions_ConcurrentChange() {
+        when(adoptionRepository.findViewsByIdIn(Set.of(1L, 2L))).thenReturn(List.of(
+            view(1L, AdoptionStatus.APPROVED, 10L),
+            view(2L, AdoptionStatus.APPROVED, 20L)));
+        when(adoptionRepository.transitionStatus(any(), any(), any(), any(), any(), any(), any(), any())).thenReturn(1);
+
+        assertThrows(OptimisticLockingFailureException.class,
+            () -> adoptionService.completeAdoptions(List.of(1L, 2L), adminUser));
+        verifyNoInteractions(catService);
+    }
+
+    private AdoptionView view(Long id, AdoptionStatus status, Long catId) {
+        return new AdoptionView(id, status, LocalDateTime.now(), null, null, null, null, null,
+            1L, "test@example.com", "John", "Doe", catId, "Cat " + catId, "Persian");
     }
 }
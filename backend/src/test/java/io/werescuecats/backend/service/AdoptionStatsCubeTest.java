@@ -0,0 +1,206 @@
+package io.werescuecats.backend.service;
+
+import io.werescuecats.backend.dto.AdoptionAggregateResult;
+import io.werescuecats.backend.dto.AnonymousAdoptionRow;
+import io.werescuecats.backend.entity.AdoptionStatus;
+import io.werescuecats.backend.event.AdoptionStatusChangedEvent;
+import io.werescuecats.backend.repository.AdoptionRepository;
+import io.werescuecats.backend.service.AdoptionStatsCube.Dimension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AdoptionStatsCubeTest {
+
+    @Mock
+    private AdoptionRepository adoptionRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AdoptionStatsCube cube;
+
+    @BeforeEach
+    void setUp() {
+        cube = new AdoptionStatsCube(adoptionRepository, transactionManager, 2);
+    }
+
+    private AnonymousAdoptionRow row(long id, String breed, int age, String region, int month) {
+        return new AnonymousAdoptionRow(id, LocalDateTime.of(2024, month, 15, 12, 0), breed, age,
+            region, AdoptionStatus.COMPLETED, "main");
+    }
+
+    private void load(AnonymousAdoptionRow... rows) {
+        when(adoptionRepository.streamAnonymousRowsByStatus(AdoptionStatus.COMPLETED)).thenReturn(Stream.of(rows));
+    }
+
+    @Test
+    void query_ShouldGroupAndSuppressSmallCells() {
+        load(row(1, "Persian", 3, "North", 1),
+             row(2, "Persian", 4, "North", 2),
+             row(3, "Persian", 12, "South", 2),
+             row(4, "Siamese", 1, "South", 2),
+             row(5, "Bengal", 3, "North", 2),
+             row(6, "Bengal", 3, "North", 2));
+
+        AdoptionAggregateResult result = cube.query(EnumSet.of(Dimension.BREED), Map.of());
+
+        assertThat(result.groupBy()).containsExactly("breed");
+        // Siamese is below the minimum, Bengal as the next smallest keeps it from the total
+        assertThat(result.cells()).containsExactly(
+            new AdoptionAggregateResult.Cell(Map.of("breed", "Persian"), 3));
+        assertThat(result.suppressedCells()).isEqualTo(2);
+        assertThat(result.minCellSize()).isEqualTo(2);
+        assertThat(cube.query(Set.of(), Map.of()).cells()).containsExactly(
+            new AdoptionAggregateResult.Cell(Map.of(), 6));
+    }
+
+    @Test
+    void query_ShouldNotRevealSuppressedCellByTotalMinusVisibleCells() {
+        load(row(1, "Persian", 3, "North", 1),
+             row(2, "Persian", 4, "North", 2),
+             row(3, "Persian", 12, "South", 2),
+             row(4, "Siamese", 1, "South", 2));
+
+        AdoptionAggregateResult total = cube.query(Set.of(), Map.of());
+        AdoptionAggregateResult byBreed = cube.query(EnumSet.of(Dimension.BREED), Map.of());
+
+        // Total 4 minus Persian 3 would give the single Siamese adoption
+        assertThat(total.cells()).containsExactly(new AdoptionAggregateResult.Cell(Map.of(), 4));
+        assertThat(byBreed.cells()).isEmpty();
+        assertThat(byBreed.suppressedCells()).isEqualTo(2);
+    }
+
+    @Test
+    void query_ShouldLeaveNoTotalWithASingleSuppressedTerm() {
+        String[] breeds = {"Persian", "Siamese", "Bengal", "Sphynx"};
+        String[] regions = {"North", "South", "East"};
+        int[] ages = {1, 3, 7, 12};
+        Random random = new Random(7);
+        List<AnonymousAdoptionRow> rows = new ArrayList<>();
+        for (long id = 1; id <= 120; id++) {
+            rows.add(row(id, breeds[random.nextInt(breeds.length)], ages[random.nextInt(ages.length)],
+                regions[random.nextInt(regions.length)], 1 + random.nextInt(3)));
+        }
+        load(rows.toArray(new AnonymousAdoptionRow[0]));
+        cube = new AdoptionStatsCube(adoptionRepository, transactionManager, 4);
+        assertThat(cube.query(EnumSet.allOf(Dimension.class), Map.of()).suppressedCells()).isPositive();
+
+        // Every total a client can ask for with filters, against its parts along each other dimension
+        Set<Map<Dimension, String>> totals = new HashSet<>();
+        for (AnonymousAdoptionRow row : rows) {
+            Map<Dimension, String> values = Map.of(
+                Dimension.BREED, row.breedName(),
+                Dimension.AGE_BAND, AdoptionStatsCube.ageBand(row.catAge()),
+                Dimension.REGION, row.region(),
+                Dimension.MONTH, YearMonth.from(row.adoptionDate()).toString());
+            for (int mask = 0; mask < 1 << Dimension.values().length; mask++) {
+                Map<Dimension, String> filters = new EnumMap<>(Dimension.class);
+                for (Dimension dimension : Dimension.values()) {
+                    if ((mask & 1 << dimension.ordinal()) != 0) {
+                        filters.put(dimension, values.get(dimension));
+                    }
+                }
+                totals.add(filters);
+            }
+        }
+        for (Map<Dimension, String> filters : totals) {
+            int totalSuppressed = cube.query(Set.of(), filters).suppressedCells();
+            for (Dimension dimension : Dimension.values()) {
+                if (!filters.containsKey(dimension)) {
+                    AdoptionAggregateResult parts = cube.query(EnumSet.of(dimension), filters);
+                    assertThat(totalSuppressed + parts.suppressedCells())
+                        .as("suppressed terms of %s by %s", filters, dimension)
+                        .isNotEqualTo(1);
+                }
+            }
+        }
+    }
+
+    @Test
+    void query_ShouldApplyFiltersOnDimensionsNotGrouped() {
+        load(row(1, "Persian", 3, "North", 1),
+             row(2, "Persian", 4, "North", 2),
+             row(3, "Siamese", 2, "North", 2),
+             row(4, "Siamese", 3, "South", 2));
+
+        AdoptionAggregateResult result = cube.query(
+            EnumSet.of(Dimension.AGE_BAND), Map.of(Dimension.REGION, "north", Dimension.MONTH, "2024-02"));
+
+        assertThat(result.cells()).containsExactly(
+            new AdoptionAggregateResult.Cell(Map.of("ageBand", "2-4"), 2));
+    }
+
+    @Test
+    void query_WithoutGrouping_ShouldReturnTotal() {
+        load(row(1, "Persian", 3, "North", 1), row(2, "Siamese", 4, "South", 2));
+
+        AdoptionAggregateResult result = cube.query(Set.of(), Map.of());
+
+        assertThat(result.cells()).containsExactly(new AdoptionAggregateResult.Cell(Map.of(), 2));
+    }
+
+    @Test
+    void query_ShouldLoadOnce() {
+        load(row(1, "Persian", 3, "North", 1));
+
+        cube.query(EnumSet.of(Dimension.BREED), Map.of());
+        cube.query(EnumSet.of(Dimension.REGION), Map.of());
+
+        verify(adoptionRepository, times(1)).streamAnonymousRowsByStatus(AdoptionStatus.COMPLETED);
+    }
+
+    @Test
+    void onAdoptionStatusChanged_ShouldCountNewCompletionsOnce() {
+        load(row(1, "Persian", 3, "North", 1));
+        cube.query(Set.of(), Map.of());
+        when(adoptionRepository.findAnonymousRowsByIdIn(List.of(1L, 2L), AdoptionStatus.COMPLETED))
+            .thenReturn(List.of(row(1, "Persian", 3, "North", 1), row(2, "Persian", 5, "North", 3)));
+
+        cube.onAdoptionStatusChanged(
+            new AdoptionStatusChangedEvent(List.of(1L, 2L), AdoptionStatus.APPROVED, AdoptionStatus.COMPLETED));
+
+        AdoptionAggregateResult result = cube.query(EnumSet.of(Dimension.BREED, Dimension.REGION), Map.of());
+        assertThat(result.cells()).containsExactly(
+            new AdoptionAggregateResult.Cell(Map.of("breed", "Persian", "region", "North"), 2));
+    }
+
+    @Test
+    void onAdoptionStatusChanged_ShouldIgnoreOtherTransitionsAndUnloadedCube() {
+        cube.onAdoptionStatusChanged(
+            new AdoptionStatusChangedEvent(List.of(1L), AdoptionStatus.APPROVED, AdoptionStatus.COMPLETED));
+        cube.onAdoptionStatusChanged(
+            new AdoptionStatusChangedEvent(List.of(1L), AdoptionStatus.PENDING, AdoptionStatus.APPROVED));
+
+        verify(adoptionRepository, never()).findAnonymousRowsByIdIn(any(), any());
+    }
+
+    @Test
+    void ageBand_ShouldBucketAges() {
+        assertThat(AdoptionStatsCube.ageBand(null)).isEqualTo("Unknown");
+        assertThat(AdoptionStatsCube.ageBand(0)).isEqualTo("0-1");
+        assertThat(AdoptionStatsCube.ageBand(4)).isEqualTo("2-4");
+        assertThat(AdoptionStatsCube.ageBand(9)).isEqualTo("5-9");
+        assertThat(AdoptionStatsCube.ageBand(15)).isEqualTo("10+");
+    }
+}
@@ -0,0 +1,146 @@
+package io.werescuecats.backend.service;
+
+import io.werescuecats.backend.dto.AdoptionTimeSeriesPoint;
+import io.werescuecats.backend.dto.AdoptionTimeline;
+import io.werescuecats.backend.entity.AdoptionStatus;
+import io.werescuecats.backend.event.AdoptionStatusChangedEvent;
+import io.werescuecats.backend.repository.AdoptionRepository;
+import io.werescuecats.backend.service.AdoptionTimeSeries.Interval;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AdoptionTimeSeriesTest {
+
+    @Mock
+    private AdoptionRepository adoptionRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AdoptionTimeSeries timeSeries;
+
+    @BeforeEach
+    void setUp() {
+        timeSeries = new AdoptionTimeSeries(adoptionRepository, transactionManager, false);
+    }
+
+    private static LocalDateTime at(int day, int hour) {
+        return LocalDateTime.of(2024, 6, day, hour, 0);
+    }
+
+    private void load(AdoptionTimeline... timelines) {
+        when(adoptionRepository.streamTimelines()).thenReturn(Stream.of(timelines));
+    }
+
+    @Test
+    void query_ShouldReturnOnePointPerDayIncludingEmptyDays() {
+        // 2024-06-03 is a Monday
+        load(new AdoptionTimeline(1L, at(3, 9), at(4, 9), at(5, 9)),
+             new AdoptionTimeline(2L, at(3, 12), at(3, 14), null),
+             new AdoptionTimeline(3L, at(5, 8), null, null));
+
+        List<AdoptionTimeSeriesPoint> points = timeSeries.query(Interval.DAY,
+            LocalDate.of(2024, 6, 3), LocalDate.of(2024, 6, 6));
+
+        assertThat(points).extracting(AdoptionTimeSeriesPoint::start).containsExactly(
+            LocalDate.of(2024, 6, 3), LocalDate.of(2024, 6, 4), LocalDate.of(2024, 6, 5), LocalDate.of(2024, 6, 6));
+        assertThat(points).extracting(AdoptionTimeSeriesPoint::applications).containsExactly(2L, 0L, 1L, 0L);
+        assertThat(points).extracting(AdoptionTimeSeriesPoint::approvals).containsExactly(1L, 1L, 0L, 0L);
+        assertThat(points).extracting(AdoptionTimeSeriesPoint::completions).containsExactly(0L, 0L, 1L, 0L);
+        assertThat(points.get(0).timeToApprove().p50Hours()).isBetween(2.0, 2.25);
+        assertThat(points.get(1).timeToApprove().p50Hours()).isBetween(24.0, 27.0);
+        assertThat(points.get(2).timeToComplete().count()).isEqualTo(1);
+        assertThat(points.get(3).timeToApprove())
+            .isEqualTo(new AdoptionTimeSeriesPoint.DurationSummary(0, null, null, null));
+    }
+
+    @Test
+    void query_ShouldMergeDaysIntoWeeksStartingOnMonday() {
+        load(new AdoptionTimeline(1L, at(3, 9), at(4, 9), null),
+             new AdoptionTimeline(2L, at(9, 9), at(10, 9), null),
+             new AdoptionTimeline(3L, at(10, 9), null, null));
+
+        List<AdoptionTimeSeriesPoint> points = timeSeries.query(Interval.WEEK,
+            LocalDate.of(2024, 6, 5), LocalDate.of(2024, 6, 12));
+
+        assertThat(points).extracting(AdoptionTimeSeriesPoint::start)
+            .containsExactly(LocalDate.of(2024, 6, 3), LocalDate.of(2024, 6, 10));
+        assertThat(points).extracting(AdoptionTimeSeriesPoint::applications).containsExactly(2L, 1L);
+        assertThat(points).extracting(AdoptionTimeSeriesPoint::approvals).containsExactly(1L, 1L);
+        assertThat(points.get(0).timeToApprove().count()).isEqualTo(1);
+    }
+
+    @Test
+    void query_ShouldBackfillOnce() {
+        load(new AdoptionTimeline(1L, at(3, 9), null, null));
+
+        timeSeries.query(Interval.DAY, LocalDate.of(2024, 6, 3), LocalDate.of(2024, 6, 3));
+        timeSeries.query(Interval.WEEK, LocalDate.of(2024, 6, 3), LocalDate.of(2024, 6, 3));
+
+        verify(adoptionRepository, times(1)).streamTimelines();
+    }
+
+    @Test
+    void onAdoptionStatusChanged_ShouldCountEachTransitionOnce() {
+        load(new AdoptionTimeline(1L, at(3, 9), null, null));
+        timeSeries.backfill();
+        when(adoptionRepository.findTimelinesByIdIn(List.of(1L, 2L))).thenReturn(List.of(
+            new AdoptionTimeline(1L, at(3, 9), at(4, 9), null),
+            new AdoptionTimeline(2L, at(4, 10), at(4, 11), null)));
+
+        timeSeries.onAdoptionStatusChanged(
+            new AdoptionStatusChangedEvent(List.of(1L, 2L), AdoptionStatus.PENDING, AdoptionStatus.APPROVED));
+        timeSeries.onAdoptionStatusChanged(
+            new AdoptionStatusChangedEvent(List.of(1L, 2L), AdoptionStatus.PENDING, AdoptionStatus.APPROVED));
+
+        List<AdoptionTimeSeriesPoint> points = timeSeries.query(Interval.DAY,
+            LocalDate.of(2024, 6, 3), LocalDate.of(2024, 6, 4));
+        assertThat(points).extracting(AdoptionTimeSeriesPoint::applications).containsExactly(1L, 1L);
+        assertThat(points).extracting(AdoptionTimeSeriesPoint::approvals).containsExactly(0L, 2L);
+    }
+
+    @Test
+    void onAdoptionStatusChanged_ShouldWaitForBackfill() {
+        timeSeries.onAdoptionStatusChanged(
+            new AdoptionStatusChangedEvent(List.of(1L), AdoptionStatus.PENDING, AdoptionStatus.APPROVED));
+
+        verify(adoptionRepository, never()).findTimelinesByIdIn(any());
+    }
+
+    @Test
+    void invalidate_ShouldBackfillAgainOnNextQuery() {
+        when(adoptionRepository.streamTimelines())
+            .thenReturn(Stream.of(new AdoptionTimeline(1L, at(3, 9), null, null)))
+            .thenReturn(Stream.of(new AdoptionTimeline(1L, at(3, 9), null, null)));
+        timeSeries.backfill();
+
+        timeSeries.invalidate();
+        List<AdoptionTimeSeriesPoint> points = timeSeries.query(Interval.DAY,
+            LocalDate.of(2024, 6, 3), LocalDate.of(2024, 6, 3));
+
+        assertThat(points.get(0).applications()).isEqualTo(1);
+        verify(adoptionRepository, times(2)).streamTimelines();
+    }
+
+    @Test
+    void interval_ShouldParseParameter() {
+        assertThat(Interval.fromParameter("week")).isEqualTo(Interval.WEEK);
+        assertThat(Interval.fromParameter("DAY")).isEqualTo(Interval.DAY);
+        assertThatThrownBy(() -> Interval.fromParameter("month")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -1,19 +1,30 @@
 package io.werescuecats.backend.service;
 
+import io.werescuecats.backend.dto.ApiTokenQuota;
 import io.werescuecats.backend.entity.ApiToken;
 import io.werescuecats.backend.repository.ApiTokenRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
 
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -22,7 +33,11 @@ class ApiTokenServiceTest {
     @Mock
     private ApiTokenRepository apiTokenRepository;
 
-    @InjectMocks
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private MutableClock clock;
+
     private ApiTokenService apiTokenService;
 
     private ApiToken validToken;
@@ -31,6 +46,9 @@ class ApiTokenServiceTest {
 
     @BeforeEach
     void setUp() {
+        clock = new MutableClock();
+        apiTokenService = new ApiTokenService(apiTokenRepository, jdbcTemplate, clock,
+                Duration.ofSeconds(30), Duration.ofSeconds(5), 2, Duration.ZERO);
         validToken = new ApiToken("valid-token", "Test Organization");
         
         expiredToken = new ApiToken("expired-token", "Test Organization");
@@ -124,4 +142,182 @@ class ApiTokenServiceTest {
         verify(apiTokenRepository).count();
         verify(apiTokenRepository, never()).save(any(ApiToken.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void isValidToken_ShouldCacheTokenUntilTtlExpires() {
+        when(apiTokenRepository.findByTokenAndActiveTrue("valid-token"))
+                .thenReturn(Optional.of(validToken));
+
+        assertTrue(apiTokenService.isValidToken("valid-token"));
+        assertTrue(apiTokenService.isValidToken("valid-token"));
+        verify(apiTokenRepository, times(1)).findByTokenAndActiveTrue("valid-token");
+
+        clock.advance(Duration.ofSeconds(30));
+        assertTrue(apiTokenService.isValidToken("valid-token"));
+        verify(apiTokenRepository, times(2)).findByTokenAndActiveTrue("valid-token");
+    }
+
+    @Test
+    void isValidToken_ShouldRememberUnknownTokensBriefly() {
+        when(apiTokenRepository.findByTokenAndActiveTrue("nonexistent-token")).thenReturn(Optional.empty());
+
+        assertFalse(apiTokenService.isValidToken("nonexistent-token"));
+        assertFalse(apiTokenService.isValidToken("nonexistent-token"));
+        verify(apiTokenRepository, times(1)).findByTokenAndActiveTrue("nonexistent-token");
+
+        clock.advance(Duration.ofSeconds(5));
+        assertFalse(apiTokenService.isValidToken("nonexistent-token"));
+        verify(apiTokenRepository, times(2)).findByTokenAndActiveTrue("nonexistent-token");
+    }
+
+    @Test
+    void isValidToken_ShouldRememberAtMostMaxUnknownTokens() {
+        when(apiTokenRepository.findByTokenAndActiveTrue(anyString())).thenReturn(Optional.empty());
+
+        apiTokenService.isValidToken("made-up-1");
+        apiTokenService.isValidToken("made-up-2");
+        apiTokenService.isValidToken("made-up-3");
+        apiTokenService.isValidToken("made-up-3");
+
+        // The map was full of current entries, so the third token is looked up every time
+        verify(apiTokenRepository, times(2)).findByTokenAndActiveTrue("made-up-3");
+
+        clock.advance(Duration.ofSeconds(5));
+        apiTokenService.isValidToken("made-up-3");
+        apiTokenService.isValidToken("made-up-3");
+        verify(apiTokenRepository, times(3)).findByTokenAndActiveTrue("made-up-3");
+    }
+
+    @Test
+    void tryAcquire_ShouldEnforceDailyLimit() {
+        validToken.setDailyRequestLimit(2);
+        when(apiTokenRepository.findByTokenAndActiveTrue("valid-token"))
+                .thenReturn(Optional.of(validToken));
+
+        ApiTokenQuota first = apiTokenService.tryAcquire("valid-token");
+        ApiTokenQuota second = apiTokenService.tryAcquire("valid-token");
+        ApiTokenQuota third = apiTokenService.tryAcquire("valid-token");
+
+        assertEquals(ApiTokenQuota.Status.ALLOWED, first.status());
+        assertEquals(1, first.remaining());
+        assertEquals(0, second.remaining());
+        assertEquals(ApiTokenQuota.Status.EXHAUSTED, third.status());
+        assertEquals(Instant.parse("2025-01-02T00:00:00Z"), third.resetAt());
+    }
+
+    @Test
+    void tryAcquire_ShouldStartOverOnNextDay() {
+        validToken.setDailyRequestLimit(1);
+        when(apiTokenRepository.findByTokenAndActiveTrue("valid-token"))
+                .thenReturn(Optional.of(validToken));
+        apiTokenService.tryAcquire("valid-token");
+        assertFalse(apiTokenService.tryAcquire("valid-token").allowed());
+
+        clock.advance(Duration.ofHours(14));
+
+        assertTrue(apiTokenService.tryAcquire("valid-token").allowed());
+    }
+
+    @Test
+    void tryAcquire_ShouldResumeFromCountStoredToday() {
+        validToken.setDailyRequestLimit(10);
+        validToken.setRequestCount(9);
+        validToken.setLastUsedAt(LocalDateTime.of(2025, 1, 1, 9, 0));
+        when(apiTokenRepository.findByTokenAndActiveTrue("valid-token"))
+                .thenReturn(Optional.of(validToken));
+
+        assertEquals(0, apiTokenService.tryAcquire("valid-token").remaining());
+        assertFalse(apiTokenService.tryAcquire("valid-token").allowed());
+    }
+
+    @Test
+    void tryAcquire_ShouldRejectInvalidToken() {
+        when(apiTokenRepository.findByTokenAndActiveTrue("inactive-token")).thenReturn(Optional.empty());
+
+        assertEquals(ApiTokenQuota.Status.INVALID, apiTokenService.tryAcquire("inactive-token").status());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_ShouldWriteUsedTokensInOneBatchAndResetAfterMidnight() {
+        when(apiTokenRepository.findByTokenAndActiveTrue("valid-token"))
+                .thenReturn(Optional.of(validToken));
+        apiTokenService.tryAcquire("valid-token");
+        apiTokenService.tryAcquire("valid-token");
+
+        assertEquals(1, apiTokenService.flush());
+        assertEquals(0, apiTokenService.flush());
+
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), rows.capture());
+        assertEquals(2, rows.getValue().get(0)[0]);
+        assertEquals("valid-token", rows.getValue().get(0)[2]);
+        verify(jdbcTemplate, never()).update(anyString());
+
+        clock.advance(Duration.ofDays(1));
+        apiTokenService.flush();
+        verify(jdbcTemplate).update(eq("UPDATE api_tokens SET request_count = 0"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void stop_ShouldFlushWithoutScheduledFlushes() {
+        when(apiTokenRepository.findByTokenAndActiveTrue("valid-token"))
+                .thenReturn(Optional.of(validToken));
+        apiTokenService.tryAcquire("valid-token");
+
+        apiTokenService.stop();
+
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), rows.capture());
+        assertEquals(1, rows.getValue().get(0)[0]);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void lastUsedAt_ShouldBeLocalTimeWhenReadAndWritten() {
+        clock.setZone(ZoneOffset.ofHours(2));
+        validToken.setDailyRequestLimit(10);
+        validToken.setRequestCount(9);
+        // 23:30 UTC on the previous day, so the stored count is not today's
+        validToken.setLastUsedAt(LocalDateTime.of(2025, 1, 1, 1, 30));
+        when(apiTokenRepository.findByTokenAndActiveTrue("valid-token"))
+                .thenReturn(Optional.of(validToken));
+
+        assertEquals(9, apiTokenService.tryAcquire("valid-token").remaining());
+        apiTokenService.flush();
+
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), rows.capture());
+        assertEquals(Timestamp.valueOf(LocalDateTime.of(2025, 1, 1, 12, 0)), rows.getValue().get(0)[1]);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2025-01-01T10:00:00Z");
+        private ZoneId zone = ZoneOffset.UTC;
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        void setZone(ZoneId zone) {
+            this.zone = zone;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return zone;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
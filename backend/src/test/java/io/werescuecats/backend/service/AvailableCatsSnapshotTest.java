@@ -0,0 +1,120 @@
+package io.werescuecats.backend.service;
+
+import io.werescuecats.backend.dto.CatDto;
+import io.werescuecats.backend.entity.CatStatus;
+import io.werescuecats.backend.event.CatChangedEvent;
+import io.werescuecats.backend.repository.CatRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AvailableCatsSnapshotTest {
+
+    @Mock
+    private CatRepository catRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AvailableCatsSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        snapshot = new AvailableCatsSnapshot(catRepository, transactionManager);
+    }
+
+    private CatDto cat(long id, CatStatus status) {
+        return CatDto.builder().id(id).name("Cat " + id).status(status).build();
+    }
+
+    @Test
+    void current_ShouldLoadOnceAndServeSameView() {
+        when(catRepository.findDtosByStatus(CatStatus.AVAILABLE))
+            .thenReturn(List.of(cat(2L, CatStatus.AVAILABLE), cat(1L, CatStatus.AVAILABLE)));
+
+        AvailableCatsSnapshot.View first = snapshot.current();
+        AvailableCatsSnapshot.View second = snapshot.current();
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.cats()).extracting(CatDto::getId).containsExactly(1L, 2L);
+        verify(catRepository, times(1)).findDtosByStatus(CatStatus.AVAILABLE);
+    }
+
+    @Test
+    void current_ShouldReturnImmutableList() {
+        when(catRepository.findDtosByStatus(CatStatus.AVAILABLE)).thenReturn(List.of(cat(1L, CatStatus.AVAILABLE)));
+
+        List<CatDto> cats = snapshot.current().cats();
+
+        assertThatThrownBy(() -> cats.add(cat(2L, CatStatus.AVAILABLE)))
+            .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void onCatChanged_ShouldAddCatAndBumpVersion() {
+        when(catRepository.findDtosByStatus(CatStatus.AVAILABLE)).thenReturn(List.of(cat(1L, CatStatus.AVAILABLE)));
+        when(catRepository.findDtoById(3L)).thenReturn(Optional.of(cat(3L, CatStatus.AVAILABLE)));
+        AvailableCatsSnapshot.View before = snapshot.current();
+
+        snapshot.onCatChanged(new CatChangedEvent(3L, CatStatus.AVAILABLE, null, null));
+
+        AvailableCatsSnapshot.View after = snapshot.current();
+        assertThat(after.cats()).extracting(CatDto::getId).containsExactly(1L, 3L);
+        assertThat(after.version()).isEqualTo(before.version() + 1);
+        assertThat(before.cats()).extracting(CatDto::getId).containsExactly(1L);
+    }
+
+    @Test
+    void onCatChanged_ShouldRemoveCatThatIsNoLongerAvailable() {
+        when(catRepository.findDtosByStatus(CatStatus.AVAILABLE))
+            .thenReturn(List.of(cat(1L, CatStatus.AVAILABLE), cat(2L, CatStatus.AVAILABLE)));
+        when(catRepository.findDtoById(1L)).thenReturn(Optional.of(cat(1L, CatStatus.PENDING)));
+        snapshot.current();
+
+        snapshot.onCatChanged(new CatChangedEvent(1L, CatStatus.PENDING, null, null));
+
+        assertThat(snapshot.current().cats()).extracting(CatDto::getId).containsExactly(2L);
+    }
+
+    @Test
+    void onCatChanged_ShouldKeepVersionWhenNothingVisibleChanged() {
+        when(catRepository.findDtosByStatus(CatStatus.AVAILABLE)).thenReturn(List.of(cat(1L, CatStatus.AVAILABLE)));
+        when(catRepository.findDtoById(5L)).thenReturn(Optional.of(cat(5L, CatStatus.ADOPTED)));
+        AvailableCatsSnapshot.View before = snapshot.current();
+
+        snapshot.onCatChanged(new CatChangedEvent(5L, CatStatus.ADOPTED, null, null));
+
+        assertThat(snapshot.current()).isSameAs(before);
+    }
+
+    @Test
+    void onCatChanged_BeforeFirstRead_ShouldNotQuery() {
+        snapshot.onCatChanged(new CatChangedEvent(1L, CatStatus.AVAILABLE, null, null));
+
+        verify(catRepository, never()).findDtoById(any());
+    }
+
+    @Test
+    void invalidate_ShouldReloadWithHigherVersion() {
+        when(catRepository.findDtosByStatus(CatStatus.AVAILABLE)).thenReturn(List.of(cat(1L, CatStatus.AVAILABLE)));
+        AvailableCatsSnapshot.View before = snapshot.current();
+
+        snapshot.invalidate();
+        AvailableCatsSnapshot.View after = snapshot.current();
+
+        assertThat(after.version()).isGreaterThan(before.version());
+        verify(catRepository, times(2)).findDtosByStatus(CatStatus.AVAILABLE);
+    }
+}
@@ -0,0 +1,156 @@
+package io.werescuecats.backend.service;
+
+import io.werescuecats.backend.entity.Breed;
+import io.werescuecats.backend.event.BreedChangedEvent;
+import io.werescuecats.backend.repository.BreedRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BreedImageCacheTest {
+
+    @Mock
+    private CatImageClient catImageClient;
+
+    @Mock
+    private BreedRepository breedRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MutableClock clock;
+
+    private BreedImageCache cache;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+        cache = new BreedImageCache(catImageClient, breedRepository, transactionManager, clock,
+            2, 3, Duration.ofHours(1), Duration.ZERO, 5);
+    }
+
+    private Breed breed(String id, String imageUrl) {
+        Breed breed = new Breed(id, id);
+        breed.setImageUrl(imageUrl);
+        return breed;
+    }
+
+    @Test
+    void onApplicationReady_ShouldSeedPoolsFromStoredBreedImages() {
+        when(breedRepository.findAll()).thenReturn(List.of(breed("pers", "http://img/pers.jpg"), breed("beng", null)));
+
+        cache.onApplicationReady();
+
+        assertThat(cache.nextImageUrl("pers")).contains("http://img/pers.jpg");
+        assertThat(cache.nextImageUrl("beng")).isEmpty();
+        verifyNoInteractions(catImageClient);
+    }
+
+    @Test
+    void nextImageUrl_ShouldRotateThroughPool() {
+        cache.offer("pers", List.of("a", "b", "c", "d"));
+
+        assertThat(List.of(next("pers"), next("pers"), next("pers"), next("pers")))
+            .containsExactly("a", "b", "c", "a");
+    }
+
+    @Test
+    void nextImageUrl_ShouldMissOnceTtlHasPassed() {
+        cache.offer("pers", List.of("a"));
+
+        clock.advance(Duration.ofMinutes(59));
+        assertThat(cache.nextImageUrl("pers")).contains("a");
+        clock.advance(Duration.ofMinutes(1));
+        assertThat(cache.nextImageUrl("pers")).isEmpty();
+    }
+
+    @Test
+    void offer_ShouldDropLeastRecentlyUsedBreedWhenFull() {
+        cache.offer("pers", List.of("a"));
+        cache.offer("beng", List.of("b"));
+        cache.nextImageUrl("pers");
+
+        cache.offer("siam", List.of("c"));
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.nextImageUrl("beng")).isEmpty();
+        assertThat(cache.nextImageUrl("pers")).contains("a");
+    }
+
+    @Test
+    void refreshDue_ShouldFetchSeededAndExpiringPoolsOnly() {
+        when(breedRepository.findAll()).thenReturn(List.of(breed("pers", "http://img/pers.jpg")));
+        cache.onApplicationReady();
+        cache.offer("beng", List.of("b"));
+        when(catImageClient.fetchImageUrls("pers", 3)).thenReturn(List.of("p1", "p2"));
+
+        cache.refreshDue();
+
+        assertThat(List.of(next("pers"), next("pers"), next("pers")))
+            .containsExactly("p1", "p2", "http://img/pers.jpg");
+        verify(catImageClient, never()).fetchImageUrls(eq("beng"), anyInt());
+
+        clock.advance(Duration.ofMinutes(50));
+        when(catImageClient.fetchImageUrls("beng", 3)).thenReturn(List.of("b2"));
+        when(catImageClient.fetchImageUrls("pers", 3)).thenThrow(new RuntimeException("API call failed"));
+
+        cache.refreshDue();
+
+        assertThat(cache.nextImageUrl("beng")).contains("b2");
+        assertThat(cache.nextImageUrl("pers")).contains("p1");
+    }
+
+    @Test
+    void onBreedChanged_ShouldStartPoolOverFromStoredImage() {
+        cache.offer("pers", List.of("a", "b"));
+        when(breedRepository.findById("pers")).thenReturn(Optional.of(breed("pers", "http://img/new.jpg")));
+
+        cache.onBreedChanged(new BreedChangedEvent("pers"));
+
+        assertThat(List.of(next("pers"), next("pers"))).containsExactly("http://img/new.jpg", "http://img/new.jpg");
+    }
+
+    private String next(String breedId) {
+        return cache.nextImageUrl(breedId).orElseThrow();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package io.werescuecats.backend.service;
+
+import io.werescuecats.backend.config.CatApiConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatImageClientTest {
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    @Mock
+    private CatApiConfig config;
+
+    @InjectMocks
+    private CatImageClient catImageClient;
+
+    @BeforeEach
+    void setUp() {
+        when(config.getApiKey()).thenReturn("api-key");
+        when(config.getBaseUrl()).thenReturn("http://catapi.com");
+    }
+
+    @Test
+    void fetchImageUrls_ShouldReturnImageUrls_WhenImagesFound() {
+        Map[] images = new Map[]{Map.of("url", "http://img.com/cat1.jpg"), Map.of("url", "http://img.com/cat2.jpg")};
+        when(restTemplate.exchange(
+                eq("http://catapi.com/images/search?limit=2&breed_ids=persian"),
+                eq(HttpMethod.GET),
+                any(HttpEntity.class),
+                eq(Map[].class)
+        )).thenReturn(ResponseEntity.ok(images));
+
+        List<String> urls = catImageClient.fetchImageUrls("persian", 2);
+
+        assertThat(urls).containsExactly("http://img.com/cat1.jpg", "http://img.com/cat2.jpg");
+    }
+
+    @Test
+    void fetchImageUrls_ShouldReturnEmptyList_WhenNoImagesFound() {
+        when(restTemplate.exchange(
+                anyString(),
+                eq(HttpMethod.GET),
+                any(HttpEntity.class),
+                eq(Map[].class)
+        )).thenReturn(ResponseEntity.ok(new Map[]{}));
+
+        List<String> urls = catImageClient.fetchImageUrls("persian", 1);
+
+        assertThat(urls).isEmpty();
+    }
+
+    @Test
+    void fetchImageUrls_ShouldThrowRuntimeException_WhenApiCallFails() {
+        when(restTemplate.exchange(
+                anyString(),
+                eq(HttpMethod.GET),
+                any(HttpEntity.class),
+                eq(Map[].class)
+        )).thenThrow(new RuntimeException("API failure"));
+
+        assertThatThrownBy(() -> catImageClient.fetchImageUrls("persian", 1))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("API call failed");
+    }
+}
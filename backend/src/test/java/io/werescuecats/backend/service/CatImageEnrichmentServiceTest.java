@@ -0,0 +1,133 @@
+package io.werescuecats.backend.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.werescuecats.backend.entity.Cat;
+import io.werescuecats.backend.repository.CatRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatImageEnrichmentServiceTest {
+
+    @Mock
+    private CatImageClient catImageClient;
+
+    @Mock
+    private CatRepository catRepository;
+
+    @Mock
+    private BreedImageCache breedImageCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MeterRegistry meterRegistry;
+
+    private CatImageEnrichmentService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // No workers are started, the tests drive the queue through processNext
+        service = new CatImageEnrichmentService(catImageClient, catRepository, breedImageCache, transactionManager,
+            meterRegistry, 3, 0, 2, Duration.ZERO);
+    }
+
+    private Cat cat(long id) {
+        Cat cat = new Cat();
+        cat.setId(id);
+        cat.setName("Cat " + id);
+        return cat;
+    }
+
+    @Test
+    void processNext_ShouldServeAllQueuedCatsOfBreedWithOneLookup() {
+        Cat first = cat(1L);
+        Cat second = cat(2L);
+        when(catImageClient.fetchImageUrls("persian", 2)).thenReturn(List.of("http://img/1.jpg", "http://img/2.jpg"));
+        when(catRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(first, second));
+        service.enqueue(1L, "persian");
+        service.enqueue(2L, "persian");
+
+        assertThat(service.processNext()).isTrue();
+
+        assertThat(first.getImageUrl()).isEqualTo("http://img/1.jpg");
+        assertThat(second.getImageUrl()).isEqualTo("http://img/2.jpg");
+        verify(catImageClient, times(1)).fetchImageUrls(anyString(), anyInt());
+        verify(catRepository).saveAll(List.of(first, second));
+        assertThat(service.queueDepth()).isZero();
+        assertThat(service.processNext()).isFalse();
+        assertThat(meterRegistry.counter("cats.images.enriched").count()).isEqualTo(2);
+        verify(breedImageCache).offer("persian", List.of("http://img/1.jpg", "http://img/2.jpg"));
+    }
+
+    @Test
+    void processNext_ShouldLeaveCatsThatAlreadyHaveAnImage() {
+        Cat withImage = cat(1L);
+        withImage.setImageUrl("http://img/own.jpg");
+        when(catImageClient.fetchImageUrls("persian", 1)).thenReturn(List.of("http://img/1.jpg"));
+        when(catRepository.findAllById(List.of(1L))).thenReturn(List.of(withImage));
+        service.enqueue(1L, "persian");
+
+        service.processNext();
+
+        assertThat(withImage.getImageUrl()).isEqualTo("http://img/own.jpg");
+        verify(catRepository).saveAll(List.of());
+    }
+
+    @Test
+    void processNext_ShouldRetryFailedLookup() {
+        Cat cat = cat(1L);
+        when(catImageClient.fetchImageUrls("persian", 1))
+            .thenThrow(new RuntimeException("API call failed"))
+            .thenReturn(List.of("http://img/1.jpg"));
+        when(catRepository.findAllById(List.of(1L))).thenReturn(List.of(cat));
+        service.enqueue(1L, "persian");
+
+        service.processNext();
+        assertThat(service.queueDepth()).isEqualTo(1);
+        service.processNext();
+
+        assertThat(cat.getImageUrl()).isEqualTo("http://img/1.jpg");
+        assertThat(meterRegistry.counter("cats.images.retries").count()).isEqualTo(1);
+    }
+
+    @Test
+    void processNext_ShouldGiveUpAfterMaxAttempts() {
+        when(catImageClient.fetchImageUrls("persian", 1)).thenThrow(new RuntimeException("API call failed"));
+        service.enqueue(1L, "persian");
+
+        service.processNext();
+        service.processNext();
+
+        assertThat(service.processNext()).isFalse();
+        assertThat(service.queueDepth()).isZero();
+        verify(catImageClient, times(2)).fetchImageUrls("persian", 1);
+        verifyNoInteractions(catRepository, breedImageCache);
+        assertThat(meterRegistry.counter("cats.images.failed").count()).isEqualTo(1);
+    }
+
+    @Test
+    void enqueue_ShouldRejectWhenQueueIsFull() {
+        assertThat(service.enqueue(1L, "persian")).isTrue();
+        assertThat(service.enqueue(2L, "bengal")).isTrue();
+        assertThat(service.enqueue(3L, "siamese")).isTrue();
+
+        assertThat(service.enqueue(4L, "persian")).isFalse();
+        assertThat(service.enqueue(1L, "persian")).isTrue();
+        assertThat(service.queueDepth()).isEqualTo(3);
+        assertThat(meterRegistry.counter("cats.images.dropped").count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,168 @@
+package io.werescuecats.backend.service;
+
+import io.werescuecats.backend.dto.CatLocation;
+import io.werescuecats.backend.entity.Cat;
+import io.werescuecats.backend.entity.CatStatus;
+import io.werescuecats.backend.event.CatChangedEvent;
+import io.werescuecats.backend.repository.CatRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatLocationIndexTest {
+
+    @Mock
+    private CatRepository catRepository;
+
+    private CatLocationIndex index;
+
+    // Dresden city centre
+    private static final double LAT = 51.0504;
+    private static final double LON = 13.7373;
+
+    @BeforeEach
+    void setUp() {
+        index = new CatLocationIndex(catRepository, true, 0.1);
+    }
+
+    private Cat cat(long id, double latitude, double longitude, CatStatus status) {
+        Cat cat = new Cat();
+        cat.setId(id);
+        cat.setName("Cat " + id);
+        cat.setLatitude(latitude);
+        cat.setLongitude(longitude);
+        cat.setStatus(status);
+        return cat;
+    }
+
+    private void stubAvailable(List<Cat> cats) {
+        when(catRepository.findLocationsByStatus(CatStatus.AVAILABLE)).thenReturn(cats.stream()
+            .map(cat -> new CatLocation(cat.getId(), cat.getLatitude(), cat.getLongitude()))
+            .toList());
+    }
+
+    @Test
+    void findWithinRadius_ShouldExcludeBoundingBoxCorners() {
+        double latDelta = 10.0 / 111.0;
+        double lonDelta = 10.0 / (111.0 * Math.cos(Math.toRadians(LAT)));
+        stubAvailable(List.of(
+            cat(1L, LAT, LON, CatStatus.AVAILABLE),
+            cat(2L, LAT + latDelta * 0.95, LON + lonDelta * 0.95, CatStatus.AVAILABLE)));
+
+        List<CatLocationIndex.Hit> hits = index.findWithinRadius(LAT, LON, 10.0);
+
+        assertThat(hits).extracting(CatLocationIndex.Hit::catId).containsExactly(1L);
+    }
+
+    @Test
+    void findWithinRadius_ShouldSortByDistance() {
+        stubAvailable(List.of(
+            cat(1L, LAT + 0.05, LON, CatStatus.AVAILABLE),
+            cat(2L, LAT + 0.01, LON, CatStatus.AVAILABLE),
+            cat(3L, LAT - 0.03, LON, CatStatus.AVAILABLE)));
+
+        List<CatLocationIndex.Hit> hits = index.findWithinRadius(LAT, LON, 20.0);
+
+        assertThat(hits).extracting(CatLocationIndex.Hit::catId).containsExactly(2L, 3L, 1L);
+    }
+
+    @Test
+    void findWithinRadius_ShouldHandleAntimeridian() {
+        stubAvailable(List.of(
+            cat(1L, 0.0, 179.99, CatStatus.AVAILABLE),
+            cat(2L, 0.0, -179.99, CatStatus.AVAILABLE)));
+
+        List<CatLocationIndex.Hit> hits = index.findWithinRadius(0.0, 179.999, 5.0);
+
+        assertThat(hits).extracting(CatLocationIndex.Hit::catId).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void update_ShouldRemoveCatWhenNoLongerAvailable() {
+        Cat cat = cat(1L, LAT, LON, CatStatus.AVAILABLE);
+        stubAvailable(List.of(cat));
+        assertThat(index.size()).isEqualTo(1);
+
+        cat.setStatus(CatStatus.PENDING);
+        index.update(cat);
+
+        assertThat(index.findWithinRadius(LAT, LON, 1.0)).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void update_ShouldMoveCatBetweenCells() {
+        Cat cat = cat(1L, LAT, LON, CatStatus.AVAILABLE);
+        stubAvailable(List.of(cat));
+        index.rebuild();
+
+        cat.setLatitude(48.1351);
+        cat.setLongitude(11.5820);
+        index.update(cat);
+
+        assertThat(index.findWithinRadius(LAT, LON, 5.0)).isEmpty();
+        assertThat(index.findWithinRadius(48.1351, 11.5820, 1.0)).hasSize(1);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void rebuild_ShouldServeTheOldIndexWhileReadingAndKeepChangesMadeMeanwhile() {
+        stubAvailable(List.of(cat(1L, LAT, LON, CatStatus.AVAILABLE)));
+        index.rebuild();
+        List<List<CatLocationIndex.Hit>> duringRead = new ArrayList<>();
+        when(catRepository.findLocationsByStatus(CatStatus.AVAILABLE)).thenAnswer(invocation -> {
+            duringRead.add(index.findWithinRadius(LAT, LON, 1.0));
+            // Committed after the read, so missing from its result
+            index.onCatChanged(new CatChangedEvent(2L, CatStatus.AVAILABLE, LAT, LON));
+            return List.of(new CatLocation(1L, LAT, LON));
+        });
+
+        index.rebuild();
+
+        assertThat(duringRead.get(0)).extracting(CatLocationIndex.Hit::catId).containsExactly(1L);
+        assertThat(index.findWithinRadius(LAT, LON, 1.0)).extracting(CatLocationIndex.Hit::catId)
+            .containsExactlyInAnyOrder(1L, 2L);
+        verify(catRepository, never()).findByStatus(any());
+    }
+
+    @Test
+    void findNearest_ShouldMatchBruteForce() {
+        Random random = new Random(42);
+        List<Cat> cats = new ArrayList<>();
+        for (long id = 1; id <= 2000; id++) {
+            cats.add(cat(id, LAT + random.nextGaussian(), LON + random.nextGaussian() * 2, CatStatus.AVAILABLE));
+        }
+        stubAvailable(cats);
+
+        List<CatLocationIndex.Hit> hits = index.findNearest(LAT, LON, 15);
+
+        List<Long> expected = cats.stream()
+            .sorted(Comparator.comparingDouble(c ->
+                CatLocationIndex.haversineKm(LAT, LON, c.getLatitude(), c.getLongitude())))
+            .limit(15)
+            .map(Cat::getId)
+            .toList();
+        assertThat(hits).extracting(CatLocationIndex.Hit::catId).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void findNearest_ShouldReachDistantCats() {
+        stubAvailable(List.of(
+            cat(1L, -33.8688, 151.2093, CatStatus.AVAILABLE)));
+
+        List<CatLocationIndex.Hit> hits = index.findNearest(LAT, LON, 3);
+
+        assertThat(hits).extracting(CatLocationIndex.Hit::catId).containsExactly(1L);
+    }
+}
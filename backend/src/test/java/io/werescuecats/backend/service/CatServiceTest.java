@@ -5,24 +5,31 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.context.ApplicationEventPublisher;
 
-import io.werescuecats.backend.config.CatApiConfig;
+import io.werescuecats.backend.dto.CatCursor;
+import io.werescuecats.backend.dto.CatDto;
+import io.werescuecats.backend.dto.GroupedCount;
 import io.werescuecats.backend.entity.Breed;
 import io.werescuecats.backend.entity.Cat;
 import io.werescuecats.backend.entity.CatStatus;
+import io.werescuecats.backend.event.CatChangedEvent;
+import io.werescuecats.backend.event.CatImageRequestedEvent;
+import io.werescuecats.backend.event.CatStatusChangedEvent;
+import io.werescuecats.backend.event.CatsBulkChangedEvent;
 import io.werescuecats.backend.repository.CatRepository;
+import io.werescuecats.backend.repository.CatSpatialRepository;
+import jakarta.persistence.EntityManager;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -36,10 +43,22 @@ class CatServiceTest {
     private CatRepository catRepository;
 
     @Mock
-    private CatApiConfig config;
+    private CatLocationIndex catLocationIndex;
 
     @Mock
-    private RestTemplate restTemplate;
+    private CatSpatialRepository catSpatialRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private AvailableCatsSnapshot availableCatsSnapshot;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private BreedImageCache breedImageCache;
 
     @InjectMocks
     private CatService catService;
@@ -107,6 +126,43 @@ class CatServiceTest {
         verify(catRepository).findByStatus(CatStatus.ADOPTED);
     }
 
+    @Test
+    void getCatsPage_WithStatus_ShouldOnlyQueryThatStatus() {
+        when(catRepository.findPageByStatus(CatStatus.PENDING, 4L, PageRequest.ofSize(2)))
+            .thenReturn(List.of(testCat));
+
+        List<Cat> result = catService.getCatsPage(CatStatus.PENDING, new CatCursor(CatStatus.PENDING, 4L), 2);
+
+        assertThat(result).containsExactly(testCat);
+        verify(catRepository, times(1)).findPageByStatus(any(), anyLong(), any());
+    }
+
+    @Test
+    void getCatsPage_WithoutStatus_ShouldContinueIntoNextStatus() {
+        Cat adoptedCat = new Cat();
+        adoptedCat.setId(2L);
+        adoptedCat.setStatus(CatStatus.ADOPTED);
+        when(catRepository.findPageByStatus(CatStatus.PENDING, 9L, PageRequest.ofSize(2)))
+            .thenReturn(List.of(testCat));
+        when(catRepository.findPageByStatus(CatStatus.ADOPTED, 0L, PageRequest.ofSize(1)))
+            .thenReturn(List.of(adoptedCat));
+
+        List<Cat> result = catService.getCatsPage(null, new CatCursor(CatStatus.PENDING, 9L), 2);
+
+        assertThat(result).containsExactly(testCat, adoptedCat);
+    }
+
+    @Test
+    void streamCats_ShouldDetachEachCatAfterConsuming() {
+        when(catRepository.streamByStatus(CatStatus.AVAILABLE)).thenReturn(Stream.of(testCat));
+        List<Cat> consumed = new ArrayList<>();
+
+        catService.streamCats(CatStatus.AVAILABLE, consumed::add);
+
+        assertThat(consumed).containsExactly(testCat);
+        verify(entityManager).detach(testCat);
+    }
+
     @Test
     void getCatById_WhenCatExists_ShouldReturnCat() {
         when(catRepository.findById(1L)).thenReturn(Optional.of(testCat));
@@ -141,28 +197,91 @@ class CatServiceTest {
     }
 
     @Test
-    void getCatsInArea_ShouldCalculateBoundingBoxAndReturnCats() {
-        Double latitude = 51.0504;
-        Double longitude = 13.7373;
-        Double radiusKm = 10.0;
-        List<Cat> expectedCats = Arrays.asList(testCat);
-        
-        when(catRepository.findCatsInArea(anyDouble(), anyDouble(), anyDouble(), anyDouble(), eq(CatStatus.AVAILABLE)))
-            .thenReturn(expectedCats);
+    void getCatsInArea_ShouldReturnIndexedCatsInDistanceOrder() {
+        Cat farCat = new Cat();
+        farCat.setId(2L);
+        farCat.setName("Shadow");
+        when(catLocationIndex.isEnabled()).thenReturn(true);
+        when(catLocationIndex.findWithinRadius(51.0504, 13.7373, 10.0)).thenReturn(List.of(
+            new CatLocationIndex.Hit(1L, 0.0),
+            new CatLocationIndex.Hit(2L, 4.2)));
+        when(catRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(farCat, testCat));
+
+        List<Cat> result = catService.getCatsInArea(51.0504, 13.7373, 10.0);
+
+        assertThat(result).extracting(Cat::getName).containsExactly("Fluffy", "Shadow");
+        verify(catRepository, never()).findCatsInArea(anyDouble(), anyDouble(), anyDouble(), anyDouble(), any());
+    }
+
+    @Test
+    void getCatsInArea_WhenNothingInRange_ShouldNotQueryRepository() {
+        when(catLocationIndex.isEnabled()).thenReturn(true);
+        when(catLocationIndex.findWithinRadius(0.0, 0.0, 1.0)).thenReturn(List.of());
 
-        List<Cat> result = catService.getCatsInArea(latitude, longitude, radiusKm);
+        List<Cat> result = catService.getCatsInArea(0.0, 0.0, 1.0);
 
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).getLatitude()).isEqualTo(latitude);
-        assertThat(result.get(0).getLongitude()).isEqualTo(longitude);
-        
-        verify(catRepository).findCatsInArea(
-            doubleThat(minLat -> minLat < latitude),
-            doubleThat(maxLat -> maxLat > latitude),
-            doubleThat(minLon -> minLon < longitude),
-            doubleThat(maxLon -> maxLon > longitude),
-            eq(CatStatus.AVAILABLE)
-        );
+        assertThat(result).isEmpty();
+        verify(catRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void getCatsInArea_ShouldPageIndexHits() {
+        when(catLocationIndex.isEnabled()).thenReturn(true);
+        when(catLocationIndex.findWithinRadius(51.0504, 13.7373, 10.0)).thenReturn(List.of(
+            new CatLocationIndex.Hit(5L, 0.5),
+            new CatLocationIndex.Hit(1L, 1.0),
+            new CatLocationIndex.Hit(7L, 2.0)));
+        when(catRepository.findAllById(List.of(1L))).thenReturn(List.of(testCat));
+
+        List<Cat> result = catService.getCatsInArea(51.0504, 13.7373, 10.0, 1, 1);
+
+        assertThat(result).containsExactly(testCat);
+    }
+
+    @Test
+    void getCatsInArea_WhenIndexDisabled_ShouldUseSpatialRepository() {
+        when(catLocationIndex.isEnabled()).thenReturn(false);
+        when(catSpatialRepository.findAvailableWithinRadius(51.0504, 13.7373, 10.0, 0, 20))
+            .thenReturn(List.of(new CatLocationIndex.Hit(1L, 0.0)));
+        when(catRepository.findAllById(List.of(1L))).thenReturn(List.of(testCat));
+
+        List<Cat> result = catService.getCatsInArea(51.0504, 13.7373, 10.0, 0, 20);
+
+        assertThat(result).containsExactly(testCat);
+        verify(catLocationIndex, never()).findWithinRadius(anyDouble(), anyDouble(), anyDouble());
+    }
+
+    @Test
+    void getNearestCats_ShouldLoadCatsFromIndexHits() {
+        when(catLocationIndex.isEnabled()).thenReturn(true);
+        when(catLocationIndex.findNearest(51.0, 13.7, 1)).thenReturn(List.of(new CatLocationIndex.Hit(1L, 1.5)));
+        when(catRepository.findAllById(List.of(1L))).thenReturn(List.of(testCat));
+
+        List<Cat> result = catService.getNearestCats(51.0, 13.7, 1);
+
+        assertThat(result).containsExactly(testCat);
+    }
+
+    @Test
+    void getNearestCats_WhenIndexDisabled_ShouldUseSpatialRepository() {
+        when(catLocationIndex.isEnabled()).thenReturn(false);
+        when(catSpatialRepository.findAvailableNearest(51.0, 13.7, 1))
+            .thenReturn(List.of(new CatLocationIndex.Hit(1L, 1.5)));
+        when(catRepository.findAllById(List.of(1L))).thenReturn(List.of(testCat));
+
+        List<Cat> result = catService.getNearestCats(51.0, 13.7, 1);
+
+        assertThat(result).containsExactly(testCat);
+        verify(catLocationIndex, never()).findNearest(anyDouble(), anyDouble(), anyInt());
+    }
+
+    @Test
+    void getAvailableCatsView_ShouldServeSnapshotWithoutQuery() {
+        AvailableCatsSnapshot.View view = new AvailableCatsSnapshot.View(7L, List.of(), Instant.now());
+        when(availableCatsSnapshot.current()).thenReturn(view);
+
+        assertThat(catService.getAvailableCatsView()).isSameAs(view);
+        verifyNoInteractions(catRepository);
     }
 
     @Test
@@ -175,6 +294,19 @@ class CatServiceTest {
         assertThat(result.getStatus()).isEqualTo(CatStatus.ADOPTED);
         verify(catRepository).findById(1L);
         verify(catRepository).save(testCat);
+        verify(eventPublisher).publishEvent(new CatStatusChangedEvent(1L, CatStatus.AVAILABLE, CatStatus.ADOPTED));
+    }
+
+    @Test
+    void updateCatStatuses_ShouldPublishPreviousStatusCounts() {
+        List<GroupedCount<CatStatus>> previous = List.of(new GroupedCount<>(CatStatus.PENDING, 2L));
+        when(catRepository.countGroupedByStatusIn(List.of(1L, 2L))).thenReturn(previous);
+        when(catRepository.updateStatusIn(eq(List.of(1L, 2L)), eq(CatStatus.ADOPTED), any())).thenReturn(2);
+
+        int updated = catService.updateCatStatuses(List.of(1L, 2L), CatStatus.ADOPTED);
+
+        assertThat(updated).isEqualTo(2);
+        verify(eventPublisher).publishEvent(new CatsBulkChangedEvent(List.of(1L, 2L), CatStatus.ADOPTED, previous));
     }
 
     @Test
@@ -189,6 +321,50 @@ class CatServiceTest {
         verify(catRepository, never()).save(any());
     }
 
+    @Test
+    void reserveCat_WhenAvailable_ShouldReserveAndPublishChange() {
+        when(catRepository.updateStatusIf(eq(1L), eq(CatStatus.AVAILABLE), eq(CatStatus.PENDING), any(LocalDateTime.class)))
+            .thenReturn(1);
+
+        assertThat(catService.reserveCat(1L)).isTrue();
+
+        verify(eventPublisher).publishEvent(new CatChangedEvent(1L, CatStatus.PENDING, null, null));
+        verify(eventPublisher).publishEvent(new CatStatusChangedEvent(1L, CatStatus.AVAILABLE, CatStatus.PENDING));
+        verify(catRepository, never()).save(any());
+    }
+
+    @Test
+    void reserveCat_WhenNotAvailable_ShouldReturnFalse() {
+        when(catRepository.updateStatusIf(eq(1L), eq(CatStatus.AVAILABLE), eq(CatStatus.PENDING), any(LocalDateTime.class)))
+            .thenReturn(0);
+
+        assertThat(catService.reserveCat(1L)).isFalse();
+
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void getCatDtos_ShouldUseStatusProjection() {
+        CatDto dto = CatDto.builder().id(1L).name("Fluffy").breedName("Persian").status(CatStatus.PENDING).build();
+        when(catRepository.findDtosByStatus(CatStatus.PENDING)).thenReturn(List.of(dto));
+
+        List<CatDto> result = catService.getCatDtos(CatStatus.PENDING);
+
+        assertThat(result).containsExactly(dto);
+        verify(catRepository, never()).findByStatus(any());
+    }
+
+    @Test
+    void getCatDtos_WithoutStatus_ShouldProjectAllCats() {
+        CatDto dto = CatDto.builder().id(1L).name("Fluffy").breedName("Persian").build();
+        when(catRepository.findAllDtos()).thenReturn(List.of(dto));
+
+        List<CatDto> result = catService.getCatDtos(null);
+
+        assertThat(result).containsExactly(dto);
+        verify(catRepository, never()).findAll();
+    }
+
     @Test
     void getAllCats_ShouldReturnAllCats() {
         List<Cat> expectedCats = Arrays.asList(testCat);
@@ -202,72 +378,35 @@ class CatServiceTest {
     }
 
     @Test
-    void saveCat_ShouldFetchImageUrlAndSaveCat() {
-        String expectedImageUrl = "http://example.com/image.jpg";
-        // Mock fetchImageUrlForSpecificBreed so it doesn't actually call the API
-        CatService spyService = Mockito.spy(catService);
-        Mockito.doReturn(expectedImageUrl)
-               .when(spyService)
-               .fetchImageUrlForSpecificBreed("persian");
-
+    void saveCat_ShouldSaveCatAndRequestImageAfterwards() {
         when(catRepository.save(testCat)).thenReturn(testCat);
 
-        Cat result = spyService.saveCat(testCat);
+        Cat result = catService.saveCat(testCat);
 
         assertThat(result).isEqualTo(testCat);
-        assertThat(result.getImageUrl()).isEqualTo("http://example.com/image.jpg");
+        assertThat(result.getImageUrl()).isNull();
         verify(catRepository).save(testCat);
+        verify(eventPublisher).publishEvent(new CatImageRequestedEvent(1L, "persian"));
     }
 
     @Test
-    void fetchImageUrlForSpecificBreed_ShouldReturnImageUrl_WhenImagesFound() {
-        when(config.getApiKey()).thenReturn("api-key");
-        when(config.getBaseUrl()).thenReturn("http://catapi.com");
-
-        Map<String, Object> imageData = Map.of("url", "http://img.com/cat.jpg");
-        Map[] images = new Map[]{imageData};
-
-        when(restTemplate.exchange(
-                anyString(),
-                eq(HttpMethod.GET),
-                any(HttpEntity.class),
-                eq(Map[].class)
-        )).thenReturn(ResponseEntity.ok(images));
+    void saveCat_ShouldUseCachedBreedImageWithoutRequestingOne() {
+        when(breedImageCache.nextImageUrl("persian")).thenReturn(Optional.of("http://example.com/cached.jpg"));
+        when(catRepository.save(testCat)).thenReturn(testCat);
 
-        String url = catService.fetchImageUrlForSpecificBreed("persian");
+        Cat result = catService.saveCat(testCat);
 
-        assertThat(url).isEqualTo("http://img.com/cat.jpg");
+        assertThat(result.getImageUrl()).isEqualTo("http://example.com/cached.jpg");
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
-    void fetchImageUrlForSpecificBreed_ShouldReturnNull_WhenNoImagesFound() {
-        when(config.getApiKey()).thenReturn("api-key");
-        when(config.getBaseUrl()).thenReturn("http://catapi.com");
-        when(restTemplate.exchange(
-                anyString(),
-                eq(HttpMethod.GET),
-                any(HttpEntity.class),
-                eq(Map[].class)
-        )).thenReturn(ResponseEntity.ok(new Map[]{}));
-
-        String url = catService.fetchImageUrlForSpecificBreed("persian");
-
-        assertThat(url).isNull();
-    }
+    void saveCat_WithImageUrl_ShouldNotRequestImage() {
+        testCat.setImageUrl("http://example.com/image.jpg");
+        when(catRepository.save(testCat)).thenReturn(testCat);
 
-    @Test
-    void fetchImageUrlForSpecificBreed_ShouldThrowRuntimeException_WhenApiCallFails() {
-        when(config.getApiKey()).thenReturn("api-key");
-        when(config.getBaseUrl()).thenReturn("http://catapi.com");
-        when(restTemplate.exchange(
-                anyString(),
-                eq(HttpMethod.GET),
-                any(HttpEntity.class),
-                eq(Map[].class)
-        )).thenThrow(new RuntimeException("API failure"));
-
-        assertThatThrownBy(() -> catService.fetchImageUrlForSpecificBreed("persian"))
-                .isInstanceOf(RuntimeException.class)
-                .hasMessageContaining("API call failed");
+        catService.saveCat(testCat);
+
+        verifyNoInteractions(eventPublisher, breedImageCache);
     }
 }
@@ -0,0 +1,225 @@
+package io.werescuecats.backend.service;
+
+import io.werescuecats.backend.dto.DashboardStatsDto;
+import io.werescuecats.backend.dto.GroupedCount;
+import io.werescuecats.backend.entity.AdoptionStatus;
+import io.werescuecats.backend.entity.CatStatus;
+import io.werescuecats.backend.entity.UserRole;
+import io.werescuecats.backend.event.AdoptionStatusChangedEvent;
+import io.werescuecats.backend.event.CatStatusChangedEvent;
+import io.werescuecats.backend.event.CatsBulkChangedEvent;
+import io.werescuecats.backend.event.UserChangedEvent;
+import io.werescuecats.backend.repository.AdoptionRepository;
+import io.werescuecats.backend.repository.CatRepository;
+import io.werescuecats.backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardStatsServiceTest {
+
+    @Mock
+    private CatRepository catRepository;
+
+    @Mock
+    private AdoptionRepository adoptionRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private DashboardStatsService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new DashboardStatsService(catRepository, adoptionRepository, userRepository, transactionManager,
+            Duration.ZERO);
+    }
+
+    private void stubCounts() {
+        when(catRepository.countGroupedByStatus()).thenReturn(List.of(
+            new GroupedCount<>(CatStatus.AVAILABLE, 3L), new GroupedCount<>(CatStatus.ADOPTED, 2L),
+            new GroupedCount<>(CatStatus.PENDING, 1L)));
+        when(adoptionRepository.countGroupedByStatus()).thenReturn(List.of(
+            new GroupedCount<>(AdoptionStatus.PENDING, 4L), new GroupedCount<>(AdoptionStatus.REJECTED, 1L)));
+        when(userRepository.countGroupedByRole()).thenReturn(List.of(new GroupedCount<>(UserRole.USER, 7L)));
+    }
+
+    @Test
+    void getStats_ShouldLoadGroupedCountsOnce() {
+        stubCounts();
+
+        DashboardStatsDto stats = service.getStats();
+        service.getStats();
+
+        assertThat(stats.getTotalCats()).isEqualTo(6);
+        assertThat(stats.getAvailableCats()).isEqualTo(3);
+        assertThat(stats.getAdoptedCats()).isEqualTo(2);
+        assertThat(stats.getTotalUsers()).isEqualTo(7);
+        assertThat(stats.getAdminUsers()).isZero();
+        assertThat(stats.getTotalAdoptions()).isEqualTo(5);
+        assertThat(stats.getPendingAdoptions()).isEqualTo(4);
+        assertThat(stats.getCompletedAdoptions()).isZero();
+        verify(catRepository, times(1)).countGroupedByStatus();
+    }
+
+    @Test
+    void events_ShouldMoveCountersWithoutQuerying() {
+        stubCounts();
+        service.getStats();
+
+        service.onCatStatusChanged(new CatStatusChangedEvent(10L, null, CatStatus.AVAILABLE));
+        service.onCatStatusChanged(new CatStatusChangedEvent(1L, CatStatus.AVAILABLE, CatStatus.ADOPTED));
+        service.onAdoptionStatusChanged(
+            new AdoptionStatusChangedEvent(List.of(1L, 2L), AdoptionStatus.PENDING, AdoptionStatus.COMPLETED));
+        service.onUserChanged(new UserChangedEvent(20L, null, UserRole.ADMIN));
+        DashboardStatsDto stats = service.getStats();
+
+        assertThat(stats.getTotalCats()).isEqualTo(7);
+        assertThat(stats.getAvailableCats()).isEqualTo(3);
+        assertThat(stats.getAdoptedCats()).isEqualTo(3);
+        assertThat(stats.getTotalAdoptions()).isEqualTo(5);
+        assertThat(stats.getPendingAdoptions()).isEqualTo(2);
+        assertThat(stats.getCompletedAdoptions()).isEqualTo(2);
+        assertThat(stats.getTotalUsers()).isEqualTo(8);
+        assertThat(stats.getAdminUsers()).isEqualTo(1);
+        verify(catRepository, times(1)).countGroupedByStatus();
+    }
+
+    @Test
+    void reconcile_ShouldCorrectDrift() {
+        stubCounts();
+        service.getStats();
+        service.onCatStatusChanged(new CatStatusChangedEvent(10L, null, CatStatus.AVAILABLE));
+
+        assertThat(service.reconcile()).isTrue();
+
+        assertThat(service.getStats().getTotalCats()).isEqualTo(6);
+        assertThat(service.getStats().getAvailableCats()).isEqualTo(3);
+    }
+
+    @Test
+    void reconcile_ShouldSkipWhenEventAppliedWhileCounting() {
+        stubCounts();
+        service.getStats();
+        when(catRepository.countGroupedByStatus()).thenAnswer(invocation -> {
+            service.onCatStatusChanged(new CatStatusChangedEvent(10L, null, CatStatus.AVAILABLE));
+            return List.of(new GroupedCount<>(CatStatus.AVAILABLE, 4L));
+        });
+
+        assertThat(service.reconcile()).isFalse();
+
+        DashboardStatsDto stats = service.getStats();
+        assertThat(stats.getTotalCats()).isEqualTo(7);
+        assertThat(stats.getAdoptedCats()).isEqualTo(2);
+    }
+
+    @Test
+    void reconcile_ShouldNotCountChangeTwiceWhenItsEventFollowsTheCount() {
+        stubCounts();
+        service.getStats();
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            service.onCatStatusChanged(new CatStatusChangedEvent(10L, null, CatStatus.AVAILABLE));
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+            // Committed, so the counts include the new cat, but its event is not applied yet
+            when(catRepository.countGroupedByStatus()).thenReturn(List.of(
+                new GroupedCount<>(CatStatus.AVAILABLE, 4L), new GroupedCount<>(CatStatus.ADOPTED, 2L),
+                new GroupedCount<>(CatStatus.PENDING, 1L)));
+
+            assertThat(service.reconcile()).isFalse();
+
+            synchronizations.forEach(synchronization ->
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(service.getStats().getTotalCats()).isEqualTo(7);
+        assertThat(service.reconcile()).isTrue();
+        assertThat(service.getStats().getTotalCats()).isEqualTo(7);
+    }
+
+    @Test
+    void rolledBackChanges_ShouldNotMoveCounters() {
+        stubCounts();
+        service.getStats();
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            service.onCatStatusChanged(new CatStatusChangedEvent(10L, null, CatStatus.AVAILABLE));
+            TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(service.getStats().getTotalCats()).isEqualTo(6);
+        assertThat(service.reconcile()).isTrue();
+    }
+
+    @Test
+    void bulkStatusChanges_ShouldMoveCountersWithoutQuerying() {
+        stubCounts();
+        service.getStats();
+
+        service.onCatsBulkChanged(new CatsBulkChangedEvent(List.of(1L, 2L, 3L), CatStatus.ADOPTED, List.of(
+            new GroupedCount<>(CatStatus.PENDING, 1L), new GroupedCount<>(CatStatus.AVAILABLE, 2L))));
+        DashboardStatsDto stats = service.getStats();
+
+        assertThat(stats.getTotalCats()).isEqualTo(6);
+        assertThat(stats.getAvailableCats()).isEqualTo(1);
+        assertThat(stats.getAdoptedCats()).isEqualTo(5);
+        verify(catRepository, times(1)).countGroupedByStatus();
+    }
+
+    @Test
+    void deletedUser_ShouldRecountOnNextReadWithoutReconciler() {
+        stubCounts();
+        service.getStats();
+
+        service.onUserChanged(new UserChangedEvent(5L, UserRole.USER, null));
+        service.getStats();
+        service.getStats();
+
+        verify(catRepository, times(2)).countGroupedByStatus();
+        verify(userRepository, times(2)).countGroupedByRole();
+    }
+
+    @Test
+    void deletedUser_ShouldBeRecountedInBackgroundWithReconciler() {
+        stubCounts();
+        service = new DashboardStatsService(catRepository, adoptionRepository, userRepository, transactionManager,
+            Duration.ofHours(1));
+        service.onApplicationReady();
+        try {
+            verify(userRepository, timeout(5000)).countGroupedByRole();
+
+            service.onUserChanged(new UserChangedEvent(5L, UserRole.USER, null));
+
+            verify(userRepository, timeout(5000).times(2)).countGroupedByRole();
+            service.getStats();
+            verify(userRepository, times(2)).countGroupedByRole();
+        } finally {
+            service.stop();
+        }
+    }
+}
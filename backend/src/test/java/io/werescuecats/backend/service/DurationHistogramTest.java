@@ -0,0 +1,59 @@
+package io.werescuecats.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DurationHistogramTest {
+
+    @Test
+    void buckets_ShouldBeExactForSmallValuesAndWithinAnEighthAbove() {
+        for (long minutes = 0; minutes < 100_000; minutes++) {
+            long upper = DurationHistogram.upperBoundOf(DurationHistogram.bucketOf(minutes));
+            assertThat(upper).isGreaterThanOrEqualTo(minutes);
+            assertThat(upper - minutes).isLessThanOrEqualTo(minutes / 8);
+        }
+        assertThat(DurationHistogram.bucketOf(Long.MAX_VALUE)).isEqualTo(DurationHistogram.BUCKETS - 1);
+    }
+
+    @Test
+    void percentile_ShouldWalkCumulativeCounts() {
+        DurationHistogram histogram = new DurationHistogram();
+        for (int hours = 1; hours <= 100; hours++) {
+            histogram.record(Duration.ofHours(hours));
+        }
+
+        assertThat(histogram.count()).isEqualTo(100);
+        assertThat(histogram.percentileMinutes(50)).isBetween(50 * 60L, 50 * 60L * 9 / 8);
+        assertThat(histogram.percentileMinutes(99)).isBetween(99 * 60L, 99 * 60L * 9 / 8);
+        assertThat(histogram.percentileMinutes(100)).isBetween(100 * 60L, 100 * 60L * 9 / 8);
+    }
+
+    @Test
+    void merge_ShouldAddCounts() {
+        DurationHistogram monday = new DurationHistogram();
+        DurationHistogram tuesday = new DurationHistogram();
+        monday.record(Duration.ofMinutes(5));
+        tuesday.record(Duration.ofMinutes(5));
+        tuesday.record(Duration.ofDays(3));
+
+        monday.merge(tuesday);
+
+        assertThat(monday.count()).isEqualTo(3);
+        assertThat(monday.percentileMinutes(50)).isEqualTo(5);
+        assertThat(tuesday.count()).isEqualTo(2);
+    }
+
+    @Test
+    void percentile_ShouldHandleEmptyAndNegative() {
+        DurationHistogram histogram = new DurationHistogram();
+        assertThat(histogram.percentileMinutes(50)).isEqualTo(-1);
+
+        histogram.record(Duration.ofMinutes(-30));
+        assertThat(histogram.percentileMinutes(50)).isZero();
+        assertThatThrownBy(() -> histogram.percentileMinutes(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -2,6 +2,7 @@ package io.werescuecats.backend.service;
 
 import io.werescuecats.backend.entity.User;
 import io.werescuecats.backend.entity.UserRole;
+import io.werescuecats.backend.event.UserChangedEvent;
 import io.werescuecats.backend.exception.UserAlreadyExistsException;
 import io.werescuecats.backend.exception.UserNotFoundException;
 import io.werescuecats.backend.repository.UserRepository;
@@ -11,6 +12,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.LocalDateTime;
@@ -31,6 +33,9 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserService userService;
 
@@ -142,6 +147,7 @@ class UserServiceTest {
         assertNotNull(result.getCreatedAt());
         verify(passwordEncoder).encode("plainPassword");
         verify(userRepository).save(any(User.class));
+        verify(eventPublisher).publishEvent(new UserChangedEvent(null, null, UserRole.USER));
     }
 
     @Test
@@ -180,21 +186,22 @@ class UserServiceTest {
     @Test
     void updateUser_Success() {
         testUser.setFirstName("Updated John");
-        when(userRepository.existsById(1L)).thenReturn(true);
+        when(userRepository.findRoleById(1L)).thenReturn(Optional.of(UserRole.USER));
         when(userRepository.save(testUser)).thenReturn(testUser);
 
         User result = userService.updateUser(testUser);
 
         assertNotNull(result);
         assertEquals("Updated John", result.getFirstName());
-        verify(userRepository).existsById(1L);
+        verify(userRepository).findRoleById(1L);
         verify(userRepository).save(testUser);
+        verify(eventPublisher).publishEvent(new UserChangedEvent(1L, UserRole.USER, UserRole.USER));
     }
 
     @Test
     void updateUser_UserNotFound_ThrowsException() {
         testUser.setId(999L);
-        when(userRepository.existsById(999L)).thenReturn(false);
+        when(userRepository.findRoleById(999L)).thenReturn(Optional.empty());
 
         UserNotFoundException exception = assertThrows(
             UserNotFoundException.class,
@@ -202,6 +209,7 @@ class UserServiceTest {
         );
         assertEquals("User not found with ID: 999", exception.getMessage());
         verify(userRepository, never()).save(any(User.class));
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
@@ -308,17 +316,17 @@ class UserServiceTest {
 
     @Test
     void deleteUser_Success() {
-        when(userRepository.existsById(1L)).thenReturn(true);
+        when(userRepository.findRoleById(1L)).thenReturn(Optional.of(UserRole.USER));
 
         userService.deleteUser(1L);
 
-        verify(userRepository).existsById(1L);
         verify(userRepository).deleteById(1L);
+        verify(eventPublisher).publishEvent(new UserChangedEvent(1L, UserRole.USER, null));
     }
 
     @Test
     void deleteUser_UserNotFound_ThrowsException() {
-        when(userRepository.existsById(999L)).thenReturn(false);
+        when(userRepository.findRoleById(999L)).thenReturn(Optional.empty());
 
         UserNotFoundException exception = assertThrows(
             UserNotFoundException.class,
@@ -342,6 +350,7 @@ class UserServiceTest {
         assertNotNull(result);
         verify(passwordEncoder).encode(newPassword);
         verify(userRepository).save(testUser);
+        verify(eventPublisher).publishEvent(new UserChangedEvent(1L, UserRole.USER, UserRole.USER));
     }
 
     @Test